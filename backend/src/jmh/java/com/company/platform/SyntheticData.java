@@ -0,0 +1,82 @@
+package com.company.platform;
+
+import com.company.platform.users.Role;
+import com.company.platform.users.User;
+import com.company.platform.workflow.Workflow;
+import com.company.platform.workflow.WorkflowPriority;
+import com.company.platform.workflow.WorkflowStatus;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic in-memory users and workflows for benchmarks. Audit timestamps
+ * have no setters (they come from @PrePersist), so they are set reflectively and
+ * spread over the past year.
+ */
+public final class SyntheticData {
+
+    public static final String[] DEPARTMENTS = { "IT", "Legal", "Finance", "HR", "Operations", "Sales", "" };
+    public static final String[] PRIORITIES = { "LOW", "MEDIUM", "HIGH", "URGENT" };
+    public static final String[] CATEGORIES = { "Capex", "Travel", "Hiring", "Contract", "Access" };
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    private SyntheticData() {
+    }
+
+    public static List<User> users(int count, long seed) {
+        Random random = new Random(seed);
+        Role[] roles = Role.values();
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setId((long) i + 1);
+            user.setUsername("user" + i + "@example.com");
+            user.setEmail("user" + i + "@example.com");
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            user.setRole(roles[random.nextInt(roles.length)]);
+            user.setDepartment(DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]);
+            LocalDateTime created = EPOCH.plusMinutes(random.nextInt(525_600));
+            set(user, "createdAt", created);
+            set(user, "updatedAt", created.plusDays(random.nextInt(30)));
+            users.add(user);
+        }
+        return users;
+    }
+
+    public static List<Workflow> workflows(int count, List<User> creators, long seed) {
+        Random random = new Random(seed);
+        WorkflowStatus[] statuses = WorkflowStatus.values();
+        List<Workflow> workflows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Workflow workflow = new Workflow();
+            workflow.setId((long) i + 1);
+            workflow.setTitle("Request #" + i);
+            workflow.setDescription("Synthetic workflow " + i + " with a description of typical length");
+            workflow.setStatus(statuses[random.nextInt(statuses.length)]);
+            workflow.setPriority(WorkflowPriority.valueOf(PRIORITIES[random.nextInt(PRIORITIES.length)]));
+            workflow.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            workflow.setCreatedBy(creators.get(random.nextInt(creators.size())));
+            LocalDateTime created = EPOCH.plusMinutes(random.nextInt(525_600));
+            set(workflow, "createdAt", created);
+            set(workflow, "updatedAt", created.plusHours(random.nextInt(240)));
+            workflows.add(workflow);
+        }
+        return workflows;
+    }
+
+    private static void set(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
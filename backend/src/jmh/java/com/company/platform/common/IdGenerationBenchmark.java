@@ -0,0 +1,104 @@
+package com.company.platform.common;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persisting a batch of rows through Hibernate with database-assigned ids versus
+ * ids taken from a pooled id_blocks counter. IDENTITY needs the generated key back
+ * after every row, so Hibernate sends one INSERT per round trip; pooled ids are
+ * known before the flush and the inserts go out as JDBC batches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class IdGenerationBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    @Param({ "IDENTITY", "POOLED" })
+    public String strategy;
+
+    private SessionFactory sessionFactory;
+
+    @Entity(name = "IdentityRow")
+    @Table(name = "identity_rows")
+    public static class IdentityRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        String title;
+        String status;
+    }
+
+    @Entity(name = "PooledRow")
+    @Table(name = "pooled_rows")
+    public static class PooledRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.TABLE, generator = "pooled_rows_ids")
+        @TableGenerator(name = "pooled_rows_ids", table = IdBlocks.TABLE, pkColumnName = IdBlocks.NAME_COLUMN,
+                valueColumnName = IdBlocks.VALUE_COLUMN, pkColumnValue = "pooled_rows",
+                allocationSize = IdBlocks.BLOCK_SIZE)
+        Long id;
+
+        String title;
+        String status;
+    }
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(IdentityRow.class)
+                .addAnnotatedClass(PooledRow.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:id-generation;MODE=MySQL;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.connection.username", "sa")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.jdbc.batch_size", "50")
+                .setProperty("hibernate.order_inserts", "true")
+                .setProperty("hibernate.id.optimizer.pooled.preferred", "pooled-lo")
+                .buildSessionFactory();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public void persistBatch() {
+        boolean pooled = "POOLED".equals(strategy);
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < ROWS; i++) {
+                if (pooled) {
+                    PooledRow row = new PooledRow();
+                    row.title = "Workflow " + i;
+                    row.status = "DRAFT";
+                    session.persist(row);
+                } else {
+                    IdentityRow row = new IdentityRow();
+                    row.title = "Workflow " + i;
+                    row.status = "DRAFT";
+                    session.persist(row);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,98 @@
+package com.company.platform.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform-thread workers (Tomcat's default of 200) versus a virtual thread per
+ * request, under 400 concurrent clients and a 10-connection Hikari pool.
+ *
+ * A request blocks off the pool for {@code offPoolMillis} (auth, remote calls,
+ * writing the response) and then holds a connection for a query plus 2 ms of
+ * simulated database latency. With little off-pool blocking both modes are capped
+ * by the pool; once off-pool blocking dominates, 200 platform workers become the
+ * bottleneck first. Throughput mode gives requests/ms, SampleTime gives p99.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(400)
+public class ExecutionModeBenchmark {
+
+    private static final int PLATFORM_WORKERS = 200;
+    private static final int POOL_SIZE = 10;
+    private static final long QUERY_MILLIS = 2;
+
+    @Param({ "PLATFORM", "VIRTUAL" })
+    public String mode;
+
+    @Param({ "5", "50" })
+    public long offPoolMillis;
+
+    private ExecutorService workers;
+    private HikariDataSource pool;
+
+    @Setup
+    public void setUp() throws SQLException {
+        workers = "VIRTUAL".equals(mode)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_WORKERS);
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:execution-mode;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setConnectionTimeout(60_000);
+        pool = new HikariDataSource(config);
+
+        try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists workflows");
+            statement.execute("create table workflows (id bigint auto_increment primary key, status varchar(32))");
+            statement.execute("insert into workflows (status) select case mod(x, 3) when 0 then 'DRAFT' "
+                    + "when 1 then 'IN_REVIEW' else 'APPROVED' end from system_range(1, 1000)");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        workers.shutdownNow();
+        pool.close();
+    }
+
+    @Benchmark
+    public int request() throws Exception {
+        return workers.submit(this::handle).get();
+    }
+
+    private int handle() throws SQLException, InterruptedException {
+        Thread.sleep(offPoolMillis);
+        try (Connection connection = pool.getConnection();
+                PreparedStatement statement = connection.prepareStatement(
+                        "select count(*) from workflows where status = ?")) {
+            statement.setString(1, "DRAFT");
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                Thread.sleep(QUERY_MILLIS);
+                return rs.getInt(1);
+            }
+        }
+    }
+}
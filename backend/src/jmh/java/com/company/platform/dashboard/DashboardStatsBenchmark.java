@@ -0,0 +1,37 @@
+package com.company.platform.dashboard;
+
+import com.company.platform.SyntheticData;
+import com.company.platform.workflow.Workflow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** The stream aggregation in {@code DashboardService.getStats}, without the database. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DashboardStatsBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int workflowCount;
+
+    private List<Workflow> workflows;
+
+    @Setup
+    public void setUp() {
+        workflows = SyntheticData.workflows(workflowCount, SyntheticData.users(500, 3), 4);
+    }
+
+    @Benchmark
+    public DashboardStatsDTO summarize() {
+        return DashboardService.summarize(500, workflows, List.of());
+    }
+}
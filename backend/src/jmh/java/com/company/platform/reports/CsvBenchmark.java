@@ -0,0 +1,48 @@
+package com.company.platform.reports;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** CSV export formatting and bulk-upload parsing over report-sized inputs. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CsvBenchmark {
+
+    @Param({ "1000", "50000" })
+    public int rowCount;
+
+    private List<String[]> rows;
+    private String csv;
+
+    @Setup
+    public void setUp() {
+        rows = new ArrayList<>(rowCount + 1);
+        rows.add(new String[] { "ID", "Email", "First Name", "Last Name", "Role", "Active" });
+        for (int i = 0; i < rowCount; i++) {
+            rows.add(new String[] { String.valueOf(i), "user" + i + "@example.com", "First" + i, "Last" + i,
+                    "REVIEWER", "true" });
+        }
+        csv = CsvUtil.toCsv(rows);
+    }
+
+    @Benchmark
+    public String toCsv() {
+        return CsvUtil.toCsv(rows);
+    }
+
+    @Benchmark
+    public List<String[]> parse() {
+        return CsvUtil.parse(csv);
+    }
+}
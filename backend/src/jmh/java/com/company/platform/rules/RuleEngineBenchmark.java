@@ -0,0 +1,80 @@
+package com.company.platform.rules;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compiled rule evaluation against a workflow transition. {@code compileAndTest}
+ * is the cost an interpreter would pay on every call and is here for contrast.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RuleEngineBenchmark {
+
+    private static final String EXPRESSION =
+            "trigger == 'TRANSITION' && status == 'APPROVED' && priority in ('HIGH', 'URGENT') "
+                    + "&& department != 'Legal' && descriptionLength > 10";
+
+    private static final String[] STATUSES = { "SUBMITTED", "IN_REVIEW", "APPROVED", "REJECTED" };
+    private static final String[] PRIORITIES = { "LOW", "MEDIUM", "HIGH", "URGENT" };
+    private static final String[] DEPARTMENTS = { "IT", "Legal", "Finance", "HR", "Operations" };
+
+    @Param({ "10", "100" })
+    public int ruleCount;
+
+    private Condition single;
+    private RuleEngine engine;
+    private RuleContext matching;
+    private RuleContext nonMatching;
+
+    @Setup
+    public void setUp() {
+        single = RuleCompiler.compile(EXPRESSION);
+
+        List<CompiledRule> rules = new ArrayList<>();
+        for (int i = 0; i < ruleCount; i++) {
+            String expression = "status == '" + STATUSES[i % STATUSES.length] + "'"
+                    + " && priority == '" + PRIORITIES[(i / 4) % PRIORITIES.length] + "'"
+                    + " && department == '" + DEPARTMENTS[(i / 16) % DEPARTMENTS.length] + "'";
+            rules.add(new CompiledRule((long) i, "rule-" + i, "violation " + i, RuleCompiler.compile(expression)));
+        }
+        engine = new RuleEngine(null, true);
+        engine.publish(rules);
+
+        matching = new RuleContext(RuleContext.Trigger.TRANSITION, "APPROVED", "IN_REVIEW", "URGENT", "Capex",
+                "Finance", "MANAGER", "New servers", "Replace the ageing rack in DC2");
+        nonMatching = new RuleContext(RuleContext.Trigger.TRANSITION, "DRAFT", null, "LOW", "Capex",
+                "Finance", "USER", "Stationery", "Pens");
+    }
+
+    @Benchmark
+    public boolean singleRuleMatch() {
+        return single.test(matching);
+    }
+
+    @Benchmark
+    public boolean singleRuleMiss() {
+        return single.test(nonMatching);
+    }
+
+    @Benchmark
+    public List<CompiledRule> evaluateRuleSet() {
+        return engine.evaluate(matching);
+    }
+
+    @Benchmark
+    public boolean compileAndTest() {
+        return RuleCompiler.compile(EXPRESSION).test(matching);
+    }
+}
@@ -0,0 +1,89 @@
+package com.company.platform.rules;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Candidate selection through {@link RuleIndex} versus testing every rule, for
+ * rule sets scoped by status, priority, category and department.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RuleIndexBenchmark {
+
+    private static final String[] STATUSES = { "DRAFT", "SUBMITTED", "IN_REVIEW", "APPROVED", "REJECTED" };
+    private static final String[] PRIORITIES = { "LOW", "MEDIUM", "HIGH", "URGENT" };
+
+    @Param({ "1000", "10000" })
+    public int ruleCount;
+
+    private List<CompiledRule> rules;
+    private RuleIndex index;
+    private RuleContext[] contexts;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        rules = new ArrayList<>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            StringBuilder expression = new StringBuilder()
+                    .append("category == 'cat-").append(random.nextInt(40)).append('\'')
+                    .append(" && department == 'dept-").append(random.nextInt(25)).append('\'');
+            if (random.nextBoolean()) {
+                expression.append(" && status == '").append(STATUSES[random.nextInt(STATUSES.length)]).append('\'');
+            }
+            if (random.nextBoolean()) {
+                expression.append(" && priority in ('").append(PRIORITIES[random.nextInt(PRIORITIES.length)])
+                        .append("', 'URGENT')");
+            }
+            if (random.nextInt(4) == 0) {
+                expression.append(" && titleLength > ").append(random.nextInt(20));
+            }
+            rules.add(new CompiledRule((long) i, "rule-" + i, null, RuleCompiler.compile(expression.toString())));
+        }
+        index = RuleIndex.of(rules);
+
+        contexts = new RuleContext[256];
+        for (int i = 0; i < contexts.length; i++) {
+            contexts[i] = new RuleContext(RuleContext.Trigger.TRANSITION,
+                    STATUSES[random.nextInt(STATUSES.length)], "SUBMITTED",
+                    PRIORITIES[random.nextInt(PRIORITIES.length)],
+                    "cat-" + random.nextInt(40), "dept-" + random.nextInt(25),
+                    "MANAGER", "Quarterly hardware refresh", "");
+        }
+    }
+
+    private RuleContext nextContext() {
+        return contexts[next++ & (contexts.length - 1)];
+    }
+
+    @Benchmark
+    public List<CompiledRule> linearScan() {
+        RuleContext context = nextContext();
+        List<CompiledRule> matched = new ArrayList<>(2);
+        for (CompiledRule rule : rules) {
+            if (rule.condition().test(context)) {
+                matched.add(rule);
+            }
+        }
+        return matched;
+    }
+
+    @Benchmark
+    public List<CompiledRule> indexed() {
+        return index.match(nextContext());
+    }
+}
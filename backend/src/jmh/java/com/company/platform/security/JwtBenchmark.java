@@ -0,0 +1,38 @@
+package com.company.platform.security;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/** Token issue and verification as done on login and on every authenticated request. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil("THIS_IS_A_VERY_LONG_SECRET_KEY_12345678901234567890", 3_600_000);
+        token = jwtUtil.generate("reviewer@example.com", "REVIEWER", 42L, "Legal");
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generate("reviewer@example.com", "REVIEWER", 42L, "Legal");
+    }
+
+    @Benchmark
+    public Claims validate() {
+        return jwtUtil.validate(token);
+    }
+}
@@ -0,0 +1,46 @@
+package com.company.platform.workflow;
+
+import com.company.platform.SyntheticData;
+import com.company.platform.users.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/** {@code WorkflowService.mapToDTO}, alone and over a list as in getWorkflows. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WorkflowMappingBenchmark {
+
+    @Param({ "100", "10000" })
+    public int workflowCount;
+
+    private WorkflowService service;
+    private List<Workflow> workflows;
+
+    @Setup
+    public void setUp() {
+        service = WorkflowServices.mappingOnly();
+        List<User> users = SyntheticData.users(200, 1);
+        workflows = SyntheticData.workflows(workflowCount, users, 2);
+    }
+
+    @Benchmark
+    public WorkflowDTO mapOne() {
+        return service.mapToDTO(workflows.get(0));
+    }
+
+    @Benchmark
+    public List<WorkflowDTO> mapList() {
+        return workflows.stream().map(service::mapToDTO).collect(Collectors.toList());
+    }
+}
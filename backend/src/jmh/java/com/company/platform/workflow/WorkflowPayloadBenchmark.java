@@ -0,0 +1,82 @@
+package com.company.platform.workflow;
+
+import com.company.platform.SyntheticData;
+import com.company.platform.auth.UserDTO;
+import com.company.platform.users.User;
+import com.company.platform.workflow.WorkflowProjection.Field;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and serializing a 5,000-workflow list from 200 creators: full
+ * {@link WorkflowDTO}s with embedded creators, every field in the normalized shape,
+ * and a sparse normalized list (id, title, status, createdBy, updatedAt). Payload
+ * sizes are printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WorkflowPayloadBenchmark {
+
+    private static final List<Field> SPARSE =
+            List.of(Field.ID, Field.TITLE, Field.STATUS, Field.CREATED_BY, Field.UPDATED_AT);
+
+    @Param({ "FULL", "NORMALIZED", "SPARSE_NORMALIZED" })
+    public String shape;
+
+    private final JsonMapper json = JsonMapper.builder().build();
+    private WorkflowService service;
+    private List<Workflow> workflows;
+    private List<Field> fields;
+    private List<Object[]> rows;
+    private Map<Long, UserDTO> creators;
+
+    @Setup
+    public void setUp() {
+        service = WorkflowServices.mappingOnly();
+        List<User> users = SyntheticData.users(200, 1);
+        workflows = SyntheticData.workflows(5_000, users, 2);
+
+        // What the tuple query would return for these fields
+        fields = "SPARSE_NORMALIZED".equals(shape) ? SPARSE : List.of(Field.values());
+        rows = workflows.stream().map(w -> fields.stream().map(f -> value(w, f)).toArray()).toList();
+        creators = new LinkedHashMap<>();
+        users.forEach(u -> creators.put(u.getId(), WorkflowService.mapToDTO(u)));
+
+        System.out.println(shape + " payload: " + serialize().length + " bytes");
+    }
+
+    private static Object value(Workflow w, Field field) {
+        return switch (field) {
+            case ID -> w.getId();
+            case TITLE -> w.getTitle();
+            case DESCRIPTION -> w.getDescription();
+            case STATUS -> w.getStatus();
+            case PRIORITY -> w.getPriority();
+            case CATEGORY -> w.getCategory();
+            case CREATED_BY -> w.getCreatedBy().getId();
+            case CREATED_AT -> w.getCreatedAt();
+            case UPDATED_AT -> w.getUpdatedAt();
+        };
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        Object body = "FULL".equals(shape)
+                ? workflows.stream().map(service::mapToDTO).toList()
+                : WorkflowProjection.assemble(fields, rows, creators, true);
+        return json.writeValueAsBytes(body);
+    }
+}
@@ -0,0 +1,15 @@
+package com.company.platform.workflow;
+
+/**
+ * WorkflowService instances for benchmarks that only exercise its mapping code.
+ * Every collaborator is null; a new constructor dependency is a compile error here.
+ */
+final class WorkflowServices {
+
+    private WorkflowServices() {
+    }
+
+    static WorkflowService mappingOnly() {
+        return new WorkflowService(null, null, null, null, null, null, null, null, null);
+    }
+}
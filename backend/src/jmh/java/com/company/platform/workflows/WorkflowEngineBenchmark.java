@@ -0,0 +1,34 @@
+package com.company.platform.workflows;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/** Transition checks, allowed and rejected (the rejected path throws). */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WorkflowEngineBenchmark {
+
+    private final WorkflowEngine engine = new WorkflowEngine();
+
+    @Benchmark
+    public void validTransition() {
+        engine.validate("REVIEW", "APPROVED");
+    }
+
+    @Benchmark
+    public boolean invalidTransition() {
+        try {
+            engine.validate("CREATED", "APPROVED");
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.company.platform.attachments;
+
+import com.company.platform.common.BusinessException;
+import com.company.platform.security.AuthenticatedUser;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/workflows/{workflowId}/attachments")
+public class AttachmentController {
+
+    private final AttachmentService service;
+
+    public AttachmentController(AttachmentService service) {
+        this.service = service;
+    }
+
+    /**
+     * The file is the raw request body, typed by its Content-Type, and named by
+     * {@code ?name=}. Identical content is stored once.
+     */
+    @PostMapping
+    public AttachmentDTO upload(@PathVariable Long workflowId, @RequestParam(required = false) String name,
+            @AuthenticationPrincipal AuthenticatedUser principal, HttpServletRequest request) throws IOException {
+        String contentType = request.getContentType();
+        if (contentType != null && (contentType.startsWith("multipart/")
+                || contentType.startsWith("application/x-www-form-urlencoded"))) {
+            throw new BusinessException("Send the file as the raw request body, not as a form");
+        }
+        return service.upload(workflowId, name, contentType, request.getContentLengthLong(), request.getInputStream(),
+                principal);
+    }
+
+    @GetMapping
+    public List<AttachmentDTO> list(@PathVariable Long workflowId,
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        return service.list(workflowId, principal);
+    }
+
+    /** Supports Range / If-Range for resumed and partial downloads, and If-None-Match. */
+    @GetMapping("/{attachmentId}")
+    public void download(@PathVariable Long workflowId, @PathVariable Long attachmentId,
+            @AuthenticationPrincipal AuthenticatedUser principal, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        FileResponses.send(service.open(workflowId, attachmentId, principal), request, response);
+    }
+}
@@ -0,0 +1,12 @@
+package com.company.platform.attachments;
+
+public record AttachmentDTO(
+    String id,
+    String workflowId,
+    String fileName,
+    String contentType,
+    long size,
+    String sha256,
+    String uploadedBy,
+    String createdAt
+) {}
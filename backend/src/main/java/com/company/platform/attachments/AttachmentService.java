@@ -0,0 +1,141 @@
+package com.company.platform.attachments;
+
+import com.company.platform.common.BusinessException;
+import com.company.platform.common.IdBlocks;
+import com.company.platform.security.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Attachments of workflows, with content in the {@link AttachmentStore}.
+ *
+ * Plain JDBC with no surrounding transaction, so no connection is held while a file
+ * streams in or out: access is checked first, the upload is stored, and only then is
+ * the metadata row written. Attachments follow the visibility of their workflow, live
+ * or archived; only live workflows accept new ones.
+ */
+@Service
+public class AttachmentService {
+
+    private static final String COLUMNS =
+            "id, workflow_id, file_name, content_type, size_bytes, sha256, uploaded_by_user_id, created_at";
+
+    /** Metadata and on-disk location of an attachment being downloaded. */
+    public record Download(AttachmentDTO attachment, Path path) {
+    }
+
+    private final JdbcTemplate jdbc;
+    private final AttachmentStore store;
+    private final IdBlocks idBlocks;
+    private final long maxBytes;
+
+    public AttachmentService(JdbcTemplate jdbc, AttachmentStore store, IdBlocks idBlocks,
+            @Value("${app.attachments.max-size:50MB}") DataSize maxSize) {
+        this.jdbc = jdbc;
+        this.store = store;
+        this.idBlocks = idBlocks;
+        this.maxBytes = maxSize.toBytes();
+    }
+
+    public AttachmentDTO upload(Long workflowId, String fileName, String contentType, long contentLength,
+            InputStream content, AuthenticatedUser principal) throws IOException {
+        List<Long> creator = jdbc.queryForList("select created_by_user_id from workflows where id = ?", Long.class,
+                workflowId);
+        if (creator.isEmpty() || !canSee(principal, creator.get(0))) {
+            throw new BusinessException("Workflow not found");
+        }
+        if (contentLength > maxBytes) {
+            throw new BusinessException("Attachment exceeds the limit of " + maxBytes + " bytes");
+        }
+
+        AttachmentStore.Blob blob = store.store(content, maxBytes);
+
+        long id = idBlocks.reserve("workflow_attachments", 1);
+        LocalDateTime now = LocalDateTime.now();
+        String name = fileName(fileName);
+        String type = contentType(contentType);
+        jdbc.update("insert into workflow_attachments (" + COLUMNS + ") values (?, ?, ?, ?, ?, ?, ?, ?)",
+                id, workflowId, name, type, blob.size(), blob.sha256(), principal.userId(), Timestamp.valueOf(now));
+        return new AttachmentDTO(String.valueOf(id), workflowId.toString(), name, type, blob.size(), blob.sha256(),
+                principal.userId().toString(), now.toString());
+    }
+
+    public List<AttachmentDTO> list(Long workflowId, AuthenticatedUser principal) {
+        checkVisible(workflowId, principal);
+        return jdbc.query("select " + COLUMNS + " from workflow_attachments where workflow_id = ? order by id",
+                AttachmentService::attachment, workflowId);
+    }
+
+    public Download open(Long workflowId, Long attachmentId, AuthenticatedUser principal) {
+        checkVisible(workflowId, principal);
+        AttachmentDTO attachment = jdbc.query("select " + COLUMNS + " from workflow_attachments "
+                + "where id = ? and workflow_id = ?", AttachmentService::attachment, attachmentId, workflowId)
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new BusinessException("Attachment not found"));
+        return new Download(attachment, store.path(attachment.sha256()));
+    }
+
+    private void checkVisible(Long workflowId, AuthenticatedUser principal) {
+        List<Long> creator = jdbc.queryForList("select created_by_user_id from workflows where id = ? "
+                + "union all select created_by_user_id from workflows_archive where id = ?", Long.class,
+                workflowId, workflowId);
+        if (creator.isEmpty() || !canSee(principal, creator.get(0))) {
+            throw new BusinessException("Workflow not found");
+        }
+    }
+
+    // Same rule as the workflow list: everything for reviewers and up, otherwise only your own
+    private static boolean canSee(AuthenticatedUser principal, Long creatorId) {
+        return principal.canSeeAllWorkflows() || principal.userId().equals(creatorId);
+    }
+
+    private static String fileName(String fileName) {
+        if (fileName == null) {
+            return "attachment";
+        }
+        // Keep the last path segment and drop control characters
+        String name = fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1)
+                .replaceAll("\\p{Cntrl}", "")
+                .trim();
+        if (name.isEmpty()) {
+            return "attachment";
+        }
+        return name.length() > 255 ? name.substring(name.length() - 255) : name;
+    }
+
+    private static String contentType(String contentType) {
+        try {
+            return contentType == null ? MediaType.APPLICATION_OCTET_STREAM_VALUE
+                    : MediaType.parseMediaType(contentType).toString();
+        } catch (IllegalArgumentException e) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+    }
+
+    private static AttachmentDTO attachment(ResultSet rs, int row) throws SQLException {
+        long uploadedBy = rs.getLong("uploaded_by_user_id");
+        boolean noUploader = rs.wasNull();
+        return new AttachmentDTO(
+                String.valueOf(rs.getLong("id")),
+                String.valueOf(rs.getLong("workflow_id")),
+                rs.getString("file_name"),
+                rs.getString("content_type"),
+                rs.getLong("size_bytes"),
+                rs.getString("sha256"),
+                noUploader ? null : String.valueOf(uploadedBy),
+                rs.getTimestamp("created_at").toLocalDateTime().toString());
+    }
+}
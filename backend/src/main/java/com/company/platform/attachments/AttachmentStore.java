@@ -0,0 +1,101 @@
+package com.company.platform.attachments;
+
+import com.company.platform.common.BusinessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed file store for attachments: a file lives at
+ * {@code <root>/<first two hex digits>/<sha256>}, so identical uploads share one file.
+ *
+ * Uploads are copied from the request channel to a temporary file in fixed-size chunks,
+ * hashing each chunk on the way, and renamed into place once the hash is known. Nothing
+ * is buffered in memory beyond one chunk, and a file only becomes visible complete.
+ */
+@Component
+public class AttachmentStore {
+
+    private static final int CHUNK = 64 * 1024;
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+
+    public record Blob(String sha256, long size, boolean deduplicated) {
+    }
+
+    private final Path root;
+    private final Path incoming;
+
+    public AttachmentStore(@Value("${app.attachments.root:./data/attachments}") Path root) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        // Same file system as the content, so the final rename is atomic
+        this.incoming = Files.createDirectories(this.root.resolve("incoming"));
+    }
+
+    /** Streams {@code in} into the store, failing once more than {@code maxBytes} have arrived. */
+    public Blob store(InputStream in, long maxBytes) throws IOException {
+        Path temp = Files.createTempFile(incoming, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            try (ReadableByteChannel source = Channels.newChannel(in);
+                    FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(CHUNK);
+                while (source.read(buffer) >= 0) {
+                    buffer.flip();
+                    size += buffer.remaining();
+                    if (size > maxBytes) {
+                        throw new BusinessException("Attachment exceeds the limit of " + maxBytes + " bytes");
+                    }
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        target.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                target.force(false);
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path path = path(hash);
+            if (Files.exists(path)) {
+                Files.delete(temp);
+                return new Blob(hash, size, true);
+            }
+            Files.createDirectories(path.getParent());
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+            return new Blob(hash, size, false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    public Path path(String sha256) {
+        if (!SHA256.matcher(sha256).matches()) {
+            throw new IllegalArgumentException("Not a SHA-256 hex digest: " + sha256);
+        }
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
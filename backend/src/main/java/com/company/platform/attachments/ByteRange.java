@@ -0,0 +1,58 @@
+package com.company.platform.attachments;
+
+/** One {@code Range: bytes=...} request, with {@code start} and {@code end} inclusive. */
+public record ByteRange(long start, long end) {
+
+    /** The range lies entirely beyond the end of the file: answered with 416. */
+    public static final class Unsatisfiable extends RuntimeException {
+        Unsatisfiable(String header) {
+            super("Range not satisfiable: " + header);
+        }
+    }
+
+    public long length() {
+        return end - start + 1;
+    }
+
+    /**
+     * Parses a single byte range against a file of {@code size} bytes. Returns null when
+     * the whole file should be sent: no header, a malformed one, or several ranges (which
+     * a server may ignore). The end is clamped to the file.
+     */
+    public static ByteRange parse(String header, long size) {
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // Suffix range: the last n bytes
+                long suffix = Long.parseLong(last);
+                if (suffix < 0) {
+                    return null;
+                }
+                if (suffix == 0 || size == 0) {
+                    throw new Unsatisfiable(header);
+                }
+                return new ByteRange(Math.max(0, size - suffix), size - 1);
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return null;
+            }
+            if (start >= size) {
+                throw new Unsatisfiable(header);
+            }
+            return new ByteRange(start, Math.min(end, size - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
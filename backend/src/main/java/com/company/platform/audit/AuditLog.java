@@ -1,5 +1,6 @@
 package com.company.platform.audit;
 
+import com.company.platform.common.IdBlocks;
 
 
 import jakarta.persistence.*;
@@ -8,7 +9,10 @@ import java.time.LocalDateTime;
 @Entity
 public class AuditLog {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "audit_log_ids")
+    @TableGenerator(name = "audit_log_ids", table = IdBlocks.TABLE, pkColumnName = IdBlocks.NAME_COLUMN,
+            valueColumnName = IdBlocks.VALUE_COLUMN, pkColumnValue = "audit_log", allocationSize = IdBlocks.BLOCK_SIZE)
     private Long id;
 
     private String action;
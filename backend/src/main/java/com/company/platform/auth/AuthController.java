@@ -25,6 +25,13 @@ public class AuthController {
         return service.register(req);
     }
 
+    @PostMapping("/logout")
+    public void logout(@RequestHeader(value = "Authorization", required = false) String header) {
+        if (header != null && header.startsWith("Bearer ")) {
+            service.logout(header.substring(7));
+        }
+    }
+
     @PostMapping("/change-password")
     public void changePassword(@RequestBody ChangePasswordRequest req,
             org.springframework.security.core.Authentication auth) {
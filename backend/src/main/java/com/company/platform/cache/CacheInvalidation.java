@@ -0,0 +1,41 @@
+package com.company.platform.cache;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the cache invalidation change log, written by {@link InvalidationBus}
+ * and tailed by every node. A null {@code cacheKey} invalidates the whole cache.
+ * Entries are only needed for as long as the slowest node takes to poll, so they
+ * are purged after a short retention period.
+ */
+@Entity
+@Table(name = "cache_invalidation")
+public class CacheInvalidation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "cache_name", nullable = false, length = 64)
+    private String cacheName;
+
+    @Column(name = "cache_key")
+    private String cacheKey;
+
+    @Column(nullable = false, length = 64)
+    private String origin;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public Long getId() { return id; }
+
+    public String getCacheName() { return cacheName; }
+
+    public String getCacheKey() { return cacheKey; }
+
+    public String getOrigin() { return origin; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,23 @@
+package com.company.platform.cache;
+
+/** Cache names shared over the {@link InvalidationBus}. */
+public final class CacheNames {
+
+    /** Key: user id. Covers the users L2 region, principal cache and directory index. */
+    public static final String USERS = "users";
+
+    /** Key: creator user id, null for changes across creators. Workflow list ETags ({@link ChangeVersions}). */
+    public static final String WORKFLOWS = "workflows";
+
+    /** Key: workflow id. A released review claim; other nodes reload their {@code ReviewQueue}. */
+    public static final String REVIEW_QUEUE = "review-queue";
+
+    /** Whole-cache only: compiled rule set and the business-rules L2 region. */
+    public static final String BUSINESS_RULES = "business-rules";
+
+    /** Whole-cache only: in-memory token revocation snapshot. */
+    public static final String REVOKED_TOKENS = "revoked-tokens";
+
+    private CacheNames() {
+    }
+}
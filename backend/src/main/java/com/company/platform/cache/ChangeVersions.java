@@ -0,0 +1,105 @@
+package com.company.platform.cache;
+
+import com.company.platform.common.AfterCommit;
+import com.company.platform.datasource.ReplicaPool;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change versions behind the ETags of the polled read endpoints, kept in memory so
+ * a matching {@code If-None-Match} is answered without touching the database.
+ *
+ * Scopes are all workflows, each creator's workflows and users. A version moves
+ * forward after the writing transaction commits, never before, so a tag is never
+ * paired with data older than it. Other nodes bump theirs from the
+ * {@link CacheNames#WORKFLOWS} and {@link CacheNames#USERS} entries on the
+ * {@link InvalidationBus}. Tags carry this node's id, so two nodes never hand out
+ * the same tag for different data. With read replicas every bump is repeated once
+ * the replica lag window has passed, replacing tags issued for lagging reads.
+ */
+@Component
+public class ChangeVersions {
+
+    private final AtomicLong clock = new AtomicLong();
+    private volatile long workflows;
+    private volatile long users;
+    private final Map<Long, Long> creators = new ConcurrentHashMap<>();
+    // Raised by writes that touch many creators' workflows at once (archiving, scheduled jobs)
+    private volatile long creatorFloor;
+
+    private final String node;
+    private final Duration replicaLag;
+    private final TaskScheduler scheduler;
+
+    public ChangeVersions(InvalidationBus bus, ReplicaPool replicas, TaskScheduler scheduler) {
+        this.node = bus.nodeId().substring(0, 8);
+        this.replicaLag = replicas.replicaLag();
+        this.scheduler = scheduler;
+        // Other nodes' writes reach this node's replicas no sooner than its own, so they get the same re-bump
+        bus.subscribe(CacheNames.WORKFLOWS,
+                key -> bumpAcrossReplicaLag(() -> bumpWorkflows(key == null ? null : Long.valueOf(key))));
+        bus.subscribe(CacheNames.USERS, key -> bumpAcrossReplicaLag(this::bumpUsers));
+    }
+
+    /** Workflows created by {@code creatorId} changed; null when any creator's may have. */
+    public void workflowsChanged(Long creatorId) {
+        afterCommit(() -> bumpWorkflows(creatorId));
+    }
+
+    public void usersChanged() {
+        afterCommit(this::bumpUsers);
+    }
+
+    /** The workflow list of one creator, or of everyone when {@code creatorId} is null. */
+    public String workflowsTag(Long creatorId) {
+        if (creatorId == null) {
+            return tag("w" + workflows + "-u" + users);
+        }
+        long version = Math.max(creators.getOrDefault(creatorId, 0L), creatorFloor);
+        return tag("c" + creatorId + "." + version + "-u" + users);
+    }
+
+    public String usersTag() {
+        return tag("u" + users);
+    }
+
+    /** Dashboard stats count workflows (live and archived) and users. */
+    public String dashboardTag() {
+        return tag("d" + workflows + "-u" + users);
+    }
+
+    private String tag(String versions) {
+        return "\"" + node + "-" + versions + "\"";
+    }
+
+    private void bumpWorkflows(Long creatorId) {
+        long version = clock.incrementAndGet();
+        if (creatorId == null) {
+            creatorFloor = version;
+        } else {
+            creators.put(creatorId, version);
+        }
+        workflows = version;
+    }
+
+    private void bumpUsers() {
+        users = clock.incrementAndGet();
+    }
+
+    private void afterCommit(Runnable bump) {
+        AfterCommit.run(() -> bumpAcrossReplicaLag(bump));
+    }
+
+    private void bumpAcrossReplicaLag(Runnable bump) {
+        bump.run();
+        if (!replicaLag.isZero()) {
+            scheduler.schedule(bump, Instant.now().plus(replicaLag));
+        }
+    }
+}
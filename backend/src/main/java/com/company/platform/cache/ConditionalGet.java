@@ -0,0 +1,25 @@
+package com.company.platform.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+/** Conditional GET for handlers whose ETag comes from {@link ChangeVersions}. */
+public final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Sets the ETag and asks clients to revalidate on every use. Returns true, with the
+     * response already set to 304, when {@code If-None-Match} matches; the handler then
+     * returns null without loading anything.
+     */
+    public static boolean notModified(WebRequest request, String etag) {
+        if (request instanceof ServletWebRequest servlet && servlet.getResponse() != null) {
+            // Set before Spring Security's default "no-store", which it skips when present
+            servlet.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        }
+        return request.checkNotModified(etag);
+    }
+}
@@ -0,0 +1,225 @@
+package com.company.platform.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Cross-node cache invalidation over the shared database.
+ *
+ * Writers append to the {@code cache_invalidation} change log; every node tails it
+ * with a keyset query ({@code id > lastSeen}) and hands the entries to the listeners
+ * subscribed for that cache. A node ignores its own entries, so callers still evict
+ * their local state directly. Ids the scan skipped over are re-checked for a while,
+ * because with auto-increment ids a slow transaction can commit a lower id after a
+ * higher one has been read. If the log cannot be read for longer than the staleness
+ * bound, every subscribed cache is flushed rather than served stale.
+ */
+@Component
+public class InvalidationBus {
+
+    private static final String INSERT =
+            "insert into cache_invalidation (cache_name, cache_key, origin, created_at) values (?, ?, ?, ?)";
+    private static final String TAIL =
+            "select id, cache_name, cache_key, origin, created_at from cache_invalidation where id > ? order by id limit ?";
+    private static final int MAX_TRACKED_GAPS = 1000;
+
+    private record Entry(long id, String cache, String key, String origin, LocalDateTime createdAt) {
+    }
+
+    private final JdbcTemplate jdbc;
+    private final long maxStalenessMs;
+    private final int batchSize;
+    private final Duration retention;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+    // Poll state, only touched under pollLock. Not synchronized: a virtual thread doing
+    // JDBC inside a monitor would pin its carrier.
+    private final ReentrantLock pollLock = new ReentrantLock();
+    private long lastSeen = -1;
+    private final Map<Long, Long> gaps = new HashMap<>();
+    private boolean flushed;
+    private volatile long lastPollAt = System.currentTimeMillis();
+
+    private final MeterRegistry meters;
+    private final Counter published;
+    private final Counter flushes;
+    private final Timer lag;
+
+    public InvalidationBus(JdbcTemplate jdbc, MeterRegistry meters,
+            @Value("${app.cache.invalidation.max-staleness-ms:10000}") long maxStalenessMs,
+            @Value("${app.cache.invalidation.batch-size:500}") int batchSize,
+            @Value("${app.cache.invalidation.retention:1h}") Duration retention) {
+        this.jdbc = jdbc;
+        this.maxStalenessMs = maxStalenessMs;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.meters = meters;
+        this.published = meters.counter("cache.invalidation.published");
+        this.flushes = meters.counter("cache.invalidation.flushes");
+        this.lag = Timer.builder("cache.invalidation.lag")
+                .description("Time from publishing an invalidation to applying it on another node")
+                .register(meters);
+        Gauge.builder("cache.invalidation.staleness", this, b -> System.currentTimeMillis() - b.lastPollAt)
+                .description("Milliseconds since the change log was last read successfully")
+                .baseUnit("milliseconds")
+                .register(meters);
+    }
+
+    /** Registers a listener for entries published by other nodes; a null key means "everything". */
+    public void subscribe(String cache, Consumer<String> listener) {
+        listeners.computeIfAbsent(cache, k -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Tells the other nodes to drop {@code key} from {@code cache}, or the whole
+     * cache when the key is null. Joins the caller's transaction if there is one and
+     * then fails it when the entry cannot be written, so a change never commits
+     * without the entry that tells other nodes about it. Without a transaction the
+     * change has already committed, and a failure is only logged.
+     */
+    public void publish(String cache, Object key) {
+        try {
+            jdbc.update(INSERT, cache, key == null ? null : key.toString(), nodeId, LocalDateTime.now(ZoneOffset.UTC));
+            published.increment();
+        } catch (DataAccessException e) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                throw e;
+            }
+            System.out.println("⚠️ Warning: Could not publish invalidation for " + cache + ": " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.poll-interval-ms:1000}")
+    public void poll() {
+        pollLock.lock();
+        try {
+            pollLocked();
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    private void pollLocked() {
+        long now = System.currentTimeMillis();
+        try {
+            if (lastSeen < 0) {
+                // A starting node has nothing cached yet, so history is irrelevant
+                Long max = jdbc.queryForObject("select max(id) from cache_invalidation", Long.class);
+                lastSeen = max == null ? 0 : max;
+            }
+
+            List<Entry> entries = recheckGaps(now);
+            List<Entry> page;
+            do {
+                page = jdbc.query(TAIL, InvalidationBus::entry, lastSeen, batchSize);
+                for (Entry entry : page) {
+                    for (long missing = lastSeen + 1; missing < entry.id() && gaps.size() < MAX_TRACKED_GAPS; missing++) {
+                        gaps.put(missing, now);
+                    }
+                    lastSeen = entry.id();
+                }
+                entries.addAll(page);
+            } while (page.size() == batchSize);
+
+            entries.forEach(this::apply);
+            lastPollAt = now;
+            flushed = false;
+        } catch (DataAccessException e) {
+            if (!flushed && now - lastPollAt > maxStalenessMs) {
+                System.out.println("⚠️ Warning: Cache invalidation log unreadable for " + (now - lastPollAt)
+                        + " ms, flushing local caches. " + e.getMessage());
+                flushAll();
+                flushed = true;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.invalidation.purge-interval-ms:600000}")
+    public void purge() {
+        try {
+            jdbc.update("delete from cache_invalidation where created_at < ?",
+                    LocalDateTime.now(ZoneOffset.UTC).minus(retention));
+        } catch (DataAccessException e) {
+            System.out.println("⚠️ Warning: Could not purge cache invalidation log. " + e.getMessage());
+        }
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    private List<Entry> recheckGaps(long now) {
+        if (gaps.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // Past the staleness bound a missing id is taken to be a rollback
+        gaps.values().removeIf(seenAt -> now - seenAt > maxStalenessMs);
+        if (gaps.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String placeholders = String.join(",", Collections.nCopies(gaps.size(), "?"));
+        List<Entry> found = jdbc.query(
+                "select id, cache_name, cache_key, origin, created_at from cache_invalidation where id in ("
+                        + placeholders + ") order by id",
+                InvalidationBus::entry, gaps.keySet().toArray());
+        found.forEach(e -> gaps.remove(e.id()));
+        return new ArrayList<>(found);
+    }
+
+    private void apply(Entry entry) {
+        if (nodeId.equals(entry.origin())) {
+            return;
+        }
+        lag.record(Math.max(0, System.currentTimeMillis()
+                - entry.createdAt().toInstant(ZoneOffset.UTC).toEpochMilli()), TimeUnit.MILLISECONDS);
+        meters.counter("cache.invalidation.received", "cache", entry.cache()).increment();
+        dispatch(entry.cache(), entry.key());
+    }
+
+    private void flushAll() {
+        flushes.increment();
+        listeners.keySet().forEach(cache -> dispatch(cache, null));
+    }
+
+    private void dispatch(String cache, String key) {
+        for (Consumer<String> listener : listeners.getOrDefault(cache, List.of())) {
+            try {
+                listener.accept(key);
+            } catch (RuntimeException e) {
+                System.out.println("⚠️ Warning: Invalidation of " + cache + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private static Entry entry(ResultSet rs, int row) throws SQLException {
+        return new Entry(rs.getLong("id"), rs.getString("cache_name"), rs.getString("cache_key"),
+                rs.getString("origin"), rs.getObject("created_at", LocalDateTime.class));
+    }
+}
@@ -0,0 +1,100 @@
+package com.company.platform.common;
+
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.util.List;
+
+/**
+ * Primary keys come from per-table counters in {@code id_blocks} instead of
+ * AUTO_INCREMENT, so Hibernate can batch inserts (IDENTITY forces one round trip
+ * per row to read the key back).
+ *
+ * Entities map their id with a {@code @TableGenerator} on {@link #TABLE}, and
+ * Hibernate's pooled-lo optimizer reserves {@link #BLOCK_SIZE} ids per counter
+ * update. Each node then hands ids out of its block from memory. A counter holds
+ * the highest id reserved so far (Hibernate's default "stored last used" layout).
+ * Bulk JDBC inserts that bypass Hibernate reserve their own exact-size block
+ * through {@link #reserve}.
+ *
+ * Migration: at startup each counter is raised to the table's current
+ * {@code max(id)}, so rows written under AUTO_INCREMENT or the old per-entity
+ * sequences never collide with new ids.
+ */
+@Component
+@DependsOn("entityManagerFactory") // schema updates must have created id_blocks before alignment
+public class IdBlocks {
+
+    public static final String TABLE = "id_blocks";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int BLOCK_SIZE = 100;
+
+    // Counter name == table name for every table taking ids from here, entity or plain JDBC
+    static final List<String> TABLES =
+            List.of("users", "workflows", "audit_log", "workflow_history", "business_rule", "revoked_tokens",
+                    "workflow_attachments");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+
+    public IdBlocks(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        // Reservations commit on their own so the counter row is never locked for a caller's whole transaction
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    void alignWithExistingRows() {
+        for (String table : TABLES) {
+            try {
+                align(table);
+            } catch (RuntimeException e) {
+                System.out.println("⚠️ Warning: Could not align id counter for " + table + ": " + e.getMessage());
+            }
+        }
+    }
+
+    void align(String table) {
+        newTransaction.executeWithoutResult(status -> {
+            long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+            Long current = currentValue(table);
+            if (current == null) {
+                jdbcTemplate.update("insert into " + TABLE + " (" + NAME_COLUMN + ", " + VALUE_COLUMN
+                        + ") values (?, ?)", table, maxId);
+            } else if (current < maxId) {
+                jdbcTemplate.update("update " + TABLE + " set " + VALUE_COLUMN + " = ? where " + NAME_COLUMN
+                        + " = ?", maxId, table);
+                System.out.println("Raised id counter for " + table + " from " + current + " to " + maxId);
+            }
+        });
+    }
+
+    /** Reserves {@code count} consecutive ids for {@code table} and returns the first one. */
+    public long reserve(String table, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        return newTransaction.execute(status -> {
+            Long last = currentValue(table);
+            if (last == null) {
+                throw new IllegalStateException("No id counter for " + table);
+            }
+            jdbcTemplate.update("update " + TABLE + " set " + VALUE_COLUMN + " = ? where " + NAME_COLUMN + " = ?",
+                    last + count, table);
+            return last + 1;
+        });
+    }
+
+    private Long currentValue(String table) {
+        List<Long> values = jdbcTemplate.queryForList("select " + VALUE_COLUMN + " from " + TABLE + " where "
+                + NAME_COLUMN + " = ? for update", Long.class, table);
+        return values.isEmpty() ? null : values.get(0);
+    }
+}
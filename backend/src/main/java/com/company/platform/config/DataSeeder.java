@@ -4,42 +4,99 @@ import com.company.platform.users.Role;
 import com.company.platform.users.User;
 import com.company.platform.users.UserRepository;
 import org.springframework.boot.CommandLineRunner;
-import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.List;
 
+/**
+ * Creates the demo accounts.
+ *
+ * Seeding is versioned: {@code app_seed_version} (created by migration V2) records
+ * the last applied {@link #SEED_VERSION}, and a matching marker skips the runner
+ * entirely, so a restart costs one query instead of lookups and BCrypt hashing.
+ * Accounts that already exist are left untouched. Bump the version when the seed
+ * changes.
+ */
 @Component
 public class DataSeeder implements CommandLineRunner {
 
+    static final int SEED_VERSION = 1;
+
+    private static final List<DemoUser> DEMO_USERS = List.of(
+            new DemoUser("admin", "admin@example.com", "Admin", "User", "admin123", Role.ADMIN, "IT"),
+            new DemoUser("manager", "manager@example.com", "Manager", "User", "manager123", Role.MANAGER, "Operations"),
+            new DemoUser("reviewer", "reviewer@example.com", "Reviewer", "User", "reviewer123", Role.REVIEWER, "Legal"),
+            new DemoUser("viewer", "viewer@example.com", "Viewer", "User", "viewer123", Role.VIEWER, "HR"));
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
 
-    public DataSeeder(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public DataSeeder(UserRepository userRepository, PasswordEncoder passwordEncoder, JdbcTemplate jdbcTemplate) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
-    public void run(String... args) throws Exception {
-        seedUser("admin", "admin@example.com", "Admin", "User", "admin123", Role.ADMIN);
-        seedUser("manager", "manager@example.com", "Manager", "User", "manager123", Role.MANAGER);
-        seedUser("reviewer", "reviewer@example.com", "Reviewer", "User", "reviewer123", Role.REVIEWER);
-        seedUser("viewer", "viewer@example.com", "Viewer", "User", "viewer123", Role.VIEWER);
+    public void run(String... args) {
+        Integer applied = jdbcTemplate.query("select version from app_seed_version where id = 1",
+                rs -> rs.next() ? rs.getInt(1) : null);
+        if (applied != null && applied >= SEED_VERSION) {
+            System.out.println("Seed data up to date (version " + applied + ")");
+            return;
+        }
+
+        int created = 0;
+        for (DemoUser demo : DEMO_USERS) {
+            if (seedUser(demo)) {
+                created++;
+            }
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (jdbcTemplate.update("update app_seed_version set version = ?, applied_at = ? where id = 1",
+                SEED_VERSION, now) == 0) {
+            try {
+                jdbcTemplate.update("insert into app_seed_version (id, version, applied_at) values (1, ?, ?)",
+                        SEED_VERSION, now);
+            } catch (DataIntegrityViolationException e) {
+                // Another node recorded the marker first
+            }
+        }
+        System.out.println("✅ Seed version " + SEED_VERSION + " applied, " + created + " demo users created");
     }
 
-    private void seedUser(String username, String email, String firstName, String lastName, String password, Role role) {
-        User user = userRepository.findByEmail(email).orElse(new User());
-        user.setEmail(email);
-        user.setUsername(username);
-        user.setFirstName(firstName);
-        user.setLastName(lastName);
-        user.setPassword(passwordEncoder.encode(password));
-        user.setRole(role);
+    private boolean seedUser(DemoUser demo) {
+        if (userRepository.findByEmail(demo.email()).isPresent()) {
+            return false;
+        }
+        User user = new User();
+        user.setEmail(demo.email());
+        user.setUsername(demo.username());
+        user.setFirstName(demo.firstName());
+        user.setLastName(demo.lastName());
+        user.setPassword(passwordEncoder.encode(demo.password()));
+        user.setRole(demo.role());
+        user.setDepartment(demo.department());
         user.setActive(true);
         user.setDeleted(false);
-        userRepository.save(user);
-        System.out.println("Seeded user: " + email + " / " + password);
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // A node seeding concurrently created it
+            return false;
+        }
+        System.out.println("Seeded user: " + demo.email() + " / " + demo.password());
+        return true;
+    }
+
+    private record DemoUser(String username, String email, String firstName, String lastName, String password,
+            Role role, String department) {
     }
 }
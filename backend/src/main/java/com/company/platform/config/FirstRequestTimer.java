@@ -0,0 +1,62 @@
+package com.company.platform.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.aot.AotDetector;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reports time-to-first-request: JVM start until the first response is written,
+ * which is what a rolling restart actually waits for. Logged once and exported as
+ * {@code application.first.request.time} next to Boot's {@code application.ready.time},
+ * tagged with whether AOT bean definitions and an AppCDS archive were in use.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FirstRequestTimer extends OncePerRequestFilter {
+
+    private final MeterRegistry meters;
+    private final AtomicBoolean served = new AtomicBoolean();
+
+    public FirstRequestTimer(MeterRegistry meters) {
+        this.meters = meters;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!served.get() && served.compareAndSet(false, true)) {
+                record(request);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request) {
+        long uptimeMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        String aot = AotDetector.useGeneratedArtifacts() ? "on" : "off";
+        String cds = ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .anyMatch(arg -> arg.startsWith("-XX:SharedArchiveFile")) ? "on" : "off";
+        TimeGauge.builder("application.first.request.time", () -> uptimeMs, TimeUnit.MILLISECONDS)
+                .description("Time from JVM start until the first request was served")
+                .tag("aot", aot)
+                .tag("cds", cds)
+                .register(meters);
+        System.out.println("⏱️ First request (" + request.getMethod() + " " + request.getRequestURI() + ") served "
+                + uptimeMs + " ms after JVM start [AOT " + aot + ", CDS " + cds + "]");
+    }
+}
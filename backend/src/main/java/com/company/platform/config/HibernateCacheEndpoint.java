@@ -0,0 +1,54 @@
+package com.company.platform.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/hibernatecache}: hit/miss/put counts per second-level cache
+ * region plus the natural-id and query cache totals.
+ */
+@Component
+@Endpoint(id = "hibernatecache")
+public class HibernateCacheEndpoint {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public HibernateCacheEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @ReadOperation
+    public Map<String, Object> regions() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String name : stats.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = stats.getDomainDataRegionStatistics(name);
+            regions.put(name, Map.of(
+                    "hits", region.getHitCount(),
+                    "misses", region.getMissCount(),
+                    "puts", region.getPutCount()));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statisticsEnabled", stats.isStatisticsEnabled());
+        result.put("regions", regions);
+        result.put("naturalId", Map.of(
+                "hits", stats.getNaturalIdCacheHitCount(),
+                "misses", stats.getNaturalIdCacheMissCount(),
+                "puts", stats.getNaturalIdCachePutCount()));
+        result.put("queryCache", Map.of(
+                "hits", stats.getQueryCacheHitCount(),
+                "misses", stats.getQueryCacheMissCount(),
+                "puts", stats.getQueryCachePutCount()));
+        return result;
+    }
+}
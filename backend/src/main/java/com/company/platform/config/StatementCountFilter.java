@@ -0,0 +1,54 @@
+package com.company.platform.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many Hibernate statements each request issued as
+ * {@code http.server.requests.statements}, tagged like {@code http.server.requests}
+ * with the method and route template, so N+1 regressions show up per endpoint.
+ * Runs ahead of the security chain to include principal lookups.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    private static final double[] BUCKETS = { 1, 2, 5, 10, 20, 50, 100 };
+
+    private final MeterRegistry meters;
+
+    public StatementCountFilter(MeterRegistry meters) {
+        this.meters = meters;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = StatementCounter.stop();
+            // Route template, never the raw path, to keep the uri tag low-cardinality
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("http.server.requests.statements")
+                    .description("Hibernate statements issued per request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", route != null ? route.toString() : "UNKNOWN")
+                    .serviceLevelObjectives(BUCKETS)
+                    .register(meters)
+                    .record(statements);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.company.platform.config;
+
+import com.company.platform.common.IdBlocks;
+import com.company.platform.users.Role;
+import com.company.platform.workflow.ReviewQueue;
+import com.company.platform.workflow.WorkflowPriority;
+import com.company.platform.workflow.WorkflowStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk-loads users and workflows for the {@code perf} profile.
+ *
+ * Output is deterministic for a given seed and day: every chunk draws from its own
+ * random stream, so chunks can be inserted in parallel in any order. Data is skewed
+ * the way production is: a few departments and power users create most workflows,
+ * volume grows towards the present, creation clusters in business hours, and old
+ * workflows are mostly in terminal states while recent ones are still open.
+ * Rows go in through batched JDBC inserts, one transaction per chunk. A database
+ * that already holds the requested volume is left alone; otherwise only the rows
+ * missing from an earlier, interrupted run are inserted. Every row carries its
+ * index (perf.user{@literal <i>}, "request #{@literal <i>}"), which is how they are found.
+ */
+@Component
+@Profile("perf")
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private static final String INSERT_USER = """
+            insert into users (id, username, password, role, active, deleted, first_name, last_name, email,
+                               department, created_at, updated_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_WORKFLOW = """
+            insert into workflows (id, title, description, status, priority, category, created_by_user_id,
+                                   created_at, updated_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_REVIEW_QUEUE =
+            "insert into review_queue (workflow_id, priority_rank, created_at) values (?, ?, ?)";
+
+    static final String USER_PREFIX = "perf.user";
+    static final String PASSWORD = "perf-password";
+
+    private static final String[] DEPARTMENTS =
+            { "IT", "Operations", "Finance", "Sales", "HR", "Legal", "Marketing", "Procurement" };
+    private static final int[] DEPARTMENT_WEIGHTS = { 30, 20, 15, 12, 8, 7, 5, 3 };
+
+    private static final Role[] ROLES = { Role.USER, Role.VIEWER, Role.REVIEWER, Role.MANAGER, Role.ADMIN };
+    private static final int[] ROLE_WEIGHTS = { 70, 12, 10, 6, 2 };
+
+    private static final WorkflowPriority[] PRIORITIES = WorkflowPriority.values();
+    private static final int[] PRIORITY_WEIGHTS = { 30, 45, 20, 5 };
+
+    private static final String[] CATEGORIES =
+            { "Purchase", "Access", "Travel", "Contract", "Hiring", "Budget", "Incident", "Change" };
+    private static final int[] CATEGORY_WEIGHTS = { 25, 20, 15, 12, 10, 8, 6, 4 };
+
+    // Workflows younger than two weeks are mostly still open; older ones mostly closed
+    private static final WorkflowStatus[] STATUSES = WorkflowStatus.values();
+    private static final int[] RECENT_STATUS_WEIGHTS = { 25, 25, 30, 10, 5, 5, 0, 0 };
+    private static final int[] SETTLED_STATUS_WEIGHTS = { 5, 3, 4, 10, 12, 1, 55, 10 };
+
+    private static final String[] FIRST_NAMES =
+            { "Alex", "Sam", "Priya", "Chen", "Maria", "Omar", "Lena", "Ravi", "Jo", "Kenji", "Ana", "Tom" };
+    private static final String[] LAST_NAMES =
+            { "Smith", "Patel", "Garcia", "Nguyen", "Kim", "Müller", "Rossi", "Khan", "Silva", "Brown" };
+
+    private static final int HISTORY_DAYS = 730;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final IdBlocks idBlocks;
+    private final int userCount;
+    private final long workflowCount;
+    private final long seed;
+    private final int batchSize;
+
+    public SyntheticDataGenerator(JdbcTemplate jdbc, TransactionTemplate transactionTemplate,
+            PasswordEncoder passwordEncoder, IdBlocks idBlocks,
+            @Value("${app.perf.data.users:5000}") int userCount,
+            @Value("${app.perf.data.workflows:2000000}") long workflowCount,
+            @Value("${app.perf.data.seed:42}") long seed,
+            @Value("${app.perf.data.batch-size:5000}") int batchSize) {
+        this.jdbc = jdbc;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.idBlocks = idBlocks;
+        this.userCount = userCount;
+        this.workflowCount = workflowCount;
+        this.seed = seed;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Archived rows were generated too; counting them keeps the archiver from triggering a top-up
+        long existing = jdbc.queryForObject(
+                "select (select count(*) from workflows) + (select count(*) from workflows_archive)", Long.class);
+        if (existing >= workflowCount) {
+            System.out.println("Perf data already present: " + existing + " workflows");
+            return;
+        }
+
+        long started = System.nanoTime();
+        List<Long> userIds = ensureUsers();
+        long created = generateWorkflows(userIds);
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        System.out.println("✅ Generated " + created + " workflows for " + userIds.size() + " users in "
+                + elapsedMs + " ms (" + (created * 1000 / Math.max(1, elapsedMs)) + " rows/s). "
+                + "Sign in as " + USER_PREFIX + "0@example.com / " + PASSWORD);
+    }
+
+    private List<Long> ensureUsers() {
+        BitSet present = indexesPresent("select username from users where username like ?", USER_PREFIX, "@",
+                USER_PREFIX + "%");
+        if (present.nextClearBit(0) < userCount) {
+            // One hash for everyone: thousands of BCrypt rounds would dominate the load time
+            String hash = passwordEncoder.encode(PASSWORD);
+            int chunks = (userCount + batchSize - 1) / batchSize;
+            IntStream.range(0, chunks).parallel().forEach(chunk -> insertUsers(chunk, hash, present));
+        }
+        // Id order is creation order; low ids are the "power users" picked most often below
+        return jdbc.queryForList("select id from users where username like ? order by id", Long.class,
+                USER_PREFIX + "%");
+    }
+
+    private void insertUsers(int chunk, String hash, BitSet present) {
+        int from = chunk * batchSize;
+        int to = Math.min(userCount, from + batchSize);
+        int missing = to - from - present.get(from, to).cardinality();
+        if (missing == 0) {
+            return;
+        }
+        SplittableRandom random = new SplittableRandom(seed * 31 + chunk);
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        long id = idBlocks.reserve("users", missing);
+        List<Object[]> rows = new ArrayList<>(missing);
+        for (int i = from; i < to; i++) {
+            String email = USER_PREFIX + i + "@example.com";
+            Timestamp created = Timestamp.valueOf(today.minusDays(HISTORY_DAYS + random.nextInt(365)));
+            // User 0 is the documented sign-in: an active admin who also creates the most workflows
+            Role role = i == 0 ? Role.ADMIN : pick(random, ROLES, ROLE_WEIGHTS);
+            boolean active = i == 0 || random.nextInt(50) != 0;
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String department = pick(random, DEPARTMENTS, DEPARTMENT_WEIGHTS);
+            if (present.get(i)) {
+                continue;
+            }
+            rows.add(new Object[] {
+                    id++, email, hash, role.name(), active, false, firstName, lastName, email, department,
+                    created, created });
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbc.batchUpdate(INSERT_USER, rows));
+    }
+
+    private long generateWorkflows(List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        // Chunks commit in parallel, so an interrupted run can leave any of them missing, not just the last ones
+        BitSet present = indexesPresent(
+                "select title from workflows where title like ? union all select title from workflows_archive where title like ?",
+                " request #", "", "% request #%", "% request #%");
+        long chunks = (workflowCount + batchSize - 1) / batchSize;
+        AtomicLong inserted = new AtomicLong();
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        IntStream.range(0, (int) chunks).parallel().forEach(chunk -> {
+            inserted.addAndGet(insertWorkflows(chunk, userIds, today, present));
+            if (chunk % 100 == 0) {
+                System.out.println("  ... " + inserted.get() + " workflows");
+            }
+        });
+        return inserted.get();
+    }
+
+    private int insertWorkflows(int chunk, List<Long> userIds, LocalDateTime today, BitSet present) {
+        int from = chunk * batchSize;
+        int to = (int) Math.min(workflowCount, (long) from + batchSize);
+        int missing = to - from - present.get(from, to).cardinality();
+        if (missing == 0) {
+            return 0;
+        }
+        SplittableRandom random = new SplittableRandom(seed * 131 + chunk);
+        long id = idBlocks.reserve("workflows", missing);
+        List<Object[]> rows = new ArrayList<>(missing);
+        List<Object[]> queued = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            // r^2.5 concentrates creators at the low ids: a few users file most workflows
+            int creator = (int) (userIds.size() * Math.pow(random.nextDouble(), 2.5));
+            LocalDateTime created = createdAt(random, today);
+            long ageDays = Duration.between(created, today).toDays();
+            WorkflowStatus status = pick(random, STATUSES, ageDays < 14 ? RECENT_STATUS_WEIGHTS : SETTLED_STATUS_WEIGHTS);
+            LocalDateTime updated = created.plusHours(random.nextInt(status == WorkflowStatus.DRAFT ? 2 : 240));
+            String category = pick(random, CATEGORIES, CATEGORY_WEIGHTS);
+            WorkflowPriority priority = pick(random, PRIORITIES, PRIORITY_WEIGHTS);
+            String description = description(random, category);
+            if (present.get(i)) {
+                continue;
+            }
+            if (ReviewQueue.isQueued(status)) {
+                queued.add(new Object[] { id, priority.rank(), Timestamp.valueOf(created) });
+            }
+            rows.add(new Object[] {
+                    id++,
+                    category + " request #" + i,
+                    description,
+                    status.name(),
+                    priority.name(),
+                    category,
+                    userIds.get(creator),
+                    Timestamp.valueOf(created),
+                    Timestamp.valueOf(updated.isAfter(today) ? today : updated) });
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbc.batchUpdate(INSERT_WORKFLOW, rows);
+            jdbc.batchUpdate(INSERT_REVIEW_QUEUE, queued);
+        });
+        return rows.size();
+    }
+
+    /** Indexes of the generated rows already stored: the number between {@code before} and {@code after} in each value. */
+    private BitSet indexesPresent(String sql, String before, String after, Object... args) {
+        BitSet present = new BitSet();
+        jdbc.query(sql, (RowCallbackHandler) rs -> {
+            String value = rs.getString(1);
+            int start = value.indexOf(before) + before.length();
+            int end = after.isEmpty() ? value.length() : value.indexOf(after, start);
+            try {
+                present.set(Integer.parseInt(value.substring(start, end)));
+            } catch (RuntimeException e) {
+                // Renamed by hand; not one of ours any more
+            }
+        }, args);
+        return present;
+    }
+
+    // sqrt skews towards the present (volume grows over time); mostly weekday business hours
+    private static LocalDateTime createdAt(SplittableRandom random, LocalDateTime today) {
+        double back = 1 - Math.sqrt(random.nextDouble());
+        LocalDateTime day = today.minusDays((long) (back * HISTORY_DAYS));
+        if (day.getDayOfWeek().getValue() >= DayOfWeek.SATURDAY.getValue() && random.nextInt(10) < 8) {
+            day = day.minusDays(day.getDayOfWeek().getValue() - DayOfWeek.FRIDAY.getValue());
+        }
+        int hour = random.nextInt(10) < 8 ? 8 + random.nextInt(10) : random.nextInt(24);
+        return day.plusHours(hour).plusMinutes(random.nextInt(60)).plusSeconds(random.nextInt(60));
+    }
+
+    private static String description(SplittableRandom random, String category) {
+        StringBuilder text = new StringBuilder("Please review this ").append(category.toLowerCase())
+                .append(" request.");
+        int sentences = 1 + random.nextInt(4);
+        for (int s = 0; s < sentences; s++) {
+            text.append(" Reference ").append(Long.toHexString(random.nextLong() >>> 24))
+                    .append(" needs sign-off by the owning team before the next cycle.");
+        }
+        return text.toString();
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values, int[] weights) {
+        int total = 0;
+        for (int w : weights) {
+            total += w;
+        }
+        int r = random.nextInt(total);
+        for (int i = 0; i < values.length; i++) {
+            r -= weights[i];
+            if (r < 0) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+}
@@ -0,0 +1,90 @@
+package com.company.platform.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier, which on Java 21
+ * happens when they block inside {@code synchronized} (typically a JDBC call made
+ * while holding a monitor). Streams the JFR {@code jdk.VirtualThreadPinned} event,
+ * counts it per application call site as {@code jvm.threads.virtual.pinned}, and
+ * logs each new site once.
+ *
+ * Only active in virtual-thread mode ({@code spring.threads.virtual.enabled}).
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.company.platform.";
+
+    private final MeterRegistry meters;
+    private final Duration threshold;
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meters,
+            @Value("${app.threads.pinned-threshold:20ms}") Duration threshold) {
+        this.meters = meters;
+        this.threshold = threshold;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            stream = new RecordingStream();
+            stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+            stream.onEvent(EVENT, this::onPinned);
+            stream.startAsync();
+            System.out.println("Virtual thread pinning monitor started (threshold " + threshold.toMillis() + " ms)");
+        } catch (RuntimeException e) {
+            System.out.println("⚠️ Warning: Could not start virtual thread pinning monitor: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        String site = callSite(event.getStackTrace());
+        meters.counter("jvm.threads.virtual.pinned", "site", site).increment();
+        if (reported.add(site)) {
+            System.out.println("⚠️ Warning: Virtual thread pinned for " + event.getDuration().toMillis()
+                    + " ms at " + site);
+        }
+    }
+
+    // First application frame, so the tag stays low-cardinality and points at our code
+    private static String callSite(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith(APP_PACKAGE)) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        RecordedFrame top = stackTrace.getFrames().get(0);
+        return top.getMethod().getType().getName() + "." + top.getMethod().getName();
+    }
+}
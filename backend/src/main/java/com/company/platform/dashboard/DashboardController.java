@@ -1,21 +1,29 @@
 package com.company.platform.dashboard;
 
+import com.company.platform.cache.ChangeVersions;
+import com.company.platform.cache.ConditionalGet;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/dashboard")
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final ChangeVersions changeVersions;
 
-    public DashboardController(DashboardService dashboardService) {
+    public DashboardController(DashboardService dashboardService, ChangeVersions changeVersions) {
         this.dashboardService = dashboardService;
+        this.changeVersions = changeVersions;
     }
 
     @GetMapping("/stats")
-    public DashboardStatsDTO getStats() {
+    public DashboardStatsDTO getStats(WebRequest request) {
+        if (ConditionalGet.notModified(request, changeVersions.dashboardTag())) {
+            return null;
+        }
         return dashboardService.getStats();
     }
 }
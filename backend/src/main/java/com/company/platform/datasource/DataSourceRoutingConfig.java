@@ -0,0 +1,34 @@
+package com.company.platform.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Replaces Boot's single pooled data source with {@link ReadWriteRoutingDataSource}.
+ * The primary pool is still built from {@code spring.datasource.*} and
+ * {@code spring.datasource.hikari.*}.
+ */
+@Configuration
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment, ReplicaPool replicas) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (StringUtils.hasText(properties.getName())) {
+            primary.setPoolName(properties.getName());
+        }
+        if (replicas.hasReplicas()) {
+            System.out.println("Read-only transactions are routed to read replicas");
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas);
+    }
+}
@@ -0,0 +1,48 @@
+package com.company.platform.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The application's data source: read-only transactions go to {@link ReplicaPool},
+ * everything else to the primary pool.
+ *
+ * The physical connection is fetched lazily, at the first statement. By then the
+ * transaction manager has flagged the connection read-only for
+ * {@code @Transactional(readOnly = true)}, which is what selects the replica side.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final HikariDataSource primary;
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, ReplicaPool replicas) {
+        super(new WriteTracking(primary, replicas));
+        this.primary = primary;
+        setReadOnlyDataSource(replicas.readOnly(primary));
+    }
+
+    @Override
+    public void close() {
+        primary.close();
+    }
+
+    private static final class WriteTracking extends DelegatingDataSource {
+
+        private final ReplicaPool replicas;
+
+        WriteTracking(HikariDataSource primary, ReplicaPool replicas) {
+            super(primary);
+            this.replicas = replicas;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            replicas.noteWrite();
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.company.platform.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connection pools for the read replicas and the choice of where a read-only
+ * transaction runs.
+ *
+ * Replicas are used round-robin. One that fails to hand out a connection is
+ * marked down at once and the next is tried; with none left the read falls back
+ * to the primary. A scheduled check validates every replica and brings recovered
+ * ones back. Users who just committed a write read from the primary for the
+ * read-your-writes window so they see their own change despite replication lag.
+ */
+@Component
+public class ReplicaPool {
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long readYourWritesNanos;
+    private final Map<String, Long> recentWriters = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter toReplica;
+    private final Counter toPrimaryAfterWrite;
+    private final Counter toPrimaryFailover;
+
+    public ReplicaPool(ReplicaProperties properties, DataSourceProperties primary, MeterRegistry meters) {
+        this.readYourWritesNanos = properties.readYourWrites().toNanos();
+        for (int i = 0; i < properties.urls().size(); i++) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + i);
+            pool.setJdbcUrl(properties.urls().get(i));
+            pool.setUsername(properties.username() != null ? properties.username() : primary.getUsername());
+            pool.setPassword(properties.password() != null ? properties.password() : primary.getPassword());
+            pool.setMaximumPoolSize(properties.poolSize());
+            pool.setConnectionTimeout(properties.connectionTimeout().toMillis());
+            pool.setReadOnly(true);
+            // A replica that is down at startup must not stop the application; it starts out unhealthy
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meters));
+            Replica replica = new Replica(pool);
+            replicas.add(replica);
+            Gauge.builder("db.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("1 while the replica is used for reads")
+                    .tag("replica", pool.getPoolName())
+                    .register(meters);
+        }
+        this.toReplica = route(meters, "replica");
+        this.toPrimaryAfterWrite = route(meters, "primary-read-your-writes");
+        this.toPrimaryFailover = route(meters, "primary-failover");
+        if (!replicas.isEmpty()) {
+            checkHealth();
+        }
+    }
+
+    private static Counter route(MeterRegistry meters, String target) {
+        return Counter.builder("db.routing.reads")
+                .description("Read-only transactions by where they ran")
+                .tag("target", target)
+                .register(meters);
+    }
+
+    public boolean hasReplicas() {
+        return !replicas.isEmpty();
+    }
+
+    /** How far replica reads may trail a commit: the read-your-writes window, zero without replicas. */
+    public Duration replicaLag() {
+        return replicas.isEmpty() ? Duration.ZERO : Duration.ofNanos(readYourWritesNanos);
+    }
+
+    /** Data source for read-only transactions, falling back to {@code primary}. */
+    DataSource readOnly(DataSource primary) {
+        return new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return readConnection(primary);
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return readConnection(primary);
+            }
+        };
+    }
+
+    Connection readConnection(DataSource primary) throws SQLException {
+        if (replicas.isEmpty()) {
+            return primary.getConnection();
+        }
+        if (readYourWritesNanos > 0) {
+            String user = currentUser();
+            Long until = user != null ? recentWriters.get(user) : null;
+            if (until != null && until - System.nanoTime() > 0) {
+                toPrimaryAfterWrite.increment();
+                return primary.getConnection();
+            }
+        }
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = replica.pool.getConnection();
+                toReplica.increment();
+                return connection;
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+        toPrimaryFailover.increment();
+        return primary.getConnection();
+    }
+
+    /** Called when a read-write transaction takes a primary connection. */
+    void noteWrite() {
+        if (replicas.isEmpty() || readYourWritesNanos <= 0
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // The window starts when the write becomes visible, not when the transaction began
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentWriters.put(user, System.nanoTime() + readYourWritesNanos);
+                }
+            });
+        } else {
+            recentWriters.put(user, System.nanoTime() + readYourWritesNanos);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.health-check-interval-ms:5000}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection()) {
+                if (connection.isValid((int) Math.max(1, replica.pool.getConnectionTimeout() / 1000))) {
+                    if (!replica.healthy) {
+                        replica.healthy = true;
+                        replica.checked = true;
+                        System.out.println("✅ Read replica " + replica.pool.getPoolName() + " is serving reads");
+                    }
+                } else {
+                    markDown(replica, "connection is not valid");
+                }
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+        long now = System.nanoTime();
+        recentWriters.values().removeIf(until -> until - now <= 0);
+    }
+
+    private void markDown(Replica replica, String reason) {
+        if (replica.healthy || !replica.checked) {
+            replica.checked = true;
+            replica.healthy = false;
+            System.out.println("⚠️ Warning: Read replica " + replica.pool.getPoolName()
+                    + " is down, reads fail over (" + reason + ")");
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return auth.getName();
+    }
+
+    private static final class Replica {
+        final HikariDataSource pool;
+        // Starts down; the first health check (run from the constructor) brings it in
+        volatile boolean healthy;
+        volatile boolean checked;
+
+        Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.company.platform.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas for {@code @Transactional(readOnly = true)} work. With no
+ * {@code urls} everything goes to the primary. Credentials default to the
+ * primary's. {@code readYourWrites} keeps a user's reads on the primary for that
+ * long after they committed a write; zero turns it off.
+ */
+@ConfigurationProperties(prefix = "app.datasource.replicas")
+public record ReplicaProperties(
+        List<String> urls,
+        String username,
+        String password,
+        int poolSize,
+        Duration connectionTimeout,
+        Duration readYourWrites) {
+
+    public ReplicaProperties {
+        if (urls == null) {
+            urls = List.of();
+        }
+        urls = urls.stream().filter(url -> url != null && !url.isBlank()).toList();
+        if (poolSize <= 0) {
+            poolSize = 10;
+        }
+        if (connectionTimeout == null) {
+            connectionTimeout = Duration.ofSeconds(1);
+        }
+        if (readYourWrites == null) {
+            readYourWrites = Duration.ZERO;
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.company.platform.events;
+
+/** Events published on the {@link DomainEventBus}; the simple class name is the outbox event type. */
+public sealed interface DomainEvent permits WorkflowCreated, WorkflowStatusChanged, UserChanged {
+}
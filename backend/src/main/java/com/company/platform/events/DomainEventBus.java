@@ -0,0 +1,350 @@
+package com.company.platform.events;
+
+import com.company.platform.cache.InvalidationBus;
+import com.company.platform.common.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus for {@link DomainEvent}s, so side effects of a write run after its
+ * transaction instead of inside it.
+ *
+ * {@link #publish} writes the event to the {@code domain_event_outbox} table in the
+ * caller's transaction. After commit the event goes onto a ring buffer. Each subscriber
+ * has its own sequence and virtual thread and takes everything published since its last
+ * batch, up to {@code batch-size} events. A final stage, gated on the slowest subscriber,
+ * marks the batch published in the outbox and frees the ring slots. Publishers wait up
+ * to {@code publish-timeout} for a free slot and otherwise leave the event to the sweep.
+ *
+ * A batch a subscriber throws on is not marked published. The sweep redelivers outbox
+ * rows left unpublished for {@code redeliver-after}, whether from a failed handler, a
+ * crash, a full ring or a dead node, to every subscriber. Delivery is therefore at
+ * least once, and order is only kept for events delivered through the ring.
+ */
+@Component
+public class DomainEventBus {
+
+    private static final String INSERT =
+            "insert into domain_event_outbox (event_type, payload, origin, created_at) values (?, ?, ?, ?)";
+
+    private record Envelope(long id, DomainEvent event) {
+    }
+
+    private final JdbcTemplate jdbc;
+    private final JsonMapper jsonMapper;
+    private final MeterRegistry meters;
+    private final String nodeId;
+    private final int batchSize;
+    private final long publishTimeoutNanos;
+    private final Duration redeliverAfter;
+    private final Duration retention;
+    private final Map<String, Class<? extends DomainEvent>> types = new HashMap<>();
+
+    // Ring state, only touched under lock. Not synchronized: virtual threads block here.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Envelope[] ring;
+    private final int mask;
+    private volatile long cursor = -1;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Subscriber outbox;
+    private volatile boolean running = true;
+
+    // Outbox ids on the ring, which the sweep must not deliver a second time
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    // Ids a subscriber failed on; the outbox stage leaves them for the sweep
+    private final Set<Long> failed = ConcurrentHashMap.newKeySet();
+
+    private final Counter overflow;
+    private final Counter redelivered;
+
+    @SuppressWarnings("unchecked")
+    public DomainEventBus(JdbcTemplate jdbc, JsonMapper jsonMapper, MeterRegistry meters, InvalidationBus bus,
+            @Value("${app.events.ring-size:4096}") int ringSize,
+            @Value("${app.events.batch-size:256}") int batchSize,
+            @Value("${app.events.publish-timeout:1s}") Duration publishTimeout,
+            @Value("${app.events.outbox.redeliver-after:2m}") Duration redeliverAfter,
+            @Value("${app.events.outbox.retention:1h}") Duration retention) {
+        this.jdbc = jdbc;
+        this.jsonMapper = jsonMapper;
+        this.meters = meters;
+        this.nodeId = bus.nodeId();
+        this.batchSize = batchSize;
+        this.publishTimeoutNanos = publishTimeout.toNanos();
+        this.redeliverAfter = redeliverAfter;
+        this.retention = retention;
+        for (Class<?> type : DomainEvent.class.getPermittedSubclasses()) {
+            types.put(type.getSimpleName(), (Class<? extends DomainEvent>) type);
+        }
+
+        int size = Integer.highestOneBit(Math.max(2, ringSize - 1)) << 1;
+        this.ring = new Envelope[size];
+        this.mask = size - 1;
+
+        this.overflow = Counter.builder("domain.events.overflow")
+                .description("Events left to the outbox sweep because the ring stayed full")
+                .register(meters);
+        this.redelivered = Counter.builder("domain.events.redelivered")
+                .description("Outbox events delivered by the sweep")
+                .register(meters);
+        this.outbox = new Subscriber("outbox", this::markPublished);
+        start(outbox);
+    }
+
+    /** Handler receives events in batches, on its own thread, after the publishing transaction commits. */
+    public void subscribe(String name, Consumer<List<DomainEvent>> handler) {
+        Subscriber subscriber = new Subscriber(name, batch -> {
+            List<DomainEvent> events = new ArrayList<>(batch.size());
+            batch.forEach(e -> events.add(e.event()));
+            handler.accept(events);
+        });
+        lock.lock();
+        try {
+            subscriber.sequence = cursor;
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+        start(subscriber);
+    }
+
+    /** Records the event in the caller's transaction; subscribers get it once that commits. */
+    public void publish(DomainEvent event) {
+        String type = event.getClass().getSimpleName();
+        String payload = jsonMapper.writeValueAsString(event);
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbc.update(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT, new String[] { "id" });
+            ps.setString(1, type);
+            ps.setString(2, payload);
+            ps.setString(3, nodeId);
+            ps.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC)));
+            return ps;
+        }, keys);
+        long id = keys.getKey().longValue();
+        meters.counter("domain.events.published", "type", type).increment();
+        AfterCommit.run(() -> enqueue(new Envelope(id, event)));
+    }
+
+    /** Delivers outbox rows that stayed unpublished, including other nodes' after they stop. */
+    @Scheduled(fixedDelayString = "${app.events.outbox.sweep-interval-ms:30000}")
+    public void sweep() {
+        LocalDateTime cutoff = LocalDateTime.now(ZoneOffset.UTC).minus(redeliverAfter);
+        try {
+            // Claim stale rows of other nodes first, so only one node picks each up
+            jdbc.update("update domain_event_outbox set origin = ? "
+                    + "where published_at is null and created_at < ? and origin <> ?", nodeId, cutoff, nodeId);
+            List<Object[]> rows = jdbc.query("select id, event_type, payload from domain_event_outbox "
+                    + "where published_at is null and created_at < ? and origin = ? order by id limit ?",
+                    (rs, n) -> new Object[] { rs.getLong(1), rs.getString(2), rs.getString(3) },
+                    cutoff, nodeId, ring.length);
+            for (Object[] row : rows) {
+                long id = (Long) row[0];
+                Class<? extends DomainEvent> type = types.get((String) row[1]);
+                if (type == null) {
+                    System.out.println("⚠️ Warning: Dropping outbox event " + id + " of unknown type " + row[1]);
+                    markPublished(List.of(new Envelope(id, null)));
+                } else if (!inFlight.contains(id)) {
+                    if (!enqueue(new Envelope(id, jsonMapper.readValue((String) row[2], type)))) {
+                        break;
+                    }
+                    redelivered.increment();
+                }
+            }
+        } catch (DataAccessException e) {
+            System.out.println("⚠️ Warning: Could not sweep the domain event outbox. " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.outbox.purge-interval-ms:600000}")
+    public void purge() {
+        try {
+            jdbc.update("delete from domain_event_outbox where published_at < ?",
+                    LocalDateTime.now(ZoneOffset.UTC).minus(retention));
+        } catch (DataAccessException e) {
+            System.out.println("⚠️ Warning: Could not purge the domain event outbox. " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        lock.lock();
+        try {
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean enqueue(Envelope envelope) {
+        if (!inFlight.add(envelope.id())) {
+            return true;
+        }
+        lock.lock();
+        try {
+            long next = cursor + 1;
+            long wait = publishTimeoutNanos;
+            // The outbox stage is the slowest consumer by construction; never overwrite what it has not passed
+            while (next - ring.length > outbox.sequence) {
+                if (wait <= 0) {
+                    inFlight.remove(envelope.id());
+                    overflow.increment();
+                    System.out.println("⚠️ Warning: Domain event ring full, event " + envelope.id()
+                            + " left to the outbox sweep");
+                    return false;
+                }
+                wait = changed.awaitNanos(wait);
+            }
+            ring[(int) next & mask] = envelope;
+            cursor = next;
+            changed.signalAll();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            inFlight.remove(envelope.id());
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void markPublished(List<Envelope> batch) {
+        List<Envelope> delivered = new ArrayList<>(batch.size());
+        for (Envelope envelope : batch) {
+            if (!failed.remove(envelope.id())) {
+                delivered.add(envelope);
+            }
+        }
+        try {
+            if (delivered.isEmpty()) {
+                return;
+            }
+            String placeholders = String.join(",", Collections.nCopies(delivered.size(), "?"));
+            Object[] args = new Object[delivered.size() + 1];
+            args[0] = Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC));
+            for (int i = 0; i < delivered.size(); i++) {
+                args[i + 1] = delivered.get(i).id();
+            }
+            jdbc.update("update domain_event_outbox set published_at = ? where id in (" + placeholders + ")", args);
+        } catch (DataAccessException e) {
+            // Left unpublished, so the sweep delivers them again
+            System.out.println("⚠️ Warning: Could not mark " + delivered.size() + " domain events published. "
+                    + e.getMessage());
+        } finally {
+            batch.forEach(e -> inFlight.remove(e.id()));
+        }
+    }
+
+    private void start(Subscriber subscriber) {
+        Gauge.builder("domain.events.lag", subscriber, s -> cursor - s.sequence)
+                .description("Events published but not yet handled by the subscriber")
+                .tag("subscriber", subscriber.name)
+                .register(meters);
+        Thread.ofVirtual().name("domain-events-" + subscriber.name).start(subscriber);
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final String name;
+        private final Consumer<List<Envelope>> handler;
+        private final DistributionSummary batches;
+        private volatile long sequence = -1;
+
+        Subscriber(String name, Consumer<List<Envelope>> handler) {
+            this.name = name;
+            this.handler = handler;
+            this.batches = DistributionSummary.builder("domain.events.batch.size")
+                    .description("Events handed to a subscriber at once")
+                    .tag("subscriber", name)
+                    .register(meters);
+        }
+
+        // Regular subscribers follow the publishers; the outbox stage follows the slowest subscriber
+        private long available() {
+            if (this != outbox) {
+                return cursor;
+            }
+            long min = cursor;
+            for (Subscriber s : subscribers) {
+                min = Math.min(min, s.sequence);
+            }
+            return min;
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                List<Envelope> batch;
+                lock.lock();
+                try {
+                    long available;
+                    while ((available = available()) <= sequence) {
+                        if (!running) {
+                            return;
+                        }
+                        changed.await(1, TimeUnit.SECONDS);
+                    }
+                    long to = Math.min(available, sequence + batchSize);
+                    batch = new ArrayList<>((int) (to - sequence));
+                    for (long s = sequence + 1; s <= to; s++) {
+                        batch.add(ring[(int) s & mask]);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    lock.unlock();
+                }
+
+                batches.record(batch.size());
+                try {
+                    handler.accept(batch);
+                } catch (RuntimeException e) {
+                    if (this != outbox) {
+                        batch.forEach(envelope -> failed.add(envelope.id()));
+                    }
+                    System.out.println("⚠️ Warning: Domain event subscriber " + name + " failed on "
+                            + batch.size() + " events, left to the outbox sweep: " + e.getMessage());
+                }
+
+                lock.lock();
+                try {
+                    sequence += batch.size();
+                    changed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+}
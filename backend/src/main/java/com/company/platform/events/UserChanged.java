@@ -0,0 +1,5 @@
+package com.company.platform.events;
+
+/** A user was created, updated or deleted; {@code userId} is null after bulk changes. */
+public record UserChanged(Long userId) implements DomainEvent {
+}
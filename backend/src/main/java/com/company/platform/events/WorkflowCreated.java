@@ -0,0 +1,6 @@
+package com.company.platform.events;
+
+import com.company.platform.workflow.WorkflowDTO;
+
+public record WorkflowCreated(WorkflowDTO workflow, Long creatorId) implements DomainEvent {
+}
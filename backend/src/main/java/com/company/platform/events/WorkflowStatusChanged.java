@@ -0,0 +1,7 @@
+package com.company.platform.events;
+
+import com.company.platform.workflow.WorkflowDTO;
+
+public record WorkflowStatusChanged(WorkflowDTO workflow, Long creatorId, String previousStatus)
+        implements DomainEvent {
+}
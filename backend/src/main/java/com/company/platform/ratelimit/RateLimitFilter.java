@@ -0,0 +1,96 @@
+package com.company.platform.ratelimit;
+
+import com.company.platform.security.AuthenticatedUser;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies {@link RateLimiter} decisions. Registered in the security chain right
+ * after JWT authentication so per-user rules can see the principal.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final List<IpAddressMatcher> trustedProxies;
+
+    public RateLimitFilter(RateLimiter rateLimiter, RateLimitProperties properties) {
+        this.rateLimiter = rateLimiter;
+        this.properties = properties;
+        this.trustedProxies = properties.trustedProxies().stream().map(IpAddressMatcher::new).toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled() || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RateLimitProperties.Rule rule = rateLimiter.match(path);
+        if (rule == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(path, resolveKey(rule, request));
+        response.setHeader("X-RateLimit-Limit", String.valueOf(rule.capacity()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(Math.max(0, decision.remaining())));
+
+        if (decision.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(decision.retryAfterNanos() + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Too many requests, retry in " + retryAfterSeconds + "s\"}");
+    }
+
+    private String resolveKey(RateLimitProperties.Rule rule, HttpServletRequest request) {
+        if (rule.key() == RateLimitProperties.KeyType.USER) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+                return auth.getPrincipal() instanceof AuthenticatedUser user ? "u:" + user.userId()
+                        : "u:" + auth.getName();
+            }
+        }
+        return "ip:" + clientIp(request);
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        String header = properties.clientIpHeader();
+        if (header != null && !header.isBlank() && fromTrustedProxy(request)) {
+            String value = request.getHeader(header);
+            if (value != null && !value.isBlank()) {
+                int comma = value.indexOf(',');
+                return (comma >= 0 ? value.substring(0, comma) : value).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private boolean fromTrustedProxy(HttpServletRequest request) {
+        return trustedProxies.stream().anyMatch(m -> m.matches(request.getRemoteAddr()));
+    }
+}
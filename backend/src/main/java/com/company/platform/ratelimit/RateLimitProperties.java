@@ -0,0 +1,51 @@
+package com.company.platform.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Route-level limits, matched in order; the first rule whose pattern matches the
+ * request path applies. {@code capacity} is the burst size and {@code refillPeriod}
+ * the time it takes to refill the whole bucket. {@code clientIpHeader} is only read
+ * on requests arriving from one of {@code trustedProxies} (CIDRs); anyone else could
+ * send a new value with every request.
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+        boolean enabled,
+        String clientIpHeader,
+        List<String> trustedProxies,
+        int maxBuckets,
+        Duration idleTimeout,
+        List<Rule> rules) {
+
+    public enum KeyType {
+        /** Authenticated username, falling back to the client IP for anonymous calls. */
+        USER,
+        IP
+    }
+
+    public record Rule(
+            String pattern,
+            KeyType key,
+            int capacity,
+            Duration refillPeriod) {
+    }
+
+    public RateLimitProperties {
+        if (maxBuckets <= 0) {
+            maxBuckets = 50_000;
+        }
+        if (idleTimeout == null) {
+            idleTimeout = Duration.ofMinutes(5);
+        }
+        if (trustedProxies == null) {
+            trustedProxies = List.of("127.0.0.1/32", "::1/128");
+        }
+        if (rules == null) {
+            rules = List.of();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.company.platform.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the per-key buckets for every configured rule.
+ *
+ * Memory is bounded by {@code maxBuckets}. The buckets live in a size- and
+ * time-bounded cache that evicts a little on every write, so a flood of new keys
+ * costs each request amortised constant time and every key still gets a bucket of
+ * its own. A bucket expires once it has gone unused for {@code idleTimeout} plus the
+ * longest refill period, by which time it is full again and forgetting it is
+ * indistinguishable from keeping it.
+ */
+@Component
+public class RateLimiter {
+
+    public record Decision(boolean allowed, RateLimitProperties.Rule rule, long remaining, long retryAfterNanos) {
+        static final Decision UNLIMITED = new Decision(true, null, -1, 0);
+    }
+
+    private record CompiledRule(RateLimitProperties.Rule rule, int index, long intervalNanos) {
+    }
+
+    private final List<CompiledRule> rules;
+    private final Cache<String, TokenBucket> buckets;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.rules = new ArrayList<>();
+        Duration longestRefill = Duration.ZERO;
+        for (int i = 0; i < properties.rules().size(); i++) {
+            RateLimitProperties.Rule rule = properties.rules().get(i);
+            if (rule.capacity() <= 0 || rule.refillPeriod() == null || rule.refillPeriod().isZero()) {
+                throw new IllegalArgumentException("Invalid rate limit rule for " + rule.pattern());
+            }
+            long interval = Math.max(1, rule.refillPeriod().toNanos() / rule.capacity());
+            rules.add(new CompiledRule(rule, i, interval));
+            if (rule.refillPeriod().compareTo(longestRefill) > 0) {
+                longestRefill = rule.refillPeriod();
+            }
+        }
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxBuckets())
+                .expireAfterAccess(properties.idleTimeout().plus(longestRefill))
+                .build();
+    }
+
+    public RateLimitProperties.Rule match(String path) {
+        CompiledRule compiled = find(path);
+        return compiled != null ? compiled.rule() : null;
+    }
+
+    public Decision tryAcquire(String path, String key) {
+        CompiledRule compiled = find(path);
+        if (compiled == null) {
+            return Decision.UNLIMITED;
+        }
+
+        long now = System.nanoTime();
+        TokenBucket bucket = bucketFor(compiled, key, now);
+        long wait = bucket.tryAcquire(now);
+        return new Decision(wait == 0, compiled.rule(), bucket.available(now), wait);
+    }
+
+    public long size() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    /** The cache only expires entries while it is in use; this drops idle buckets during quiet periods. */
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        buckets.cleanUp();
+    }
+
+    private CompiledRule find(String path) {
+        for (CompiledRule compiled : rules) {
+            if (matcher.match(compiled.rule().pattern(), path)) {
+                return compiled;
+            }
+        }
+        return null;
+    }
+
+    private TokenBucket bucketFor(CompiledRule compiled, String key, long now) {
+        // Rule index in the key keeps one client's login and report budgets separate
+        return buckets.get(compiled.index() + ":" + key,
+                k -> new TokenBucket(compiled.rule().capacity(), compiled.intervalNanos(), now));
+    }
+}
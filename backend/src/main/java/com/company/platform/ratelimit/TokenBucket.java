@@ -0,0 +1,52 @@
+package com.company.platform.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ *
+ * The whole bucket is a single long: the "theoretical arrival time" of the next
+ * request in nanoseconds (the GCRA formulation of a token bucket). A bucket holding
+ * {@code capacity} tokens that refills one token every {@code interval} admits a
+ * request when {@code tat + interval - now <= capacity * interval}. Acquiring is a
+ * read, an add and a CAS; no locks and no separate refill step.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong tat;
+
+    public TokenBucket(int capacity, long intervalNanos, long nowNanos) {
+        this.intervalNanos = intervalNanos;
+        this.burstNanos = capacity * intervalNanos;
+        this.tat = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Tries to take one token.
+     *
+     * @return 0 when the request is admitted, otherwise the number of nanoseconds
+     *         until a token becomes available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = tat.get();
+            long base = Math.max(current, nowNanos);
+            long next = base + intervalNanos;
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Tokens left at {@code nowNanos}, rounded down. */
+    public long available(long nowNanos) {
+        long debt = Math.max(0, tat.get() - nowNanos);
+        return (burstNanos - debt) / intervalNanos;
+    }
+}
@@ -1,5 +1,6 @@
 package com.company.platform.reports;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -10,4 +11,52 @@ public class CsvUtil {
                 .map(row -> String.join(",", row))
                 .collect(Collectors.joining("\n"));
     }
+
+    /**
+     * Parses RFC 4180 style CSV: quoted fields may contain commas, doubled quotes
+     * and line breaks. Blank lines are skipped.
+     */
+    public static List<String[]> parse(String csv) {
+        List<String[]> rows = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                endRow(rows, fields, field);
+            } else {
+                field.append(c);
+            }
+        }
+        endRow(rows, fields, field);
+        return rows;
+    }
+
+    private static void endRow(List<String[]> rows, List<String> fields, StringBuilder field) {
+        fields.add(field.toString());
+        field.setLength(0);
+        if (!(fields.size() == 1 && fields.get(0).isBlank())) {
+            rows.add(fields.toArray(new String[0]));
+        }
+        fields.clear();
+    }
 }
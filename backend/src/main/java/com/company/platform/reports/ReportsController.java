@@ -1,27 +1,38 @@
 package com.company.platform.reports;
 
 import com.company.platform.users.UserRepository;
+import com.company.platform.workflow.ArchivedWorkflowRepository;
+import com.company.platform.workflow.ArchivedWorkflowRow;
 import com.company.platform.workflow.WorkflowRepository;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/reports")
 public class ReportsController {
 
+    private static final int ARCHIVE_PAGE_SIZE = 1000;
+
     private final UserRepository userRepository;
     private final WorkflowRepository workflowRepository;
+    private final ArchivedWorkflowRepository archivedWorkflowRepository;
 
-    public ReportsController(UserRepository userRepository, WorkflowRepository workflowRepository) {
+    public ReportsController(UserRepository userRepository, WorkflowRepository workflowRepository,
+            ArchivedWorkflowRepository archivedWorkflowRepository) {
         this.userRepository = userRepository;
         this.workflowRepository = workflowRepository;
+        this.archivedWorkflowRepository = archivedWorkflowRepository;
     }
 
     @GetMapping("/users/csv")
@@ -48,8 +59,14 @@ public class ReportsController {
         }
     }
 
+    /** Live workflows; {@code archived=true} exports the archive instead. */
     @GetMapping("/workflows/csv")
-    public void exportWorkflows(HttpServletResponse response) throws IOException {
+    public void exportWorkflows(@RequestParam(defaultValue = "false") boolean archived,
+            HttpServletResponse response) throws IOException {
+        if (archived) {
+            exportArchivedWorkflows(response);
+            return;
+        }
         response.setContentType("text/csv");
         response.setHeader("Content-Disposition", "attachment; filename=\"workflows.csv\"");
 
@@ -70,4 +87,36 @@ public class ReportsController {
             writer.write(CsvUtil.toCsv(rows));
         }
     }
+
+    private void exportArchivedWorkflows(HttpServletResponse response) throws IOException {
+        response.setContentType("text/csv");
+        response.setHeader("Content-Disposition", "attachment; filename=\"workflows-archive.csv\"");
+
+        // The archive grows without bound: each page goes out as soon as it is read
+        try (PrintWriter writer = response.getWriter()) {
+            writer.write(String.join(",", "ID", "Description", "Status", "Creator", "Created At", "Archived At"));
+            long lastId = 0;
+            Slice<ArchivedWorkflowRow> page;
+            do {
+                page = archivedWorkflowRepository.findRowsAfter(lastId, PageRequest.of(0, ARCHIVE_PAGE_SIZE));
+                List<String[]> rows = new ArrayList<>(page.getNumberOfElements());
+                for (ArchivedWorkflowRow wf : page) {
+                    rows.add(new String[] {
+                            String.valueOf(wf.id()),
+                            "\"" + wf.description().replace("\"", "\"\"") + "\"",
+                            wf.status().name(),
+                            Objects.toString(wf.creatorEmail(), ""),
+                            wf.createdAt().toString(),
+                            wf.archivedAt().toString()
+                    });
+                    lastId = wf.id();
+                }
+                if (!rows.isEmpty()) {
+                    writer.write("\n");
+                    writer.write(CsvUtil.toCsv(rows));
+                    writer.flush();
+                }
+            } while (page.hasNext());
+        }
+    }
 }
@@ -1,16 +1,49 @@
 package com.company.platform.rules;
 
+import com.company.platform.common.IdBlocks;
 
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+/**
+ * A workflow rule. {@code ruleValue} holds the condition in the
+ * {@link RuleCompiler} expression language; when it matches a workflow on create
+ * or transition, the change is rejected with {@code message}.
+ */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "business-rules")
 public class BusinessRule {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "business_rule_ids")
+    @TableGenerator(name = "business_rule_ids", table = IdBlocks.TABLE, pkColumnName = IdBlocks.NAME_COLUMN,
+            valueColumnName = IdBlocks.VALUE_COLUMN, pkColumnValue = "business_rule", allocationSize = IdBlocks.BLOCK_SIZE)
     private Long id;
 
+    @Column(unique = true)
     private String ruleKey;
+
+    @Column(length = 2000)
     private String ruleValue;
-}
 
+    private String message;
+
+    private boolean active = true;
+
+    public Long getId() { return id; }
+
+    public String getRuleKey() { return ruleKey; }
+    public void setRuleKey(String ruleKey) { this.ruleKey = ruleKey; }
+
+    public String getRuleValue() { return ruleValue; }
+    public void setRuleValue(String ruleValue) { this.ruleValue = ruleValue; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public boolean isActive() { return active; }
+    public void setActive(boolean active) { this.active = active; }
+}
@@ -0,0 +1,13 @@
+package com.company.platform.rules;
+
+public record CompiledRule(
+        Long id,
+        String key,
+        String message,
+        Condition condition) {
+
+    public static CompiledRule of(BusinessRule rule) {
+        return new CompiledRule(rule.getId(), rule.getRuleKey(), rule.getMessage(),
+                RuleCompiler.compile(rule.getRuleValue()));
+    }
+}
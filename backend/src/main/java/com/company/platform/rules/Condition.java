@@ -0,0 +1,103 @@
+package com.company.platform.rules;
+
+import java.util.Set;
+
+/**
+ * Compiled form of a rule expression: a tree of small, type-specialised nodes.
+ * Each node does one comparison with its operands already resolved, so evaluating
+ * a rule is a handful of virtual calls and no parsing or name lookups.
+ */
+public sealed interface Condition {
+
+    boolean test(RuleContext context);
+
+    record Constant(boolean value) implements Condition {
+        public boolean test(RuleContext context) {
+            return value;
+        }
+    }
+
+    record TextEquals(RuleAttribute attribute, String value) implements Condition {
+        public boolean test(RuleContext context) {
+            return value.equals(attribute.text(context));
+        }
+    }
+
+    record TextIn(RuleAttribute attribute, Set<String> values) implements Condition {
+        public boolean test(RuleContext context) {
+            String actual = attribute.text(context);
+            return actual != null && values.contains(actual);
+        }
+    }
+
+    record TextContains(RuleAttribute attribute, String value) implements Condition {
+        public boolean test(RuleContext context) {
+            String actual = attribute.text(context);
+            return actual != null && actual.contains(value);
+        }
+    }
+
+    record IsNull(RuleAttribute attribute) implements Condition {
+        public boolean test(RuleContext context) {
+            return attribute.text(context) == null;
+        }
+    }
+
+    record NumberEquals(RuleAttribute attribute, double value) implements Condition {
+        public boolean test(RuleContext context) {
+            return attribute.number(context) == value;
+        }
+    }
+
+    record GreaterThan(RuleAttribute attribute, double value) implements Condition {
+        public boolean test(RuleContext context) {
+            return attribute.number(context) > value;
+        }
+    }
+
+    record GreaterOrEqual(RuleAttribute attribute, double value) implements Condition {
+        public boolean test(RuleContext context) {
+            return attribute.number(context) >= value;
+        }
+    }
+
+    record LessThan(RuleAttribute attribute, double value) implements Condition {
+        public boolean test(RuleContext context) {
+            return attribute.number(context) < value;
+        }
+    }
+
+    record LessOrEqual(RuleAttribute attribute, double value) implements Condition {
+        public boolean test(RuleContext context) {
+            return attribute.number(context) <= value;
+        }
+    }
+
+    record Not(Condition operand) implements Condition {
+        public boolean test(RuleContext context) {
+            return !operand.test(context);
+        }
+    }
+
+    record And(Condition[] operands) implements Condition {
+        public boolean test(RuleContext context) {
+            for (Condition operand : operands) {
+                if (!operand.test(context)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    record Or(Condition[] operands) implements Condition {
+        public boolean test(RuleContext context) {
+            for (Condition operand : operands) {
+                if (operand.test(context)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.company.platform.rules;
+
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Attributes usable in rule expressions. Names are resolved to accessors once, at
+ * compile time; evaluation never looks anything up by name.
+ */
+public enum RuleAttribute {
+
+    TRIGGER("trigger", (Function<RuleContext, String>) c -> c.trigger().name()),
+    STATUS("status", RuleContext::status),
+    PREVIOUS_STATUS("previousStatus", RuleContext::previousStatus),
+    PRIORITY("priority", RuleContext::priority),
+    CATEGORY("category", RuleContext::category),
+    DEPARTMENT("department", RuleContext::department),
+    ROLE("role", RuleContext::role),
+    TITLE("title", RuleContext::title),
+    DESCRIPTION("description", RuleContext::description),
+    TITLE_LENGTH("titleLength", (ToDoubleFunction<RuleContext>) c -> c.title() == null ? 0 : c.title().length()),
+    DESCRIPTION_LENGTH("descriptionLength",
+            (ToDoubleFunction<RuleContext>) c -> c.description() == null ? 0 : c.description().length());
+
+    private final String expressionName;
+    private final Function<RuleContext, String> text;
+    private final ToDoubleFunction<RuleContext> number;
+
+    RuleAttribute(String expressionName, Function<RuleContext, String> text) {
+        this.expressionName = expressionName;
+        this.text = text;
+        this.number = null;
+    }
+
+    RuleAttribute(String expressionName, ToDoubleFunction<RuleContext> number) {
+        this.expressionName = expressionName;
+        this.text = null;
+        this.number = number;
+    }
+
+    public String expressionName() {
+        return expressionName;
+    }
+
+    public boolean isNumeric() {
+        return number != null;
+    }
+
+    public String text(RuleContext context) {
+        return text.apply(context);
+    }
+
+    public double number(RuleContext context) {
+        return number.applyAsDouble(context);
+    }
+
+    public static RuleAttribute byName(String name) {
+        for (RuleAttribute attribute : values()) {
+            if (attribute.expressionName.toLowerCase(Locale.ROOT).equals(name.toLowerCase(Locale.ROOT))) {
+                return attribute;
+            }
+        }
+        return null;
+    }
+}
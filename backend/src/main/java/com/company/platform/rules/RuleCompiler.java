@@ -0,0 +1,288 @@
+package com.company.platform.rules;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compiles rule expressions into {@link Condition} trees.
+ *
+ * <pre>
+ *   expr       := and (("||" | "or") and)*
+ *   and        := unary (("&&" | "and") unary)*
+ *   unary      := ("!" | "not") unary | "(" expr ")" | "true" | "false" | comparison
+ *   comparison := attribute ("==" | "!=" | "<" | "<=" | ">" | ">=") (string | number | null)
+ *               | attribute ["not"] "in" "(" literal ("," literal)* ")"
+ *               | attribute "contains" string
+ * </pre>
+ *
+ * Example: {@code trigger == 'TRANSITION' && status == 'APPROVED' && priority in ('HIGH', 'URGENT')}
+ */
+public final class RuleCompiler {
+
+    private enum Kind {
+        IDENT, STRING, NUMBER, OP, LPAREN, RPAREN, COMMA, END
+    }
+
+    private record Token(Kind kind, String text, int position) {
+        boolean is(String keyword) {
+            return (kind == Kind.IDENT || kind == Kind.OP) && text.equalsIgnoreCase(keyword);
+        }
+    }
+
+    private final String source;
+    private final List<Token> tokens;
+    private int pos;
+
+    private RuleCompiler(String source) {
+        this.source = source;
+        this.tokens = tokenize(source);
+    }
+
+    public static Condition compile(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("Rule expression is empty");
+        }
+        RuleCompiler compiler = new RuleCompiler(expression);
+        Condition condition = compiler.parseOr();
+        compiler.expect(Kind.END, "end of expression");
+        return condition;
+    }
+
+    private Condition parseOr() {
+        List<Condition> operands = new ArrayList<>();
+        operands.add(parseAnd());
+        while (peek().is("||") || peek().is("or")) {
+            pos++;
+            operands.add(parseAnd());
+        }
+        return or(operands);
+    }
+
+    private Condition parseAnd() {
+        List<Condition> operands = new ArrayList<>();
+        operands.add(parseUnary());
+        while (peek().is("&&") || peek().is("and")) {
+            pos++;
+            operands.add(parseUnary());
+        }
+        return and(operands);
+    }
+
+    private Condition parseUnary() {
+        Token token = peek();
+        if (token.is("!") || token.is("not")) {
+            pos++;
+            Condition operand = parseUnary();
+            if (operand instanceof Condition.Constant c) {
+                return new Condition.Constant(!c.value());
+            }
+            return operand instanceof Condition.Not n ? n.operand() : new Condition.Not(operand);
+        }
+        if (token.kind() == Kind.LPAREN) {
+            pos++;
+            Condition inner = parseOr();
+            expect(Kind.RPAREN, "')'");
+            return inner;
+        }
+        if (token.is("true") || token.is("false")) {
+            pos++;
+            return new Condition.Constant(token.is("true"));
+        }
+        return parseComparison();
+    }
+
+    private Condition parseComparison() {
+        Token name = expect(Kind.IDENT, "attribute name");
+        RuleAttribute attribute = RuleAttribute.byName(name.text());
+        if (attribute == null) {
+            throw error(name, "Unknown attribute '" + name.text() + "'");
+        }
+
+        Token op = next();
+        if (op.is("not") && peek().is("in")) {
+            pos++;
+            return new Condition.Not(parseIn(attribute));
+        }
+        if (op.is("in")) {
+            return parseIn(attribute);
+        }
+        if (op.is("contains")) {
+            if (attribute.isNumeric()) {
+                throw error(op, "'contains' needs a text attribute");
+            }
+            return new Condition.TextContains(attribute, expect(Kind.STRING, "string").text());
+        }
+        if (op.kind() != Kind.OP) {
+            throw error(op, "Expected comparison operator");
+        }
+
+        Token operand = next();
+        if (operand.is("null")) {
+            if (attribute.isNumeric() || !(op.is("==") || op.is("!="))) {
+                throw error(operand, "null only compares with == or != on text attributes");
+            }
+            Condition isNull = new Condition.IsNull(attribute);
+            return op.is("==") ? isNull : new Condition.Not(isNull);
+        }
+
+        if (attribute.isNumeric()) {
+            if (operand.kind() != Kind.NUMBER) {
+                throw error(operand, "'" + attribute.expressionName() + "' is numeric");
+            }
+            double value = Double.parseDouble(operand.text());
+            return switch (op.text()) {
+                case "==" -> new Condition.NumberEquals(attribute, value);
+                case "!=" -> new Condition.Not(new Condition.NumberEquals(attribute, value));
+                case ">" -> new Condition.GreaterThan(attribute, value);
+                case ">=" -> new Condition.GreaterOrEqual(attribute, value);
+                case "<" -> new Condition.LessThan(attribute, value);
+                case "<=" -> new Condition.LessOrEqual(attribute, value);
+                default -> throw error(op, "Unsupported operator " + op.text());
+            };
+        }
+
+        if (operand.kind() != Kind.STRING) {
+            throw error(operand, "'" + attribute.expressionName() + "' compares with a quoted string");
+        }
+        Condition equals = new Condition.TextEquals(attribute, operand.text());
+        return switch (op.text()) {
+            case "==" -> equals;
+            case "!=" -> new Condition.Not(equals);
+            default -> throw error(op, "Only == and != apply to text attributes");
+        };
+    }
+
+    private Condition parseIn(RuleAttribute attribute) {
+        if (attribute.isNumeric()) {
+            throw error(peek(), "'in' needs a text attribute");
+        }
+        expect(Kind.LPAREN, "'('");
+        Set<String> values = new LinkedHashSet<>();
+        values.add(expect(Kind.STRING, "string").text());
+        while (peek().kind() == Kind.COMMA) {
+            pos++;
+            values.add(expect(Kind.STRING, "string").text());
+        }
+        expect(Kind.RPAREN, "')'");
+        return values.size() == 1
+                ? new Condition.TextEquals(attribute, values.iterator().next())
+                : new Condition.TextIn(attribute, Set.copyOf(values));
+    }
+
+    // Flattening and constant folding keep the tree shallow
+    private static Condition and(List<Condition> operands) {
+        List<Condition> flat = new ArrayList<>();
+        for (Condition c : operands) {
+            if (c instanceof Condition.Constant k) {
+                if (!k.value()) {
+                    return k;
+                }
+            } else if (c instanceof Condition.And a) {
+                flat.addAll(List.of(a.operands()));
+            } else {
+                flat.add(c);
+            }
+        }
+        if (flat.isEmpty()) {
+            return new Condition.Constant(true);
+        }
+        return flat.size() == 1 ? flat.get(0) : new Condition.And(flat.toArray(new Condition[0]));
+    }
+
+    private static Condition or(List<Condition> operands) {
+        List<Condition> flat = new ArrayList<>();
+        for (Condition c : operands) {
+            if (c instanceof Condition.Constant k) {
+                if (k.value()) {
+                    return k;
+                }
+            } else if (c instanceof Condition.Or o) {
+                flat.addAll(List.of(o.operands()));
+            } else {
+                flat.add(c);
+            }
+        }
+        if (flat.isEmpty()) {
+            return new Condition.Constant(false);
+        }
+        return flat.size() == 1 ? flat.get(0) : new Condition.Or(flat.toArray(new Condition[0]));
+    }
+
+    private Token peek() {
+        return tokens.get(pos);
+    }
+
+    private Token next() {
+        Token token = tokens.get(pos);
+        if (token.kind() != Kind.END) {
+            pos++;
+        }
+        return token;
+    }
+
+    private Token expect(Kind kind, String what) {
+        Token token = next();
+        if (token.kind() != kind) {
+            throw error(token, "Expected " + what);
+        }
+        return token;
+    }
+
+    private IllegalArgumentException error(Token at, String message) {
+        return new IllegalArgumentException(message + " at position " + at.position() + " in: " + source);
+    }
+
+    private static List<Token> tokenize(String s) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < s.length()) {
+            char c = s.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (Character.isLetter(c) || c == '_') {
+                int start = i;
+                while (i < s.length() && (Character.isLetterOrDigit(s.charAt(i)) || s.charAt(i) == '_')) {
+                    i++;
+                }
+                tokens.add(new Token(Kind.IDENT, s.substring(start, i), start));
+            } else if (Character.isDigit(c) || (c == '-' && i + 1 < s.length() && Character.isDigit(s.charAt(i + 1)))) {
+                int start = i++;
+                while (i < s.length() && (Character.isDigit(s.charAt(i)) || s.charAt(i) == '.')) {
+                    i++;
+                }
+                tokens.add(new Token(Kind.NUMBER, s.substring(start, i), start));
+            } else if (c == '\'' || c == '"') {
+                int start = i++;
+                StringBuilder value = new StringBuilder();
+                while (i < s.length() && s.charAt(i) != c) {
+                    value.append(s.charAt(i++));
+                }
+                if (i >= s.length()) {
+                    throw new IllegalArgumentException("Unterminated string at position " + start + " in: " + s);
+                }
+                i++;
+                tokens.add(new Token(Kind.STRING, value.toString(), start));
+            } else if (c == '(') {
+                tokens.add(new Token(Kind.LPAREN, "(", i++));
+            } else if (c == ')') {
+                tokens.add(new Token(Kind.RPAREN, ")", i++));
+            } else if (c == ',') {
+                tokens.add(new Token(Kind.COMMA, ",", i++));
+            } else {
+                String two = i + 1 < s.length() ? s.substring(i, i + 2) : "";
+                if (List.of("==", "!=", "<=", ">=", "&&", "||").contains(two)) {
+                    tokens.add(new Token(Kind.OP, two, i));
+                    i += 2;
+                } else if (c == '<' || c == '>' || c == '!') {
+                    tokens.add(new Token(Kind.OP, String.valueOf(c), i++));
+                } else {
+                    throw new IllegalArgumentException("Unexpected '" + c + "' at position " + i + " in: " + s);
+                }
+            }
+        }
+        tokens.add(new Token(Kind.END, "", s.length()));
+        return tokens;
+    }
+}
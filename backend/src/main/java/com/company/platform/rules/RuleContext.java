@@ -0,0 +1,49 @@
+package com.company.platform.rules;
+
+import com.company.platform.security.AuthenticatedUser;
+import com.company.platform.workflow.Workflow;
+
+/**
+ * Facts a rule can test. Built once per evaluation; compiled rules read the
+ * fields directly through {@link RuleAttribute} accessors.
+ */
+public record RuleContext(
+        Trigger trigger,
+        String status,
+        String previousStatus,
+        String priority,
+        String category,
+        String department,
+        String role,
+        String title,
+        String description) {
+
+    public enum Trigger {
+        CREATE, TRANSITION
+    }
+
+    public static RuleContext forCreate(Workflow workflow, AuthenticatedUser actor) {
+        return new RuleContext(Trigger.CREATE,
+                workflow.getStatus().name(),
+                null,
+                workflow.getPriority().name(),
+                workflow.getCategory(),
+                actor.department(),
+                actor.role().name(),
+                workflow.getTitle(),
+                workflow.getDescription());
+    }
+
+    public static RuleContext forTransition(Workflow workflow, String previousStatus, String creatorDepartment,
+            AuthenticatedUser actor) {
+        return new RuleContext(Trigger.TRANSITION,
+                workflow.getStatus().name(),
+                previousStatus,
+                workflow.getPriority().name(),
+                workflow.getCategory(),
+                creatorDepartment,
+                actor.role().name(),
+                workflow.getTitle(),
+                workflow.getDescription());
+    }
+}
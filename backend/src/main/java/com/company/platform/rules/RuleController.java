@@ -0,0 +1,41 @@
+package com.company.platform.rules;
+
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/rules")
+public class RuleController {
+
+    private final RuleService service;
+
+    public RuleController(RuleService service) {
+        this.service = service;
+    }
+
+    @GetMapping
+    public List<BusinessRule> getAll() {
+        return service.findAll();
+    }
+
+    @PostMapping
+    public BusinessRule create(@RequestBody RuleRequest request) {
+        return service.create(request);
+    }
+
+    @PutMapping("/{id}")
+    public BusinessRule update(@PathVariable Long id, @RequestBody RuleRequest request) {
+        return service.update(id, request);
+    }
+
+    @DeleteMapping("/{id}")
+    public void delete(@PathVariable Long id) {
+        service.delete(id);
+    }
+
+    @PostMapping("/reload")
+    public void reload() {
+        service.reload();
+    }
+}
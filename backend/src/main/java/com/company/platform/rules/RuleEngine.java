@@ -2,14 +2,84 @@ package com.company.platform.rules;
 
 
 
+import com.company.platform.common.BusinessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Evaluates the active {@link BusinessRule}s against workflows.
+ *
+ * Rules are compiled once per reload into an immutable snapshot that is published
+ * with a single volatile write, so evaluation never blocks and always sees a
+ * complete rule set. The snapshot is a {@link RuleIndex}, so only rules whose
+ * status / priority / category / department constraints fit the workflow are
+ * tested. A rule that fails to compile is skipped and reported rather
+ * than taking the whole set down.
+ */
 @Component
 public class RuleEngine {
 
-    public void checkAmount(double amount) {
-        if (amount > 100000) {
-            throw new RuntimeException("Rule violation: amount exceeded");
+    private final RuleRepository ruleRepository;
+    private final boolean strict;
+
+    private volatile RuleIndex index = RuleIndex.of(List.of());
+
+    public RuleEngine(RuleRepository ruleRepository,
+            @Value("${app.rules.enable-strict-validation:true}") boolean strict) {
+        this.ruleRepository = ruleRepository;
+        this.strict = strict;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.rules.reload-interval-ms:60000}", initialDelayString = "${app.rules.reload-interval-ms:60000}")
+    public void reload() {
+        List<CompiledRule> compiled = new ArrayList<>();
+        for (BusinessRule rule : ruleRepository.findByActiveTrueOrderByIdAsc()) {
+            try {
+                compiled.add(CompiledRule.of(rule));
+            } catch (IllegalArgumentException e) {
+                System.out.println("⚠️ Warning: Skipping rule " + rule.getRuleKey() + ": " + e.getMessage());
+            }
+        }
+        publish(compiled);
+    }
+
+    /** Atomically replaces the active rule set. */
+    public void publish(List<CompiledRule> compiled) {
+        index = RuleIndex.of(List.copyOf(compiled));
+    }
+
+    /** Rules matching the context, in rule id order. */
+    public List<CompiledRule> evaluate(RuleContext context) {
+        return index.match(context);
+    }
+
+    /**
+     * Rejects the change if any rule matches. With strict validation disabled,
+     * violations are only reported.
+     */
+    public void enforce(RuleContext context) {
+        List<CompiledRule> violations = evaluate(context);
+        if (violations.isEmpty()) {
+            return;
         }
+
+        String message = "Rule violation: " + String.join("; ", violations.stream()
+                .map(r -> r.message() != null ? r.message() : r.key())
+                .toList());
+        if (strict) {
+            throw new BusinessException(message);
+        }
+        System.out.println("⚠️ Warning: " + message);
+    }
+
+    public int size() {
+        return index.size();
     }
 }
@@ -0,0 +1,184 @@
+package com.company.platform.rules;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Selects candidate rules for a context without testing every rule.
+ *
+ * Each rule's top-level conjunction is split into equality / membership tests on
+ * discrete attributes (status, priority, category, ...) and a residual condition.
+ * For every indexed attribute and value we keep a bitset of the rules that accept
+ * that value, already OR-ed with the rules that do not constrain the attribute at
+ * all. Selecting candidates is then one map lookup and one bitset AND per
+ * attribute, and only the residual conditions of the surviving rules are tested.
+ *
+ * Instances are immutable and built once per rule reload.
+ */
+public final class RuleIndex {
+
+    private static final Set<RuleAttribute> INDEXABLE = EnumSet.of(
+            RuleAttribute.TRIGGER,
+            RuleAttribute.STATUS,
+            RuleAttribute.PREVIOUS_STATUS,
+            RuleAttribute.PRIORITY,
+            RuleAttribute.CATEGORY,
+            RuleAttribute.DEPARTMENT,
+            RuleAttribute.ROLE);
+
+    private static final RuleIndex EMPTY = new RuleIndex(List.of());
+
+    private final CompiledRule[] rules;
+    private final Condition[] residuals;
+    private final Column[] columns;
+    private final long[] all;
+
+    private RuleIndex(List<CompiledRule> compiled) {
+        int n = compiled.size();
+        this.rules = compiled.toArray(new CompiledRule[0]);
+        this.residuals = new Condition[n];
+        this.all = new long[words(n)];
+
+        Map<RuleAttribute, Map<String, long[]>> accepted = new EnumMap<>(RuleAttribute.class);
+        Map<RuleAttribute, long[]> unconstrained = new EnumMap<>(RuleAttribute.class);
+
+        for (int i = 0; i < n; i++) {
+            Map<RuleAttribute, Set<String>> constraints = new EnumMap<>(RuleAttribute.class);
+            Condition residual = split(rules[i].condition(), constraints);
+            if (residual instanceof Condition.Constant c && !c.value()) {
+                continue; // can never match, leave it out of every bitset
+            }
+            residuals[i] = residual;
+            set(all, i);
+            for (Map.Entry<RuleAttribute, Set<String>> e : constraints.entrySet()) {
+                Map<String, long[]> byValue = accepted.computeIfAbsent(e.getKey(), k -> new HashMap<>());
+                for (String value : e.getValue()) {
+                    set(byValue.computeIfAbsent(value, k -> new long[all.length]), i);
+                }
+            }
+            for (RuleAttribute attribute : INDEXABLE) {
+                if (!constraints.containsKey(attribute)) {
+                    set(unconstrained.computeIfAbsent(attribute, k -> new long[all.length]), i);
+                }
+            }
+        }
+
+        List<Column> built = new ArrayList<>();
+        for (Map.Entry<RuleAttribute, Map<String, long[]>> e : accepted.entrySet()) {
+            long[] open = unconstrained.getOrDefault(e.getKey(), new long[all.length]);
+            Map<String, long[]> byValue = new HashMap<>();
+            for (Map.Entry<String, long[]> v : e.getValue().entrySet()) {
+                long[] bits = v.getValue();
+                for (int w = 0; w < bits.length; w++) {
+                    bits[w] |= open[w];
+                }
+                byValue.put(v.getKey(), bits);
+            }
+            built.add(new Column(e.getKey(), byValue, open, byValue.size()));
+        }
+        // Most selective attributes first, so the candidate set empties out early
+        built.sort((a, b) -> Integer.compare(b.distinctValues(), a.distinctValues()));
+        this.columns = built.toArray(new Column[0]);
+    }
+
+    public static RuleIndex of(List<CompiledRule> rules) {
+        return rules.isEmpty() ? EMPTY : new RuleIndex(rules);
+    }
+
+    /** Rules matching the context, in the order they were given. */
+    public List<CompiledRule> match(RuleContext context) {
+        if (rules.length == 0) {
+            return List.of();
+        }
+
+        long[] candidates = all.clone();
+        for (Column column : columns) {
+            String value = column.attribute().text(context);
+            long[] bits = value == null
+                    ? column.unconstrained()
+                    : column.byValue().getOrDefault(value, column.unconstrained());
+            long any = 0;
+            for (int w = 0; w < candidates.length; w++) {
+                any |= (candidates[w] &= bits[w]);
+            }
+            if (any == 0) {
+                return List.of();
+            }
+        }
+
+        List<CompiledRule> matched = null;
+        for (int w = 0; w < candidates.length; w++) {
+            long word = candidates[w];
+            while (word != 0) {
+                int i = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                if (residuals[i].test(context)) {
+                    if (matched == null) {
+                        matched = new ArrayList<>(2);
+                    }
+                    matched.add(rules[i]);
+                }
+            }
+        }
+        return matched == null ? List.of() : matched;
+    }
+
+    public int size() {
+        return rules.length;
+    }
+
+    /**
+     * Moves indexable equality / membership tests from the top-level conjunction
+     * into {@code constraints} and returns what is left to test.
+     */
+    static Condition split(Condition condition, Map<RuleAttribute, Set<String>> constraints) {
+        Condition[] conjuncts = condition instanceof Condition.And and ? and.operands() : new Condition[] { condition };
+        List<Condition> rest = new ArrayList<>();
+        for (Condition conjunct : conjuncts) {
+            if (conjunct instanceof Condition.TextEquals eq && INDEXABLE.contains(eq.attribute())) {
+                restrict(constraints, eq.attribute(), Set.of(eq.value()));
+            } else if (conjunct instanceof Condition.TextIn in && INDEXABLE.contains(in.attribute())) {
+                restrict(constraints, in.attribute(), in.values());
+            } else {
+                rest.add(conjunct);
+            }
+        }
+        for (Set<String> values : constraints.values()) {
+            if (values.isEmpty()) {
+                return new Condition.Constant(false);
+            }
+        }
+        if (rest.isEmpty()) {
+            return new Condition.Constant(true);
+        }
+        return rest.size() == 1 ? rest.get(0) : new Condition.And(rest.toArray(new Condition[0]));
+    }
+
+    private static void restrict(Map<RuleAttribute, Set<String>> constraints, RuleAttribute attribute,
+            Set<String> values) {
+        Set<String> current = constraints.get(attribute);
+        if (current == null) {
+            constraints.put(attribute, new HashSet<>(values));
+        } else {
+            current.retainAll(values);
+        }
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private record Column(RuleAttribute attribute, Map<String, long[]> byValue, long[] unconstrained,
+            int distinctValues) {
+    }
+}
@@ -5,5 +5,11 @@ package com.company.platform.rules;
 import com.company.platform.rules.BusinessRule;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface RuleRepository extends JpaRepository<BusinessRule, Long> {
+
+    List<BusinessRule> findByActiveTrueOrderByIdAsc();
+
+    boolean existsByRuleKey(String ruleKey);
 }
@@ -0,0 +1,8 @@
+package com.company.platform.rules;
+
+public record RuleRequest(
+        String ruleKey,
+        String ruleValue,
+        String message,
+        Boolean active) {
+}
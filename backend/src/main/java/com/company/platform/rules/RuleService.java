@@ -0,0 +1,83 @@
+package com.company.platform.rules;
+
+import com.company.platform.cache.CacheNames;
+import com.company.platform.cache.InvalidationBus;
+import com.company.platform.common.BusinessException;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class RuleService {
+
+    private final RuleRepository ruleRepository;
+    private final RuleEngine ruleEngine;
+    private final InvalidationBus invalidationBus;
+
+    public RuleService(RuleRepository ruleRepository, RuleEngine ruleEngine, InvalidationBus invalidationBus,
+            EntityManagerFactory entityManagerFactory) {
+        this.ruleRepository = ruleRepository;
+        this.ruleEngine = ruleEngine;
+        this.invalidationBus = invalidationBus;
+        invalidationBus.subscribe(CacheNames.BUSINESS_RULES, key -> {
+            entityManagerFactory.getCache().evict(BusinessRule.class);
+            ruleEngine.reload();
+        });
+    }
+
+    public List<BusinessRule> findAll() {
+        return ruleRepository.findAll();
+    }
+
+    public BusinessRule create(RuleRequest request) {
+        if (request.ruleKey() == null || request.ruleKey().isBlank()) {
+            throw new BusinessException("Rule key is required");
+        }
+        if (ruleRepository.existsByRuleKey(request.ruleKey())) {
+            throw new BusinessException("Rule already exists: " + request.ruleKey());
+        }
+        BusinessRule rule = new BusinessRule();
+        rule.setRuleKey(request.ruleKey());
+        apply(rule, request);
+        return saveAndReload(rule);
+    }
+
+    public BusinessRule update(Long id, RuleRequest request) {
+        BusinessRule rule = ruleRepository.findById(id)
+                .orElseThrow(() -> new BusinessException("Rule not found"));
+        apply(rule, request);
+        return saveAndReload(rule);
+    }
+
+    public void delete(Long id) {
+        ruleRepository.deleteById(id);
+        ruleEngine.reload();
+        invalidationBus.publish(CacheNames.BUSINESS_RULES, null);
+    }
+
+    public void reload() {
+        ruleEngine.reload();
+    }
+
+    private void apply(BusinessRule rule, RuleRequest request) {
+        // Compile up front so a broken expression never reaches the table
+        try {
+            RuleCompiler.compile(request.ruleValue());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Invalid rule expression: " + e.getMessage());
+        }
+        rule.setRuleValue(request.ruleValue());
+        rule.setMessage(request.message());
+        if (request.active() != null) {
+            rule.setActive(request.active());
+        }
+    }
+
+    private BusinessRule saveAndReload(BusinessRule rule) {
+        BusinessRule saved = ruleRepository.save(rule);
+        ruleEngine.reload();
+        invalidationBus.publish(CacheNames.BUSINESS_RULES, null);
+        return saved;
+    }
+}
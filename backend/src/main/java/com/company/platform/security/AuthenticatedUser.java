@@ -0,0 +1,24 @@
+package com.company.platform.security;
+
+import com.company.platform.users.Role;
+
+/**
+ * Resolved principal placed in the SecurityContext by {@link JwtAuthenticationFilter}.
+ * Carries everything the services need to make visibility and permission decisions
+ * without going back to the users table.
+ */
+public record AuthenticatedUser(
+        Long userId,
+        String username,
+        Role role,
+        String department) {
+
+    public boolean canSeeAllWorkflows() {
+        return role == Role.ADMIN || role == Role.MANAGER || role == Role.REVIEWER;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
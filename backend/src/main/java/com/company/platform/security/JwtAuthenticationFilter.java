@@ -13,15 +13,19 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
-import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationService revocationService;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, PrincipalCache principalCache,
+            TokenRevocationService revocationService) {
         this.jwtUtil = jwtUtil;
+        this.principalCache = principalCache;
+        this.revocationService = revocationService;
     }
 
     @Override
@@ -35,16 +39,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             try {
                 Claims claims = jwtUtil.validate(token);
-                String username = claims.getSubject();
-                String role = claims.get("role", String.class);
 
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    
-                    SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role);
-                    
+                AuthenticatedUser principal = SecurityContextHolder.getContext().getAuthentication() == null
+                        && !revocationService.isRevoked(claims)
+                        ? principalCache.resolve(claims)
+                        : null;
+
+                // A null principal means the token was revoked or the user removed since it was issued
+                if (principal != null) {
+                    SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + principal.role().name());
+
                     UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                            username, 
-                            null, 
+                            principal,
+                            null,
                             Collections.singletonList(authority)
                     );
 
@@ -5,16 +5,22 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_DEPARTMENT = "dept";
+
     private final SecretKey secretKey;
     private final long expirationMs;
 
@@ -27,18 +33,37 @@ public class JwtUtil {
     }
 
     public String generate(String username, String role) {
+        return generate(username, role, null, null);
+    }
+
+    /**
+     * Issues a token that also carries the user id and department so the
+     * authentication filter can build the principal without a user lookup.
+     * Every token gets a unique {@code jti} so it can be revoked individually.
+     */
+    public String generate(String username, String role, Long userId, String department) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + expirationMs);
 
-        return Jwts.builder()
+        var builder = Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(username)
-                .claim("role", role)
+                .claim(CLAIM_ROLE, role);
+        if (userId != null) {
+            builder.claim(CLAIM_USER_ID, userId);
+        }
+        if (department != null) {
+            builder.claim(CLAIM_DEPARTMENT, department);
+        }
+
+        return builder
                 .setIssuedAt(now)
                 .setExpiration(expiry)
                 .signWith(secretKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    @Timed(value = "jwt.validate", histogram = true)
     public Claims validate(String token) {
         try {
             return Jwts.parserBuilder()
@@ -0,0 +1,122 @@
+package com.company.platform.security;
+
+import com.company.platform.users.Role;
+import com.company.platform.users.User;
+import com.company.platform.users.UserRepository;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Small in-process cache of resolved principals keyed by username.
+ *
+ * Tokens issued by {@link JwtUtil} carry the user id, role and department, so the
+ * common case is built straight from the claims. When a user is changed through
+ * UserService the entry is dropped and the change time is remembered: tokens issued
+ * before that moment are re-resolved from the database once, so a demoted or
+ * deactivated user does not keep the privileges baked into an old token.
+ */
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final int maxEntries;
+    private final long tokenLifetimeMs;
+
+    private final Map<String, AuthenticatedUser> principals = new ConcurrentHashMap<>();
+    private final Map<String, Long> changedAt = new ConcurrentHashMap<>();
+
+    public PrincipalCache(UserRepository userRepository,
+            @Value("${app.security.principal-cache.max-entries:10000}") int maxEntries,
+            @Value("${jwt.expiration-ms}") long tokenLifetimeMs) {
+        this.userRepository = userRepository;
+        this.maxEntries = maxEntries;
+        this.tokenLifetimeMs = tokenLifetimeMs;
+    }
+
+    /**
+     * Resolves the principal for a validated token, or returns null when the user
+     * no longer exists or is not allowed to sign in.
+     */
+    public AuthenticatedUser resolve(Claims claims) {
+        String username = claims.getSubject();
+        if (username == null) {
+            return null;
+        }
+
+        AuthenticatedUser cached = principals.get(username);
+        if (cached != null) {
+            return cached;
+        }
+
+        AuthenticatedUser principal = fromClaims(claims);
+        if (principal == null || issuedBeforeChange(username, claims.getIssuedAt())) {
+            principal = load(username);
+        }
+        if (principal != null) {
+            put(principal);
+        }
+        return principal;
+    }
+
+    public void invalidate(User user) {
+        if (user == null || user.getUsername() == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        // Once every token issued before a change has expired the marker is no longer needed.
+        changedAt.values().removeIf(t -> t < now - tokenLifetimeMs);
+        changedAt.put(user.getUsername(), now);
+        principals.remove(user.getUsername());
+    }
+
+    /** Drops the principal of a user that no longer exists. */
+    public void evict(Long userId) {
+        principals.values().removeIf(p -> p.userId().equals(userId));
+    }
+
+    public void clear() {
+        principals.clear();
+    }
+
+    public int size() {
+        return principals.size();
+    }
+
+    private AuthenticatedUser fromClaims(Claims claims) {
+        Number userId = claims.get(JwtUtil.CLAIM_USER_ID, Number.class);
+        String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+        if (userId == null || role == null) {
+            return null; // token issued before the claims were added
+        }
+        return new AuthenticatedUser(
+                userId.longValue(),
+                claims.getSubject(),
+                Role.valueOf(role),
+                claims.get(JwtUtil.CLAIM_DEPARTMENT, String.class));
+    }
+
+    private boolean issuedBeforeChange(String username, Date issuedAt) {
+        Long changed = changedAt.get(username);
+        return changed != null && (issuedAt == null || issuedAt.getTime() < changed);
+    }
+
+    private AuthenticatedUser load(String username) {
+        return userRepository.findCachedByUsername(username)
+                .filter(u -> u.isActive() && !u.isDeleted())
+                .map(u -> new AuthenticatedUser(u.getId(), u.getUsername(), u.getRole(), u.getDepartment()))
+                .orElse(null);
+    }
+
+    private void put(AuthenticatedUser principal) {
+        if (principals.size() >= maxEntries) {
+            // Entries are cheap to rebuild from claims, so a full reset keeps the bound simple.
+            principals.clear();
+        }
+        principals.put(principal.username(), principal);
+    }
+}
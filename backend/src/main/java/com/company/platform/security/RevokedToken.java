@@ -0,0 +1,48 @@
+package com.company.platform.security;
+
+import com.company.platform.common.IdBlocks;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Persisted revocation entry. A row with a {@code tokenId} revokes a single token
+ * (logout); a row without one revokes every token of {@code username} issued
+ * before {@code revokedAt} (deactivation, deletion). Rows are kept until every
+ * token they could match has expired.
+ */
+@Entity
+@Table(name = "revoked_tokens")
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "revoked_tokens_ids")
+    @TableGenerator(name = "revoked_tokens_ids", table = IdBlocks.TABLE, pkColumnName = IdBlocks.NAME_COLUMN,
+            valueColumnName = IdBlocks.VALUE_COLUMN, pkColumnValue = "revoked_tokens", allocationSize = IdBlocks.BLOCK_SIZE)
+    private Long id;
+
+    @Column(name = "token_id", length = 64)
+    private String tokenId;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public Long getId() { return id; }
+
+    public String getTokenId() { return tokenId; }
+    public void setTokenId(String tokenId) { this.tokenId = tokenId; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public LocalDateTime getRevokedAt() { return revokedAt; }
+    public void setRevokedAt(LocalDateTime revokedAt) { this.revokedAt = revokedAt; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
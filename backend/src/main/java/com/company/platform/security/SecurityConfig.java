@@ -1,5 +1,11 @@
 package com.company.platform.security;
 
+import com.company.platform.ratelimit.RateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -8,6 +14,7 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -18,14 +25,19 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final List<IpAddressMatcher> metricsScrapers;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, RateLimitFilter rateLimitFilter,
+            @Value("${app.metrics.scrape-allowed-cidrs}") List<String> scrapeAllowedCidrs) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.metricsScrapers = scrapeAllowedCidrs.stream().map(IpAddressMatcher::new).toList();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meters) {
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meters);
     }
 
     @Bean
@@ -35,15 +47,39 @@ public class SecurityConfig {
                 .cors(Customizer.withDefaults()) // ✅ Enable CORS
                 .csrf(AbstractHttpConfigurer::disable) // ✅ VERY IMPORTANT
                 .authorizeHttpRequests(auth -> auth
+                        // The request was authorized when it started; the dispatch that ends an SSE stream carries no token
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/users/bulk").hasRole("ADMIN")
                         .requestMatchers("/api/users/**").permitAll()
                         .requestMatchers("/api/auth/**").permitAll() // ✅ allow auth endpoints
+                        .requestMatchers("/actuator/health/**", "/actuator/info").permitAll()
+                        // Prometheus scrapes without a token, but only from the internal network
+                        .requestMatchers(this::isMetricsScrape).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        .requestMatchers("/api/rules/**").hasRole("ADMIN")
+                        .requestMatchers("/api/review-queue/**").hasAnyRole("ADMIN", "MANAGER", "REVIEWER")
                         .anyRequest().authenticated())
                 .addFilterBefore(jwtAuthenticationFilter,
-                        org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.class);
+                        org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.class)
+                // After JWT so per-user limits can key on the principal
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    private boolean isMetricsScrape(HttpServletRequest request) {
+        return "/actuator/prometheus".equals(request.getRequestURI())
+                && metricsScrapers.stream().anyMatch(m -> m.matches(request));
+    }
+
+    // Only runs inside the security chain; keep Boot from also registering it as a servlet filter
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
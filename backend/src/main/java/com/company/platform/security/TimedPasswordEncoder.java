@@ -0,0 +1,44 @@
+package com.company.platform.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Records hashing time as {@code security.password{op=encode|matches}}. BCrypt is
+ * deliberately slow and dominates login latency, so it is tracked on its own.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Timer encode;
+    private final Timer matches;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meters) {
+        this.delegate = delegate;
+        this.encode = timer(meters, "encode");
+        this.matches = timer(meters, "matches");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encode.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return matches.record(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private static Timer timer(MeterRegistry meters, String op) {
+        return Timer.builder("security.password")
+                .tag("op", op)
+                .publishPercentileHistogram()
+                .register(meters);
+    }
+}
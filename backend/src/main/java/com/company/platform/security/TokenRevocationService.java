@@ -0,0 +1,162 @@
+package com.company.platform.security;
+
+import com.company.platform.cache.CacheNames;
+import com.company.platform.cache.InvalidationBus;
+import com.company.platform.users.User;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Revocation list for otherwise stateless JWTs.
+ *
+ * Revocations are persisted in {@code revoked_tokens} and mirrored in memory as a
+ * Bloom filter backed by exact sets. A token that was never revoked, which is almost
+ * every request, is rejected by the filter after a few bit probes; only a filter hit
+ * consults the exact set. The snapshot is rebuilt from the table periodically, and
+ * immediately when the invalidation bus reports a revocation made elsewhere, so
+ * revocations made on other nodes are picked up and expired rows drop out.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_CAPACITY = 1024;
+
+    private record Snapshot(BloomFilter bloom, Set<String> tokenIds, Map<String, Long> userCutoffs) {
+
+        static Snapshot empty(int capacity) {
+            return new Snapshot(new BloomFilter(capacity, FALSE_POSITIVE_RATE),
+                    ConcurrentHashMap.newKeySet(), new ConcurrentHashMap<>());
+        }
+
+        void add(RevokedToken entry) {
+            if (entry.getTokenId() != null) {
+                tokenIds.add(entry.getTokenId());
+                bloom.add(tokenKey(entry.getTokenId()));
+            } else {
+                userCutoffs.merge(entry.getUsername(), toEpochMilli(entry.getRevokedAt()), Math::max);
+                bloom.add(userKey(entry.getUsername()));
+            }
+        }
+    }
+
+    private record LocalRevocation(long recordedAt, RevokedToken entry) {
+    }
+
+    private final RevokedTokenRepository repository;
+    private final InvalidationBus invalidationBus;
+    private final TransactionTemplate transactionTemplate;
+    private final long tokenLifetimeMs;
+
+    private volatile Snapshot current = Snapshot.empty(MIN_CAPACITY);
+    // Revocations made here since the last rebuild started; replayed so a rebuild never loses them
+    private final Queue<LocalRevocation> recent = new ConcurrentLinkedQueue<>();
+
+    public TokenRevocationService(RevokedTokenRepository repository, InvalidationBus invalidationBus,
+            PlatformTransactionManager transactionManager, @Value("${jwt.expiration-ms}") long tokenLifetimeMs) {
+        this.repository = repository;
+        this.invalidationBus = invalidationBus;
+        // Programmatic, because the bus calls rebuild() on this instance rather than through the proxy
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tokenLifetimeMs = tokenLifetimeMs;
+        // Pick up revocations from other nodes now instead of at the next scheduled rebuild
+        invalidationBus.subscribe(CacheNames.REVOKED_TOKENS, key -> rebuild());
+    }
+
+    public boolean isRevoked(Claims claims) {
+        Snapshot snapshot = current;
+
+        String tokenId = claims.getId();
+        if (tokenId != null && snapshot.bloom().mightContain(tokenKey(tokenId))
+                && snapshot.tokenIds().contains(tokenId)) {
+            return true;
+        }
+
+        String username = claims.getSubject();
+        if (username != null && snapshot.bloom().mightContain(userKey(username))) {
+            Long cutoff = snapshot.userCutoffs().get(username);
+            Date issuedAt = claims.getIssuedAt();
+            return cutoff != null && (issuedAt == null || issuedAt.getTime() < cutoff);
+        }
+        return false;
+    }
+
+    /** Revokes a single token, e.g. on logout. */
+    public void revokeToken(Claims claims) {
+        RevokedToken entry = new RevokedToken();
+        entry.setTokenId(claims.getId());
+        entry.setUsername(claims.getSubject());
+        entry.setRevokedAt(LocalDateTime.now(ZoneOffset.UTC));
+        entry.setExpiresAt(LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneOffset.UTC));
+        record(entry);
+    }
+
+    /** Revokes every token issued to the user so far, e.g. on deactivation or deletion. */
+    public void revokeUser(User user) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        RevokedToken entry = new RevokedToken();
+        entry.setUsername(user.getUsername());
+        entry.setRevokedAt(now);
+        entry.setExpiresAt(now.plusNanos(tokenLifetimeMs * 1_000_000));
+        record(entry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.revocation.rebuild-interval-ms:30000}")
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        try {
+            List<RevokedToken> active = transactionTemplate.execute(status -> {
+                repository.deleteExpired(now);
+                return repository.findByExpiresAtAfter(now);
+            });
+
+            Snapshot next = Snapshot.empty(Math.max(MIN_CAPACITY, active.size() * 2));
+            active.forEach(next::add);
+            current = next;
+
+            // Anything recorded after the swap went straight into the new snapshot;
+            // replay the rest and forget entries the query above already covered.
+            recent.forEach(r -> next.add(r.entry()));
+            recent.removeIf(r -> r.recordedAt() < startedAt);
+        } catch (DataAccessException | TransactionException e) {
+            System.out.println("⚠️ Warning: Could not rebuild token revocation list, keeping previous one. "
+                    + e.getMessage());
+        }
+    }
+
+    private void record(RevokedToken entry) {
+        repository.save(entry);
+        recent.add(new LocalRevocation(System.currentTimeMillis(), entry));
+        current.add(entry);
+        invalidationBus.publish(CacheNames.REVOKED_TOKENS, null);
+    }
+
+    private static String tokenKey(String tokenId) {
+        return "t:" + tokenId;
+    }
+
+    private static String userKey(String username) {
+        return "u:" + username;
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
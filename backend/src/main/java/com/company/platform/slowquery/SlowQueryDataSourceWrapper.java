@@ -0,0 +1,27 @@
+package com.company.platform.slowquery;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/** Puts {@link TimedDataSource} in front of every {@link DataSource} bean. */
+@Component
+public class SlowQueryDataSourceWrapper implements BeanPostProcessor {
+
+    private final ObjectProvider<SlowQueryLog> log;
+
+    // Looked up lazily: a post-processor's own dependencies would otherwise be created too early
+    public SlowQueryDataSourceWrapper(ObjectProvider<SlowQueryLog> log) {
+        this.log = log;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof TimedDataSource)) {
+            return new TimedDataSource(dataSource, log.getObject());
+        }
+        return bean;
+    }
+}
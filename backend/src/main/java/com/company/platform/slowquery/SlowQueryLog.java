@@ -0,0 +1,183 @@
+package com.company.platform.slowquery;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replaces show-sql / binder logging with something affordable on the request path.
+ *
+ * Every statement is folded into per-fingerprint counters (a few adds, no
+ * allocation once the fingerprint is known). Only statements over the threshold,
+ * plus a random sample of the rest, are logged, and the log line is written by a
+ * background thread from a bounded queue; when the queue is full the entry is
+ * dropped and counted rather than blocking the caller. Bind values are never logged.
+ */
+@Component
+public class SlowQueryLog {
+
+    static final String OTHER = "(other statements)";
+
+    private static final String OWN_PACKAGE = SlowQueryLog.class.getPackageName();
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final int maxFingerprints;
+    private final int top;
+
+    private final Map<String, String> fingerprints = new ConcurrentHashMap<>();
+    private final Map<String, Aggregate> aggregates = new ConcurrentHashMap<>();
+    private final BlockingQueue<Entry> queue;
+    private final Thread writer;
+    private final Counter slowCounter;
+    private final Counter droppedCounter;
+
+    public SlowQueryLog(MeterRegistry meters,
+            @Value("${app.sql.slow-threshold:200ms}") Duration threshold,
+            @Value("${app.sql.sample-rate:0.001}") double sampleRate,
+            @Value("${app.sql.max-fingerprints:2000}") int maxFingerprints,
+            @Value("${app.sql.top:25}") int top,
+            @Value("${app.sql.log-queue-size:1000}") int queueSize) {
+        this.thresholdNanos = threshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.maxFingerprints = maxFingerprints;
+        this.top = top;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.slowCounter = Counter.builder("db.statements.slow")
+                .description("JDBC statements slower than app.sql.slow-threshold")
+                .register(meters);
+        this.droppedCounter = Counter.builder("db.statements.log.dropped")
+                .description("Slow/sampled statement log lines dropped because the log queue was full")
+                .register(meters);
+        this.writer = Thread.ofPlatform().name("slow-query-log").daemon().start(this::drain);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writer.interrupt();
+    }
+
+    public void record(String sql, long nanos, boolean failed) {
+        String fingerprint = fingerprint(sql);
+        Aggregate aggregate = aggregates.get(fingerprint);
+        if (aggregate == null) {
+            aggregate = aggregates.size() < maxFingerprints
+                    ? aggregates.computeIfAbsent(fingerprint, k -> new Aggregate())
+                    : aggregates.computeIfAbsent(OTHER, k -> new Aggregate());
+        }
+        aggregate.calls.increment();
+        aggregate.totalNanos.add(nanos);
+        aggregate.maxNanos.accumulate(nanos);
+        if (failed) {
+            aggregate.errors.increment();
+        }
+
+        boolean slow = nanos >= thresholdNanos;
+        if (!slow && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        String callSite = callSite();
+        if (slow) {
+            aggregate.slow.increment();
+            aggregate.lastSlowCallSite = callSite;
+            slowCounter.increment();
+        }
+        if (!queue.offer(new Entry(fingerprint, nanos, callSite, slow, failed))) {
+            droppedCounter.increment();
+        }
+    }
+
+    /** Top fingerprints by total time spent. */
+    public List<StatementStats> top() {
+        return aggregates.entrySet().stream()
+                .map(e -> e.getValue().snapshot(e.getKey()))
+                .sorted(Comparator.comparingDouble(StatementStats::totalMs).reversed())
+                .limit(top)
+                .toList();
+    }
+
+    public int fingerprintCount() {
+        return aggregates.size();
+    }
+
+    public Duration threshold() {
+        return Duration.ofNanos(thresholdNanos);
+    }
+
+    public double sampleRate() {
+        return sampleRate;
+    }
+
+    public void reset() {
+        aggregates.clear();
+    }
+
+    private String fingerprint(String sql) {
+        String fingerprint = fingerprints.get(sql);
+        if (fingerprint == null) {
+            fingerprint = SqlFingerprint.of(sql);
+            // Statements with inlined literals would grow this without bound; stop caching instead
+            if (fingerprints.size() < maxFingerprints * 4) {
+                fingerprints.put(sql, fingerprint);
+            }
+        }
+        return fingerprint;
+    }
+
+    // First application frame outside this package: the repository, service or job that ran the SQL
+    private static String callSite() {
+        return WALKER.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith("com.company.platform.")
+                        && !f.getClassName().startsWith(OWN_PACKAGE))
+                .findFirst()
+                .map(f -> f.getClassName() + "." + f.getMethodName() + ":" + f.getLineNumber())
+                .orElse("unknown"));
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                Entry entry = queue.take();
+                System.out.println((entry.slow() ? "🐢 Slow SQL " : "SQL sample ")
+                        + String.format("%.1f ms", entry.nanos() / 1e6)
+                        + (entry.failed() ? " FAILED" : "")
+                        + " at " + entry.callSite() + ": " + entry.fingerprint());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Entry(String fingerprint, long nanos, String callSite, boolean slow, boolean failed) {
+    }
+
+    private static final class Aggregate {
+        final LongAdder calls = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        final LongAdder slow = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        volatile String lastSlowCallSite;
+
+        StatementStats snapshot(String fingerprint) {
+            long n = calls.sum();
+            double total = totalNanos.sum() / 1e6;
+            return new StatementStats(fingerprint, n, total, n == 0 ? 0 : total / n, maxNanos.get() / 1e6,
+                    slow.sum(), errors.sum(), lastSlowCallSite);
+        }
+    }
+}
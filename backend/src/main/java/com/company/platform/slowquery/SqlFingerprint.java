@@ -0,0 +1,81 @@
+package com.company.platform.slowquery;
+
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes SQL so that statements differing only in literals, bind-list length
+ * or whitespace aggregate together: string and numeric literals become {@code ?},
+ * comments are dropped, whitespace is collapsed, keywords are lower-cased and
+ * {@code ?, ?, ?} lists fold to {@code ?...}. Fingerprints never contain values,
+ * so they are safe to log.
+ */
+final class SqlFingerprint {
+
+    static final int MAX_LENGTH = 2000;
+
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+    private static final Pattern ROW_LIST = Pattern.compile("\\(\\?(\\.\\.\\.)?\\)(\\s*,\\s*\\(\\?(\\.\\.\\.)?\\))+");
+
+    private SqlFingerprint() {
+    }
+
+    static String of(String sql) {
+        StringBuilder out = new StringBuilder(Math.min(sql.length(), MAX_LENGTH));
+        int n = sql.length();
+        int i = 0;
+        while (i < n && out.length() < MAX_LENGTH) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i = skipString(sql, i + 1);
+                out.append('?');
+            } else if (c == '/' && i + 1 < n && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? n : end + 2;
+            } else if (c == '-' && i + 1 < n && sql.charAt(i + 1) == '-') {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? n : end + 1;
+            } else if (c == '"' || c == '`') {
+                int end = sql.indexOf(c, i + 1);
+                end = end < 0 ? n : end + 1;
+                out.append(sql, i, end);
+                i = end;
+            } else if (Character.isWhitespace(c)) {
+                while (i < n && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                if (!out.isEmpty() && out.charAt(out.length() - 1) != ' ') {
+                    out.append(' ');
+                }
+            } else if (Character.isDigit(c) && (out.isEmpty() || !isIdentifierPart(out.charAt(out.length() - 1)))) {
+                while (i < n && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else {
+                out.append(Character.toLowerCase(c));
+                i++;
+            }
+        }
+        String folded = PARAMETER_LIST.matcher(out.toString().trim()).replaceAll("?...");
+        return ROW_LIST.matcher(folded).replaceAll("(?...)...");
+    }
+
+    private static int skipString(String sql, int i) {
+        int n = sql.length();
+        while (i < n) {
+            if (sql.charAt(i) == '\'') {
+                if (i + 1 < n && sql.charAt(i + 1) == '\'') {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return n;
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+}
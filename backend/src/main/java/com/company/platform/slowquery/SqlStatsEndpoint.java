@@ -0,0 +1,40 @@
+package com.company.platform.slowquery;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/sqlstats}: the statement fingerprints with the most total time,
+ * with call counts, mean/max latency and where the last slow one came from.
+ * {@code DELETE} resets the counters.
+ */
+@Component
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    private final SlowQueryLog slowQueryLog;
+
+    public SqlStatsEndpoint(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @ReadOperation
+    public Map<String, Object> statements() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("slowThresholdMs", slowQueryLog.threshold().toMillis());
+        result.put("sampleRate", slowQueryLog.sampleRate());
+        result.put("fingerprints", slowQueryLog.fingerprintCount());
+        result.put("top", slowQueryLog.top());
+        return result;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        slowQueryLog.reset();
+    }
+}
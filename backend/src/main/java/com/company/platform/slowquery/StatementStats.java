@@ -0,0 +1,13 @@
+package com.company.platform.slowquery;
+
+/** Aggregated timings for one SQL fingerprint, as served by {@code /actuator/sqlstats}. */
+public record StatementStats(
+        String fingerprint,
+        long calls,
+        double totalMs,
+        double meanMs,
+        double maxMs,
+        long slow,
+        long errors,
+        String lastSlowCallSite) {
+}
@@ -0,0 +1,110 @@
+package com.company.platform.slowquery;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Times every {@code execute*} call on statements obtained through this data
+ * source and reports it to {@link SlowQueryLog}. Only the execute call is timed,
+ * not result-set iteration. Extends {@link DelegatingDataSource} so Boot's pool
+ * metrics and health checks still find the Hikari pool underneath.
+ */
+final class TimedDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private static final ClassLoader LOADER = TimedDataSource.class.getClassLoader();
+
+    private final SlowQueryLog log;
+
+    TimedDataSource(DataSource target, SlowQueryLog log) {
+        super(target);
+        this.log = log;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    // Wrapping replaces the bean instance, so the pool's close() has to be reachable from here
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection connection(Connection target) {
+        return proxy(Connection.class, target, (proxy, method, args) -> {
+            Object result = identity(proxy, method, args);
+            if (result != null) {
+                return result;
+            }
+            result = invoke(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> statement(Statement.class, (Statement) result, null);
+                case "prepareStatement" -> statement(PreparedStatement.class, (Statement) result, (String) args[0]);
+                case "prepareCall" -> statement(CallableStatement.class, (Statement) result, (String) args[0]);
+                default -> result;
+            };
+        });
+    }
+
+    private <T extends Statement> T statement(Class<T> type, Statement target, String preparedSql) {
+        return proxy(type, target, (proxy, method, args) -> {
+            Object result = identity(proxy, method, args);
+            if (result != null) {
+                return result;
+            }
+            if (!method.getName().startsWith("execute")) {
+                return invoke(target, method, args);
+            }
+            String sql = preparedSql != null ? preparedSql
+                    : args != null && args.length > 0 && args[0] instanceof String s ? s : "(statement batch)";
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                result = invoke(target, method, args);
+                failed = false;
+                return result;
+            } finally {
+                log.record(sql, System.nanoTime() - start, failed);
+            }
+        });
+    }
+
+    // Proxies compare by identity; forwarding equals would make a proxy unequal to itself
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> method.getParameterCount() == 1 ? proxy == args[0] : null;
+            case "hashCode" -> method.getParameterCount() == 0 ? System.identityHashCode(proxy) : null;
+            default -> null;
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(LOADER, new Class<?>[] { type }, handler));
+    }
+}
@@ -0,0 +1,23 @@
+package com.company.platform.users;
+
+import java.util.List;
+
+public record BulkProvisionResult(
+        int total,
+        int created,
+        int skipped,
+        int failed,
+        List<Row> rows) {
+
+    public enum Status {
+        CREATED, DUPLICATE, INVALID, FAILED
+    }
+
+    public record Row(
+            int row,
+            String email,
+            Status status,
+            Long id,
+            String message) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.company.platform.users;
+
+public record BulkUserRequest(
+        String username,
+        String email,
+        String password,
+        String firstName,
+        String lastName,
+        Role role,
+        String department) {
+}
@@ -1,17 +1,31 @@
 package com.company.platform.users;
 
+import com.company.platform.common.IdBlocks;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-natural-id")
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "users_ids")
+    @TableGenerator(name = "users_ids", table = IdBlocks.TABLE, pkColumnName = IdBlocks.NAME_COLUMN,
+            valueColumnName = IdBlocks.VALUE_COLUMN, pkColumnValue = "users", allocationSize = IdBlocks.BLOCK_SIZE)
     private Long id;
 
+    @NaturalId(mutable = true)
     private String username;
 
+    // Accepted on create/update, never serialized back out
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
 
     @Enumerated(EnumType.STRING)
@@ -26,6 +40,14 @@ public class User {
     private String email;
     private String department;
 
+    // Lower-case copies maintained by the database (V8), for the indexed directory search
+    @Column(insertable = false, updatable = false)
+    private String emailSearch;
+    @Column(insertable = false, updatable = false)
+    private String firstNameSearch;
+    @Column(insertable = false, updatable = false)
+    private String lastNameSearch;
+
     // ===== GETTERS =====
     public String getFirstName() {
         return firstName;
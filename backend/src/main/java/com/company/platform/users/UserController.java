@@ -1,22 +1,43 @@
 package com.company.platform.users;
 
+import com.company.platform.cache.ChangeVersions;
+import com.company.platform.cache.ConditionalGet;
+import com.company.platform.common.PageResponse;
 import com.company.platform.users.User;
 import com.company.platform.users.UserService;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
 
     private final UserService service;
+    private final UserProvisioningService provisioningService;
+    private final ChangeVersions changeVersions;
 
-    public UserController(UserService service) {
+    public UserController(UserService service, UserProvisioningService provisioningService,
+            ChangeVersions changeVersions) {
         this.service = service;
+        this.provisioningService = provisioningService;
+        this.changeVersions = changeVersions;
     }
 
     @GetMapping
-    public java.util.List<User> getAll() {
-        return service.findAll();
+    public PageResponse<UserSummary> getAll(@RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "25") int size,
+            @RequestParam(required = false) String q,
+            WebRequest request) {
+        if (ConditionalGet.notModified(request, changeVersions.usersTag())) {
+            return null;
+        }
+        return service.findPage(q, page, size);
+    }
+
+    @GetMapping("/suggest")
+    public java.util.List<UserSuggestion> suggest(@RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return service.suggest(q, limit);
     }
 
     @GetMapping("/{id}")
@@ -29,9 +50,19 @@ public class UserController {
         return service.create(user);
     }
 
+    @PostMapping(value = "/bulk", consumes = org.springframework.http.MediaType.APPLICATION_JSON_VALUE)
+    public BulkProvisionResult bulkCreate(@RequestBody java.util.List<BulkUserRequest> users) {
+        return provisioningService.provision(users);
+    }
+
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public BulkProvisionResult bulkCreateCsv(@RequestBody String csv) {
+        return provisioningService.provisionCsv(csv);
+    }
+
     @PutMapping("/{id}")
-    public User update(@PathVariable Long id, @RequestBody User user) {
-        return service.update(id, user);
+    public User update(@PathVariable Long id, @RequestBody UserUpdateRequest request) {
+        return service.update(id, request);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,308 @@
+package com.company.platform.users;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory prefix index backing reviewer/assignee pickers.
+ *
+ * Tokens from email, first/last name and department are stored lowercased in a
+ * compressed (radix) trie whose nodes hold the ids of users owning that exact
+ * token. A lookup walks at most the length of the query and then collects ids
+ * depth-first until the limit is reached, so it does not depend on directory size.
+ * Only active users are indexed; UserService keeps the index in step with writes
+ * and {@link UserInvalidationListener} with writes made on other nodes.
+ */
+@Component
+public class UserDirectoryIndex {
+
+    private static final long[] NO_IDS = new long[0];
+
+    private static final class Node {
+        String label;
+        Map<Character, Node> children;
+        long[] ids = NO_IDS;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char c) {
+            return children == null ? null : children.get(c);
+        }
+
+        void putChild(Node child) {
+            if (children == null) {
+                children = new HashMap<>(4);
+            }
+            children.put(child.label.charAt(0), child);
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node("");
+    private final Map<Long, UserSuggestion> entries = new HashMap<>();
+
+    public UserDirectoryIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<UserSuggestion> all = userRepository.findAllSuggestions();
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            root.children = null;
+            root.ids = NO_IDS;
+            all.forEach(this::putLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("User directory index loaded: " + all.size() + " users");
+    }
+
+    public void put(User user) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(user.getId());
+            if (user.isActive() && !user.isDeleted()) {
+                putLocked(UserSuggestion.of(user));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Users with a token starting with the first query term; further terms must
+     * prefix-match one of the user's other tokens ("jane leg" finds Jane in Legal).
+     */
+    public List<UserSuggestion> suggest(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Over-collect when later terms still have to filter the candidates
+            int collect = terms.size() == 1 ? limit : limit * 20;
+            Set<Long> ids = new LinkedHashSet<>();
+            collect(terms.get(0), collect, ids);
+
+            List<UserSuggestion> result = new ArrayList<>(Math.min(limit, ids.size()));
+            for (Long id : ids) {
+                UserSuggestion s = entries.get(id);
+                if (s != null && matchesAll(s, terms)) {
+                    result.add(s);
+                    if (result.size() == limit) {
+                        break;
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void putLocked(UserSuggestion s) {
+        entries.put(s.id(), s);
+        for (String token : tokensOf(s)) {
+            insert(token, s.id());
+        }
+    }
+
+    private void removeLocked(Long id) {
+        UserSuggestion old = entries.remove(id);
+        if (old != null) {
+            for (String token : tokensOf(old)) {
+                delete(token, id);
+            }
+        }
+    }
+
+    private void insert(String token, long id) {
+        Node node = root;
+        int i = 0;
+        while (i < token.length()) {
+            Node child = node.child(token.charAt(i));
+            if (child == null) {
+                Node leaf = new Node(token.substring(i));
+                leaf.ids = new long[] { id };
+                node.putChild(leaf);
+                return;
+            }
+            int common = commonPrefix(child.label, token, i);
+            if (common < child.label.length()) {
+                // Split the edge: node -> mid(common part) -> child(rest)
+                Node mid = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                mid.putChild(child);
+                node.putChild(mid);
+                child = mid;
+            }
+            node = child;
+            i += common;
+        }
+        node.ids = addId(node.ids, id);
+    }
+
+    private void delete(String token, long id) {
+        Node parent = null;
+        Node node = root;
+        int i = 0;
+        while (i < token.length()) {
+            Node child = node.child(token.charAt(i));
+            if (child == null || !token.startsWith(child.label, i)) {
+                return;
+            }
+            parent = node;
+            node = child;
+            i += child.label.length();
+        }
+        node.ids = removeId(node.ids, id);
+        if (parent != null && node.ids.length == 0 && (node.children == null || node.children.isEmpty())) {
+            parent.children.remove(node.label.charAt(0));
+        }
+    }
+
+    private void collect(String prefix, int limit, Set<Long> out) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node child = node.child(prefix.charAt(i));
+            if (child == null) {
+                return;
+            }
+            int common = commonPrefix(child.label, prefix, i);
+            if (i + common < prefix.length() && common < child.label.length()) {
+                return; // diverges inside the edge
+            }
+            node = child;
+            i += common;
+        }
+        collectSubtree(node, limit, out);
+    }
+
+    private boolean collectSubtree(Node node, int limit, Set<Long> out) {
+        for (long id : node.ids) {
+            out.add(id);
+            if (out.size() >= limit) {
+                return true;
+            }
+        }
+        if (node.children != null) {
+            for (Node child : node.children.values()) {
+                if (collectSubtree(child, limit, out)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesAll(UserSuggestion s, List<String> terms) {
+        if (terms.size() == 1) {
+            return true;
+        }
+        List<String> tokens = tokensOf(s);
+        for (int t = 1; t < terms.size(); t++) {
+            String term = terms.get(t);
+            if (tokens.stream().noneMatch(token -> token.startsWith(term))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> tokensOf(UserSuggestion s) {
+        List<String> tokens = new ArrayList<>(6);
+        if (s.email() != null) {
+            String email = s.email().toLowerCase(Locale.ROOT);
+            tokens.add(email);
+            int at = email.indexOf('@');
+            if (at > 0) {
+                // "jane.doe@..." is also found by "doe"
+                tokens.addAll(tokenize(email.substring(0, at).replace('.', ' ')));
+            }
+        }
+        tokens.addAll(tokenize(s.firstName()));
+        tokens.addAll(tokenize(s.lastName()));
+        tokens.addAll(tokenize(s.department()));
+        return tokens.stream().distinct().toList();
+    }
+
+    private static List<String> tokenize(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.toLowerCase(Locale.ROOT).trim().split("\\s+"))
+                .filter(t -> !t.isEmpty())
+                .toList();
+    }
+
+    private static int commonPrefix(String label, String s, int offset) {
+        int max = Math.min(label.length(), s.length() - offset);
+        int n = 0;
+        while (n < max && label.charAt(n) == s.charAt(offset + n)) {
+            n++;
+        }
+        return n;
+    }
+
+    private static long[] addId(long[] ids, long id) {
+        for (long existing : ids) {
+            if (existing == id) {
+                return ids;
+            }
+        }
+        long[] next = Arrays.copyOf(ids, ids.length + 1);
+        next[ids.length] = id;
+        return next;
+    }
+
+    private static long[] removeId(long[] ids, long id) {
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                long[] next = new long[ids.length - 1];
+                System.arraycopy(ids, 0, next, 0, i);
+                System.arraycopy(ids, i + 1, next, i, ids.length - i - 1);
+                return next;
+            }
+        }
+        return ids;
+    }
+}
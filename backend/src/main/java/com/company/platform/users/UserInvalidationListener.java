@@ -0,0 +1,65 @@
+package com.company.platform.users;
+
+import com.company.platform.cache.CacheNames;
+import com.company.platform.cache.InvalidationBus;
+import com.company.platform.security.PrincipalCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Applies user changes made on other nodes to this node's caches: the users
+ * second-level cache region, the principal cache and the directory index.
+ *
+ * The fresh rows are read on the primary. This runs on the poller thread, outside
+ * any user's read-your-writes window, and a replica that has not caught up with
+ * the other node's commit would put the old row straight back into every cache.
+ */
+@Component
+public class UserInvalidationListener {
+
+    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final UserDirectoryIndex directoryIndex;
+    private final EntityManagerFactory entityManagerFactory;
+    // Read-write, which is what routes a transaction to the primary
+    private final TransactionTemplate onPrimary;
+
+    public UserInvalidationListener(InvalidationBus invalidationBus, UserRepository userRepository,
+            PrincipalCache principalCache, UserDirectoryIndex directoryIndex,
+            EntityManagerFactory entityManagerFactory, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.directoryIndex = directoryIndex;
+        this.entityManagerFactory = entityManagerFactory;
+        this.onPrimary = new TransactionTemplate(transactionManager);
+        invalidationBus.subscribe(CacheNames.USERS, this::onInvalidation);
+    }
+
+    void onInvalidation(String key) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        // Username and email lookups may have changed with the user
+        cache.evictNaturalIdData(User.class);
+        cache.evictDefaultQueryRegion();
+
+        if (key == null) {
+            cache.evictEntityData(User.class);
+            principalCache.clear();
+            onPrimary.executeWithoutResult(status -> directoryIndex.load());
+            return;
+        }
+
+        Long id = Long.valueOf(key);
+        cache.evictEntityData(User.class, id);
+        onPrimary.execute(status -> userRepository.findById(id)).ifPresentOrElse(user -> {
+            principalCache.invalidate(user);
+            directoryIndex.put(user);
+        }, () -> {
+            principalCache.evict(id);
+            directoryIndex.remove(id);
+        });
+    }
+}
@@ -0,0 +1,324 @@
+package com.company.platform.users;
+
+import com.company.platform.cache.CacheNames;
+import com.company.platform.cache.ChangeVersions;
+import com.company.platform.cache.InvalidationBus;
+import com.company.platform.common.BusinessException;
+import com.company.platform.common.IdBlocks;
+import com.company.platform.events.DomainEventBus;
+import com.company.platform.events.UserChanged;
+import com.company.platform.reports.CsvUtil;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Bulk onboarding of users.
+ *
+ * Rows are validated and de-duplicated (within the upload and against the table
+ * with one set-based query per chunk), passwords are BCrypt-hashed in parallel on a
+ * pool sized to the CPU count, and the survivors are written with JDBC batch
+ * inserts. Hashing happens before the transaction opens so no connection is held
+ * while the CPU work runs. Every input row gets a line in the report.
+ */
+@Service
+public class UserProvisioningService {
+
+    private static final String INSERT_SQL = """
+            insert into users (id, username, password, role, active, deleted, first_name, last_name, email,
+                               department, created_at, updated_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserDirectoryIndex directoryIndex;
+    private final EntityManagerFactory entityManagerFactory;
+    private final InvalidationBus invalidationBus;
+    private final IdBlocks idBlocks;
+    private final ChangeVersions changeVersions;
+    private final DomainEventBus events;
+    private final int maxRows;
+    private final int batchSize;
+
+    // BCrypt is pure CPU work; one thread per core is the useful maximum
+    private final ForkJoinPool hashingPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    public UserProvisioningService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+            JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            UserDirectoryIndex directoryIndex, EntityManagerFactory entityManagerFactory,
+            InvalidationBus invalidationBus, IdBlocks idBlocks, ChangeVersions changeVersions, DomainEventBus events,
+            @Value("${app.users.bulk.max-rows:10000}") int maxRows,
+            @Value("${app.users.bulk.batch-size:500}") int batchSize) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.directoryIndex = directoryIndex;
+        this.entityManagerFactory = entityManagerFactory;
+        this.invalidationBus = invalidationBus;
+        this.idBlocks = idBlocks;
+        this.changeVersions = changeVersions;
+        this.events = events;
+        this.maxRows = maxRows;
+        this.batchSize = batchSize;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    /** CSV with a header row; recognised columns match {@link BulkUserRequest} field names. */
+    public BulkProvisionResult provisionCsv(String csv) {
+        List<String[]> rows = CsvUtil.parse(csv);
+        if (rows.isEmpty()) {
+            throw new BusinessException("CSV is empty");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        String[] header = rows.get(0);
+        for (int i = 0; i < header.length; i++) {
+            columns.put(header[i].trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("email")) {
+            throw new BusinessException("CSV header must contain an 'email' column");
+        }
+
+        List<BulkUserRequest> requests = new ArrayList<>(rows.size() - 1);
+        // Cells that cannot be converted are reported against their row; the rest of the upload goes ahead
+        Map<Integer, String> invalid = new HashMap<>();
+        for (String[] row : rows.subList(1, rows.size())) {
+            String roleName = cell(row, columns, "role");
+            Role role = null;
+            if (roleName != null) {
+                try {
+                    role = Role.valueOf(roleName.toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    invalid.put(requests.size(), "Unknown role '" + roleName + "'. Valid roles are: "
+                            + Arrays.toString(Role.values()));
+                }
+            }
+            requests.add(new BulkUserRequest(
+                    cell(row, columns, "username"),
+                    cell(row, columns, "email"),
+                    cell(row, columns, "password"),
+                    cell(row, columns, "firstname"),
+                    cell(row, columns, "lastname"),
+                    role,
+                    cell(row, columns, "department")));
+        }
+        return provision(requests, invalid);
+    }
+
+    public BulkProvisionResult provision(List<BulkUserRequest> requests) {
+        return provision(requests, Map.of());
+    }
+
+    private BulkProvisionResult provision(List<BulkUserRequest> requests, Map<Integer, String> invalid) {
+        if (requests.size() > maxRows) {
+            throw new BusinessException("Too many rows: " + requests.size() + " (max " + maxRows + ")");
+        }
+
+        BulkProvisionResult.Row[] report = new BulkProvisionResult.Row[requests.size()];
+        List<Integer> accepted = validateAndDedupe(requests, invalid, report);
+
+        String[] hashes = hashPasswords(requests, accepted);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < accepted.size(); from += batchSize) {
+            List<Integer> chunk = accepted.subList(from, Math.min(from + batchSize, accepted.size()));
+            insertChunk(requests, chunk, hashes, now, report);
+        }
+        if (!accepted.isEmpty()) {
+            evictUserQueryCaches();
+        }
+
+        int created = 0;
+        int skipped = 0;
+        int failed = 0;
+        for (BulkProvisionResult.Row row : report) {
+            switch (row.status()) {
+                case CREATED -> created++;
+                case DUPLICATE -> skipped++;
+                default -> failed++;
+            }
+        }
+        return new BulkProvisionResult(requests.size(), created, skipped, failed, List.of(report));
+    }
+
+    private List<Integer> validateAndDedupe(List<BulkUserRequest> requests, Map<Integer, String> invalid,
+            BulkProvisionResult.Row[] report) {
+        Set<String> seenEmails = new HashSet<>();
+        Set<String> seenUsernames = new HashSet<>();
+        List<Integer> candidates = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            BulkUserRequest r = requests.get(i);
+            String email = normalize(r.email());
+            String username = usernameOf(r);
+
+            if (invalid.containsKey(i)) {
+                report[i] = row(i, r, BulkProvisionResult.Status.INVALID, null, invalid.get(i));
+            } else if (email == null || !email.contains("@")) {
+                report[i] = row(i, r, BulkProvisionResult.Status.INVALID, null, "A valid email is required");
+            } else if (r.password() == null || r.password().isBlank()) {
+                report[i] = row(i, r, BulkProvisionResult.Status.INVALID, null, "Password is required");
+            } else if (!seenEmails.add(email) || !seenUsernames.add(username)) {
+                report[i] = row(i, r, BulkProvisionResult.Status.DUPLICATE, null, "Duplicate within upload");
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        // One set-based lookup per chunk keeps the IN lists at a sane size
+        Set<String> existingEmails = new HashSet<>();
+        Set<String> existingUsernames = new HashSet<>();
+        for (int from = 0; from < candidates.size(); from += batchSize) {
+            List<Integer> chunk = candidates.subList(from, Math.min(from + batchSize, candidates.size()));
+            List<String> emails = chunk.stream().map(i -> normalize(requests.get(i).email())).toList();
+            List<String> usernames = chunk.stream().map(i -> usernameOf(requests.get(i))).toList();
+            for (Object[] identity : userRepository.findExistingIdentities(emails, usernames)) {
+                if (identity[0] != null) {
+                    existingEmails.add(normalize((String) identity[0]));
+                }
+                if (identity[1] != null) {
+                    existingUsernames.add(normalize((String) identity[1]));
+                }
+            }
+        }
+
+        List<Integer> accepted = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            BulkUserRequest r = requests.get(i);
+            if (existingEmails.contains(normalize(r.email())) || existingUsernames.contains(usernameOf(r))) {
+                report[i] = row(i, r, BulkProvisionResult.Status.DUPLICATE, null, "User already exists");
+            } else {
+                accepted.add(i);
+            }
+        }
+        return accepted;
+    }
+
+    private String[] hashPasswords(List<BulkUserRequest> requests, List<Integer> accepted) {
+        String[] hashes = new String[requests.size()];
+        try {
+            hashingPool.submit(() -> accepted.parallelStream()
+                    .forEach(i -> hashes[i] = passwordEncoder.encode(requests.get(i).password())))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Bulk provisioning interrupted");
+        } catch (ExecutionException e) {
+            throw new BusinessException("Password hashing failed: " + e.getCause().getMessage());
+        }
+        return hashes;
+    }
+
+    private void insertChunk(List<BulkUserRequest> requests, List<Integer> chunk, String[] hashes,
+            LocalDateTime now, BulkProvisionResult.Row[] report) {
+        Timestamp ts = Timestamp.valueOf(now);
+        try {
+            long firstId = idBlocks.reserve("users", chunk.size());
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_SQL, chunk, chunk.size(),
+                        new ParameterizedPreparedStatementSetter<Integer>() {
+                            private long nextId = firstId;
+
+                            @Override
+                            public void setValues(PreparedStatement ps, Integer i) throws SQLException {
+                                BulkUserRequest r = requests.get(i);
+                                ps.setLong(1, nextId++);
+                                ps.setString(2, usernameOf(r));
+                                ps.setString(3, hashes[i]);
+                                ps.setString(4, (r.role() != null ? r.role() : Role.USER).name());
+                                ps.setBoolean(5, true);
+                                ps.setBoolean(6, false);
+                                ps.setString(7, r.firstName());
+                                ps.setString(8, r.lastName());
+                                ps.setString(9, normalize(r.email()));
+                                ps.setString(10, r.department());
+                                ps.setTimestamp(11, ts);
+                                ps.setTimestamp(12, ts);
+                            }
+                        });
+                // In the chunk's transaction, so committed rows always come with their invalidation and event.
+                // One whole-cache entry rather than one per row; other nodes reload their directory.
+                invalidationBus.publish(CacheNames.USERS, null);
+                changeVersions.usersChanged();
+                events.publish(new UserChanged(null));
+            });
+        } catch (RuntimeException e) {
+            for (int i : chunk) {
+                report[i] = row(i, requests.get(i), BulkProvisionResult.Status.FAILED, null, e.getMessage());
+            }
+            return;
+        }
+
+        // Read the generated ids back in one query and keep the suggest index current
+        Map<String, User> created = new HashMap<>();
+        List<String> emails = chunk.stream().map(i -> normalize(requests.get(i).email())).toList();
+        for (User user : userRepository.findByEmailIn(emails)) {
+            created.put(normalize(user.getEmail()), user);
+            directoryIndex.put(user);
+        }
+        for (int i : chunk) {
+            User user = created.get(normalize(requests.get(i).email()));
+            report[i] = row(i, requests.get(i), BulkProvisionResult.Status.CREATED,
+                    user != null ? user.getId() : null, null);
+        }
+    }
+
+    // Plain JDBC inserts bypass Hibernate, so cached "no such user" query results must go
+    private void evictUserQueryCaches() {
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictDefaultQueryRegion();
+        cache.evictNaturalIdData(User.class);
+    }
+
+    private static BulkProvisionResult.Row row(int index, BulkUserRequest r, BulkProvisionResult.Status status,
+            Long id, String message) {
+        // Rows are reported 1-based to line up with the upload
+        return new BulkProvisionResult.Row(index + 1, r.email(), status, id, message);
+    }
+
+    private static String usernameOf(BulkUserRequest r) {
+        return r.username() != null && !r.username().isBlank() ? normalize(r.username()) : normalize(r.email());
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String cell(String[] row, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= row.length) {
+            return null;
+        }
+        String value = row[index].trim();
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -4,11 +4,57 @@ package com.company.platform.users;
 
 import com.company.platform.users.UserRepository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     Optional<User> findByUsername(String username);
+
+    // Hibernate allows a single natural id (username), so email lookups go through the query cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
+
+    // Prefix match on the lower-case search columns, each indexed, with the prefix lower-cased by the caller
+    @Query(value = """
+            select new com.company.platform.users.UserSummary(
+                u.id, u.username, u.email, u.firstName, u.lastName, u.role, u.department, u.active, u.createdAt)
+            from User u
+            where u.deleted = false
+              and (:prefix is null
+                   or u.emailSearch like :prefix escape '!'
+                   or u.firstNameSearch like :prefix escape '!'
+                   or u.lastNameSearch like :prefix escape '!')
+            """,
+            countQuery = """
+            select count(u) from User u
+            where u.deleted = false
+              and (:prefix is null
+                   or u.emailSearch like :prefix escape '!'
+                   or u.firstNameSearch like :prefix escape '!'
+                   or u.lastNameSearch like :prefix escape '!')
+            """)
+    Page<UserSummary> findSummaries(String prefix, Pageable pageable);
+
+    @Query("""
+            select new com.company.platform.users.UserSuggestion(
+                u.id, u.email, u.firstName, u.lastName, u.department, u.role)
+            from User u
+            where u.deleted = false and u.active = true
+            """)
+    List<UserSuggestion> findAllSuggestions();
+
+    /** Email and username pairs that already exist, for bulk de-duplication in one round trip. */
+    @Query("select u.email, u.username from User u where u.email in :emails or u.username in :usernames")
+    List<Object[]> findExistingIdentities(Collection<String> emails, Collection<String> usernames);
+
+    List<User> findByEmailIn(Collection<String> emails);
 }
@@ -0,0 +1,12 @@
+package com.company.platform.users;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Looks the user up through the natural-id cache, so repeated lookups of the
+     * same username are served from the second-level cache instead of a query.
+     */
+    Optional<User> findCachedByUsername(String username);
+}
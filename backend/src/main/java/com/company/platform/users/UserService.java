@@ -1,57 +1,160 @@
 package com.company.platform.users;
 
+import com.company.platform.cache.CacheNames;
+import com.company.platform.cache.ChangeVersions;
+import com.company.platform.cache.InvalidationBus;
+import com.company.platform.common.AfterCommit;
+import com.company.platform.common.PageResponse;
+import com.company.platform.events.DomainEventBus;
+import com.company.platform.events.UserChanged;
+import com.company.platform.security.PrincipalCache;
+import com.company.platform.security.TokenRevocationService;
 import com.company.platform.users.User;
 import com.company.platform.users.UserRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
 
 @Service
 public class UserService {
 
     private final UserRepository repo;
     private final org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationService revocationService;
+    private final UserDirectoryIndex directoryIndex;
+    private final InvalidationBus invalidationBus;
+    private final ChangeVersions changeVersions;
+    private final DomainEventBus events;
+
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_SUGGESTIONS = 50;
 
     public UserService(UserRepository repo,
-            org.springframework.security.crypto.password.PasswordEncoder passwordEncoder) {
+            org.springframework.security.crypto.password.PasswordEncoder passwordEncoder,
+            PrincipalCache principalCache,
+            TokenRevocationService revocationService,
+            UserDirectoryIndex directoryIndex,
+            InvalidationBus invalidationBus,
+            ChangeVersions changeVersions,
+            DomainEventBus events) {
         this.repo = repo;
         this.passwordEncoder = passwordEncoder;
+        this.principalCache = principalCache;
+        this.revocationService = revocationService;
+        this.directoryIndex = directoryIndex;
+        this.invalidationBus = invalidationBus;
+        this.changeVersions = changeVersions;
+        this.events = events;
+    }
+
+    public PageResponse<UserSummary> findPage(String query, int page, int size) {
+        PageRequest pageable = PageRequest.of(Math.max(0, page), Math.min(Math.max(1, size), MAX_PAGE_SIZE),
+                Sort.by("id"));
+        String prefix = null;
+        if (query != null && !query.isBlank()) {
+            prefix = query.trim().toLowerCase(Locale.ROOT)
+                    .replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+        }
+        return PageResponse.of(repo.findSummaries(prefix, pageable));
     }
 
-    public java.util.List<User> findAll() {
-        return repo.findAll();
+    public List<UserSuggestion> suggest(String query, int limit) {
+        return directoryIndex.suggest(query, Math.min(Math.max(1, limit), MAX_SUGGESTIONS));
     }
 
     public User findById(Long id) {
         return repo.findById(id).orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    @Transactional
     public User create(User user) {
         // Enforce default role if missing
         if (user.getRole() == null) {
             user.setRole(Role.USER);
         }
+        // Username is the token subject and the natural id; sign-in is by email, so default to it
+        if (user.getUsername() == null || user.getUsername().isBlank()) {
+            user.setUsername(user.getEmail());
+        }
         if (user.getPassword() != null) {
             user.setPassword(passwordEncoder.encode(user.getPassword()));
         }
-        return repo.save(user);
+        User saved = repo.save(user);
+        written(saved);
+        return saved;
+    }
+
+    /** Saves a user changed elsewhere, e.g. by sign-up or a password change, with the same follow-up as update. */
+    @Transactional
+    public User save(User user) {
+        User saved = repo.save(user);
+        AfterCommit.run(() -> principalCache.invalidate(saved));
+        written(saved);
+        return saved;
     }
 
-    public User update(Long id, User user) {
+    // Read-write, so the read-modify-write runs on the primary rather than a lagging replica
+    @Transactional
+    public User update(Long id, UserUpdateRequest request) {
         User existing = findById(id);
-        existing.setFirstName(user.getFirstName());
-        existing.setLastName(user.getLastName());
-        existing.setEmail(user.getEmail());
+        // Fields left out of the request keep their current value
+        if (request.firstName() != null) {
+            existing.setFirstName(request.firstName());
+        }
+        if (request.lastName() != null) {
+            existing.setLastName(request.lastName());
+        }
+        if (request.email() != null) {
+            existing.setEmail(request.email());
+        }
+        if (request.department() != null) {
+            existing.setDepartment(request.department());
+        }
         // Only update password if provided and non-empty
-        if (user.getPassword() != null && !user.getPassword().isEmpty()) {
-            existing.setPassword(passwordEncoder.encode(user.getPassword()));
+        if (request.password() != null && !request.password().isEmpty()) {
+            existing.setPassword(passwordEncoder.encode(request.password()));
         }
-        if (user.getRole() != null) {
-            existing.setRole(user.getRole());
+        if (request.role() != null) {
+            existing.setRole(request.role());
         }
-        existing.setActive(user.isActive());
-        return repo.save(existing);
+        boolean deactivated = false;
+        if (request.active() != null) {
+            deactivated = existing.isActive() && !request.active();
+            existing.setActive(request.active());
+        }
+        User saved = repo.save(existing);
+        AfterCommit.run(() -> principalCache.invalidate(saved));
+        written(saved);
+        if (deactivated) {
+            revocationService.revokeUser(saved);
+        }
+        return saved;
     }
 
+    @Transactional
     public void delete(Long id) {
+        repo.findById(id).ifPresent(user -> {
+            AfterCommit.run(() -> principalCache.invalidate(user));
+            revocationService.revokeUser(user);
+        });
         repo.deleteById(id);
+        AfterCommit.run(() -> directoryIndex.remove(id));
+        invalidationBus.publish(CacheNames.USERS, id);
+        changeVersions.usersChanged();
+        events.publish(new UserChanged(id));
+    }
+
+    // Keeps the suggest index, other nodes' caches, ETags and event subscribers in step with a saved user.
+    // The bus entry is written in the caller's transaction, so the user is never saved without it.
+    private void written(User saved) {
+        AfterCommit.run(() -> directoryIndex.put(saved));
+        invalidationBus.publish(CacheNames.USERS, saved.getId());
+        changeVersions.usersChanged();
+        events.publish(new UserChanged(saved.getId()));
     }
 }
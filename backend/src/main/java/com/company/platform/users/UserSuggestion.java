@@ -0,0 +1,15 @@
+package com.company.platform.users;
+
+public record UserSuggestion(
+        Long id,
+        String email,
+        String firstName,
+        String lastName,
+        String department,
+        Role role) {
+
+    static UserSuggestion of(User user) {
+        return new UserSuggestion(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                user.getDepartment(), user.getRole());
+    }
+}
@@ -0,0 +1,19 @@
+package com.company.platform.users;
+
+import java.time.LocalDateTime;
+
+/**
+ * Directory listing projection. Selected directly by JPQL so listings never load
+ * the entity (or its password hash).
+ */
+public record UserSummary(
+        Long id,
+        String username,
+        String email,
+        String firstName,
+        String lastName,
+        Role role,
+        String department,
+        boolean active,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,12 @@
+package com.company.platform.users;
+
+/** Partial update of a user: fields left null keep their current value. */
+public record UserUpdateRequest(
+        String email,
+        String password,
+        String firstName,
+        String lastName,
+        Role role,
+        String department,
+        Boolean active) {
+}
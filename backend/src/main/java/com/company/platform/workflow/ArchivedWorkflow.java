@@ -0,0 +1,60 @@
+package com.company.platform.workflow;
+
+import com.company.platform.users.User;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A terminal workflow moved out of {@code workflows} by {@link WorkflowArchiver}.
+ * Read-only; rows keep the id they had in the live table.
+ */
+@Entity
+@Immutable
+@Table(name = "workflows_archive")
+public class ArchivedWorkflow {
+
+    @Id
+    private Long id;
+
+    private String title;
+
+    @Column(length = 1000)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    private WorkflowStatus status;
+
+    @Enumerated(EnumType.STRING)
+    private WorkflowPriority priority;
+
+    private String category;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "created_by_user_id")
+    private User createdBy;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    protected ArchivedWorkflow() {
+    }
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public WorkflowStatus getStatus() { return status; }
+    public WorkflowPriority getPriority() { return priority; }
+    public String getCategory() { return category; }
+    public User getCreatedBy() { return createdBy; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+}
@@ -0,0 +1,21 @@
+package com.company.platform.workflow;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface ArchivedWorkflowRepository extends JpaRepository<ArchivedWorkflow, Long> {
+    Page<ArchivedWorkflow> findByCreatedBy_Id(Long userId, Pageable pageable);
+
+    // Keyset page: a primary key range scan however deep the export is, and no count query
+    @Query("""
+            select new com.company.platform.workflow.ArchivedWorkflowRow(
+                w.id, w.description, w.status, u.email, w.createdAt, w.archivedAt)
+            from ArchivedWorkflow w left join w.createdBy u
+            where w.id > :afterId
+            order by w.id
+            """)
+    Slice<ArchivedWorkflowRow> findRowsAfter(Long afterId, Pageable pageable);
+}
@@ -0,0 +1,13 @@
+package com.company.platform.workflow;
+
+import java.time.LocalDateTime;
+
+/** An archived workflow as exported, read without loading the entity. */
+public record ArchivedWorkflowRow(
+        Long id,
+        String description,
+        WorkflowStatus status,
+        String creatorEmail,
+        LocalDateTime createdAt,
+        LocalDateTime archivedAt) {
+}
@@ -0,0 +1,6 @@
+package com.company.platform.workflow;
+
+public record ReviewClaimDTO(
+    WorkflowDTO workflow,
+    String leaseExpiresAt
+) {}
@@ -0,0 +1,243 @@
+package com.company.platform.workflow;
+
+import com.company.platform.cache.CacheNames;
+import com.company.platform.cache.InvalidationBus;
+import com.company.platform.common.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Work queue of SUBMITTED / IN_REVIEW workflows for reviewers, most urgent first,
+ * then oldest first.
+ *
+ * The {@code review_queue} table is the source of truth: a row per queued workflow,
+ * kept in step with the status in the same transaction. This node holds the head of
+ * the queue, up to {@code window} entries, in a skip list, so a claim is an O(log n)
+ * poll followed by one conditional update on the primary key. The update only
+ * succeeds if nobody holds an unexpired lease, which is what keeps two nodes from
+ * handing out the same workflow; a lost race marks the local copy stale and the
+ * claim moves on to the next entry. Leases run out after {@code lease} and the
+ * workflow is offered again. The local copy is reloaded when it runs dry, by the
+ * release tick once another node has changed workflows or released a claim, and
+ * every {@code refresh} regardless.
+ */
+@Component
+public class ReviewQueue {
+
+    private static final Comparator<Item> ORDER = Comparator.comparingInt(Item::rank).reversed()
+            .thenComparing(Item::createdAt)
+            .thenComparingLong(Item::workflowId);
+
+    private static final String CLAIM = """
+            update review_queue set claimed_by_user_id = ?, lease_expires_at = ?
+            where workflow_id = ? and (lease_expires_at is null or lease_expires_at < ?)
+            """;
+
+    private static final String RELEASE = """
+            update review_queue set claimed_by_user_id = null, lease_expires_at = null
+            where workflow_id = ? and claimed_by_user_id = ? and lease_expires_at >= ?
+            """;
+
+    private static final String LOAD = """
+            select workflow_id, priority_rank, created_at, lease_expires_at from review_queue
+            order by priority_rank desc, created_at, workflow_id
+            limit ?
+            """;
+
+    /** A workflow leased to the caller until {@code leaseExpiresAt} (UTC). */
+    public record Claim(long workflowId, LocalDateTime leaseExpiresAt) {
+    }
+
+    record Item(long workflowId, int rank, LocalDateTime createdAt) {
+    }
+
+    private record Lease(Item item, LocalDateTime expiresAt) {
+    }
+
+    private final JdbcTemplate jdbc;
+    private final InvalidationBus bus;
+    private final MeterRegistry meters;
+    private final Duration lease;
+    private final int window;
+    private final Duration refresh;
+
+    // Swapped whole on reload; claims in flight finish against the copy they started on
+    private volatile ConcurrentSkipListSet<Item> ready = new ConcurrentSkipListSet<>(ORDER);
+    private volatile Map<Long, Lease> leases = new ConcurrentHashMap<>();
+    private volatile boolean stale = true;
+    // The last load filled the window, so review_queue holds more than this node has
+    private volatile boolean truncated;
+    private volatile long loadedAt;
+    // Serialises reloads. Not synchronized: a claiming virtual thread doing JDBC inside
+    // a monitor would pin its carrier.
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    public ReviewQueue(JdbcTemplate jdbc, InvalidationBus bus, MeterRegistry meters,
+            @Value("${app.workflow.review-queue.lease:15m}") Duration lease,
+            @Value("${app.workflow.review-queue.window:10000}") int window,
+            @Value("${app.workflow.review-queue.refresh:1m}") Duration refresh) {
+        this.jdbc = jdbc;
+        this.bus = bus;
+        this.meters = meters;
+        this.lease = lease;
+        this.window = window;
+        this.refresh = refresh;
+        bus.subscribe(CacheNames.WORKFLOWS, key -> stale = true);
+        bus.subscribe(CacheNames.REVIEW_QUEUE, key -> stale = true);
+        Gauge.builder("review.queue.ready", this, q -> q.ready.size())
+                .description("Queued workflows this node can hand out without reloading")
+                .register(meters);
+    }
+
+    public static boolean isQueued(WorkflowStatus status) {
+        return status == WorkflowStatus.SUBMITTED || status == WorkflowStatus.IN_REVIEW;
+    }
+
+    /** Keeps {@code review_queue} in step with a status change, in the caller's transaction. */
+    void statusChanged(long workflowId, WorkflowStatus status, WorkflowPriority priority, LocalDateTime createdAt) {
+        Item item = new Item(workflowId, priority.rank(), createdAt);
+        if (isQueued(status)) {
+            // SUBMITTED -> IN_REVIEW keeps the row, and with it the reviewer's lease
+            if (jdbc.update("update review_queue set priority_rank = ? where workflow_id = ?", item.rank(),
+                    workflowId) == 0) {
+                jdbc.update("insert into review_queue (workflow_id, priority_rank, created_at) values (?, ?, ?)",
+                        workflowId, item.rank(), Timestamp.valueOf(createdAt));
+            }
+            AfterCommit.run(() -> {
+                if (!leases.containsKey(workflowId)) {
+                    ready.add(item);
+                }
+            });
+        } else {
+            jdbc.update("delete from review_queue where workflow_id = ?", workflowId);
+            AfterCommit.run(() -> {
+                ready.remove(item);
+                leases.remove(workflowId);
+            });
+        }
+    }
+
+    /**
+     * Leases the most urgent unclaimed workflow to {@code userId}, or nothing when the queue is empty.
+     * Joins the caller's transaction; if that rolls back, the workflow goes back in line here too.
+     */
+    public Optional<Claim> claim(Long userId) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            if (attempt > 0) {
+                reload();
+            }
+            Item item;
+            while ((item = ready.pollFirst()) != null) {
+                LocalDateTime now = now();
+                LocalDateTime expires = now.plus(lease);
+                if (jdbc.update(CLAIM, userId, Timestamp.valueOf(expires), item.workflowId(),
+                        Timestamp.valueOf(now)) == 1) {
+                    Lease held = new Lease(item, expires);
+                    leases.put(item.workflowId(), held);
+                    Item claimed = item;
+                    AfterCommit.onRollback(() -> {
+                        if (leases.remove(claimed.workflowId(), held)) {
+                            ready.add(claimed);
+                        }
+                    });
+                    meters.counter("review.queue.claims", "outcome", "claimed").increment();
+                    return Optional.of(new Claim(item.workflowId(), expires));
+                }
+                // Claimed on another node, or no longer in review: the next reload has the truth
+                meters.counter("review.queue.claims", "outcome", "contended").increment();
+                stale = true;
+            }
+            // Nothing left here; only worth a reload if other nodes may have queued more
+            if (!stale && !truncated) {
+                break;
+            }
+        }
+        meters.counter("review.queue.claims", "outcome", "empty").increment();
+        return Optional.empty();
+    }
+
+    /** Gives a claimed workflow back before its lease runs out; false if {@code userId} holds no lease on it. */
+    public boolean release(long workflowId, Long userId) {
+        if (jdbc.update(RELEASE, workflowId, userId, Timestamp.valueOf(now())) == 0) {
+            return false;
+        }
+        Lease held = leases.remove(workflowId);
+        if (held != null) {
+            ready.add(held.item());
+        }
+        bus.publish(CacheNames.REVIEW_QUEUE, workflowId);
+        return true;
+    }
+
+    /** Puts workflows whose lease ran out back in line; reloads instead when the local copy is stale or old. */
+    @Scheduled(fixedDelayString = "${app.workflow.review-queue.release-interval-ms:5000}")
+    public void releaseExpired() {
+        if (stale || System.currentTimeMillis() - loadedAt > refresh.toMillis()) {
+            try {
+                reload();
+            } catch (DataAccessException e) {
+                stale = true;
+                System.out.println("⚠️ Warning: Could not reload the review queue: " + e.getMessage());
+            }
+            return;
+        }
+        LocalDateTime now = now();
+        leases.forEach((workflowId, held) -> {
+            if (held.expiresAt().isBefore(now) && leases.remove(workflowId, held)) {
+                ready.add(held.item());
+            }
+        });
+    }
+
+    /** Replaces the local copy with the head of {@code review_queue}. */
+    void reload() {
+        reloadLock.lock();
+        try {
+            reloadLocked();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void reloadLocked() {
+        // Cleared first: a change arriving while the query runs makes the next tick reload again
+        stale = false;
+        LocalDateTime now = now();
+        ConcurrentSkipListSet<Item> items = new ConcurrentSkipListSet<>(ORDER);
+        Map<Long, Lease> held = new ConcurrentHashMap<>();
+        jdbc.query(LOAD, rs -> {
+            Item item = new Item(rs.getLong("workflow_id"), rs.getInt("priority_rank"),
+                    rs.getTimestamp("created_at").toLocalDateTime());
+            Timestamp expires = rs.getTimestamp("lease_expires_at");
+            if (expires != null && !expires.toLocalDateTime().isBefore(now)) {
+                held.put(item.workflowId(), new Lease(item, expires.toLocalDateTime()));
+            } else {
+                items.add(item);
+            }
+        }, window);
+        truncated = items.size() + held.size() >= window;
+        leases = held;
+        ready = items;
+        loadedAt = System.currentTimeMillis();
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now(ZoneOffset.UTC);
+    }
+}
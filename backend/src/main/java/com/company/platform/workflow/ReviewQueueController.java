@@ -0,0 +1,41 @@
+package com.company.platform.workflow;
+
+import com.company.platform.common.BusinessException;
+import com.company.platform.security.AuthenticatedUser;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/review-queue")
+public class ReviewQueueController {
+
+    private final ReviewQueue reviewQueue;
+    private final WorkflowService workflowService;
+
+    public ReviewQueueController(ReviewQueue reviewQueue, WorkflowService workflowService) {
+        this.reviewQueue = reviewQueue;
+        this.workflowService = workflowService;
+    }
+
+    /**
+     * Hands out the most urgent, then oldest, unclaimed SUBMITTED / IN_REVIEW workflow,
+     * leased to the caller until {@code leaseExpiresAt}. 204 when nothing is waiting.
+     */
+    @PostMapping("/claim")
+    public ResponseEntity<ReviewClaimDTO> claim(@AuthenticationPrincipal AuthenticatedUser principal) {
+        return workflowService.claimForReview(principal)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    /** Gives a claimed workflow back to the queue before the lease runs out. */
+    @PostMapping("/{workflowId}/release")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void release(@PathVariable Long workflowId, @AuthenticationPrincipal AuthenticatedUser principal) {
+        if (!reviewQueue.release(workflowId, principal.userId())) {
+            throw new BusinessException("You hold no claim on this workflow");
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.company.platform.workflow;
 
+import com.company.platform.common.IdBlocks;
 import com.company.platform.users.User;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
@@ -9,7 +10,9 @@ import java.time.LocalDateTime;
 public class Workflow {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "workflows_ids")
+    @TableGenerator(name = "workflows_ids", table = IdBlocks.TABLE, pkColumnName = IdBlocks.NAME_COLUMN,
+            valueColumnName = IdBlocks.VALUE_COLUMN, pkColumnValue = "workflows", allocationSize = IdBlocks.BLOCK_SIZE)
     private Long id;
 
     private String title;
@@ -20,7 +23,8 @@ public class Workflow {
     @Enumerated(EnumType.STRING)
     private WorkflowStatus status = WorkflowStatus.DRAFT;
 
-    private String priority; // LOW, MEDIUM, HIGH, URGENT
+    @Enumerated(EnumType.STRING)
+    private WorkflowPriority priority = WorkflowPriority.MEDIUM;
     
     private String category;
 
@@ -60,8 +64,8 @@ public class Workflow {
     public WorkflowStatus getStatus() { return status; }
     public void setStatus(WorkflowStatus status) { this.status = status; }
 
-    public String getPriority() { return priority; }
-    public void setPriority(String priority) { this.priority = priority; }
+    public WorkflowPriority getPriority() { return priority; }
+    public void setPriority(WorkflowPriority priority) { this.priority = priority; }
 
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
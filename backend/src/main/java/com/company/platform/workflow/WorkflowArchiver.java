@@ -0,0 +1,152 @@
+package com.company.platform.workflow;
+
+import com.company.platform.cache.CacheNames;
+import com.company.platform.cache.ChangeVersions;
+import com.company.platform.cache.InvalidationBus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves terminal workflows that have not changed for {@code app.workflow.archive.after}
+ * from {@code workflows} to {@code workflows_archive}, so the live table and its
+ * indexes only hold work that can still move.
+ *
+ * Every chunk is one transaction: lock the oldest eligible ids, add them to
+ * {@code workflow_archive_counts}, copy the rows and delete them. Locking first
+ * means nodes running the job at the same time take turns instead of copying the
+ * same rows twice. Dashboard totals add the stored counts, so they stay correct
+ * without reading the archive.
+ */
+@Service
+public class WorkflowArchiver {
+
+    private static final String COLUMNS =
+            "id, title, description, status, priority, category, created_by_user_id, created_at, updated_at";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration after;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter archived;
+    private final ChangeVersions changeVersions;
+    private final InvalidationBus invalidationBus;
+
+    public WorkflowArchiver(JdbcTemplate jdbc, PlatformTransactionManager transactionManager, MeterRegistry meters,
+            ChangeVersions changeVersions, InvalidationBus invalidationBus,
+            @Value("${app.workflow.archive.enabled:true}") boolean enabled,
+            @Value("${app.workflow.archive.after:90d}") Duration after,
+            @Value("${app.workflow.archive.batch-size:1000}") int batchSize,
+            @Value("${app.workflow.archive.max-batches-per-run:1000}") int maxBatchesPerRun) {
+        this.jdbc = jdbc;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.after = after;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.changeVersions = changeVersions;
+        this.invalidationBus = invalidationBus;
+        this.archived = Counter.builder("workflows.archived")
+                .description("Workflows moved to the archive table")
+                .register(meters);
+    }
+
+    /** Archived workflows per status, creator department ('' for none) and month of creation. */
+    public record Count(String status, String department, int month, long workflows) {
+    }
+
+    @Scheduled(cron = "${app.workflow.archive.cron:0 30 1 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    /** Archives eligible workflows until none are left or the per-run limit is hit; returns the number moved. */
+    public long archive() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(after);
+        long total = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                Integer moved = transactionTemplate.execute(status -> moveChunk(cutoff, now));
+                total += moved;
+                archived.increment(moved);
+                if (moved < batchSize) {
+                    break;
+                }
+            }
+        } catch (DataAccessException e) {
+            // The failed chunk rolled back as a whole; the next run picks it up again
+            System.out.println("⚠️ Warning: Workflow archiving stopped after " + total + " rows. " + e.getMessage());
+        }
+        if (total > 0) {
+            // Chunks are committed by now, so this bumps immediately; rows left every creator's live list
+            changeVersions.workflowsChanged(null);
+            invalidationBus.publish(CacheNames.WORKFLOWS, null);
+            System.out.println("✅ Archived " + total + " workflows unchanged since " + cutoff.toLocalDate());
+        }
+        return total;
+    }
+
+    public List<Count> counts() {
+        return jdbc.query("select status, department, created_month, workflow_count from workflow_archive_counts",
+                (rs, n) -> new Count(rs.getString(1), rs.getString(2), rs.getInt(3), rs.getLong(4)));
+    }
+
+    private int moveChunk(LocalDateTime cutoff, LocalDateTime archivedAt) {
+        List<Long> ids = jdbc.queryForList(
+                "select id from workflows where status in (?, ?) and updated_at < ? order by id limit ? for update",
+                Long.class, WorkflowStatus.COMPLETED.name(), WorkflowStatus.CANCELLED.name(),
+                Timestamp.valueOf(cutoff), batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String in = "(" + String.join(",", Collections.nCopies(ids.size(), "?")) + ")";
+        Object[] idArgs = ids.toArray();
+
+        List<Count> counts = jdbc.query("""
+                select w.status, coalesce(u.department, ''), month(w.created_at), count(*)
+                from workflows w left join users u on u.id = w.created_by_user_id
+                where w.id in %s
+                group by w.status, coalesce(u.department, ''), month(w.created_at)
+                """.formatted(in), (rs, n) -> new Count(rs.getString(1), rs.getString(2), rs.getInt(3), rs.getLong(4)), idArgs);
+        counts.forEach(this::addCount);
+
+        List<Object> insertArgs = new ArrayList<>(ids.size() + 1);
+        insertArgs.add(Timestamp.valueOf(archivedAt));
+        insertArgs.addAll(ids);
+        jdbc.update("insert into workflows_archive (" + COLUMNS + ", archived_at) select " + COLUMNS
+                + ", ? from workflows where id in " + in, insertArgs.toArray());
+        jdbc.update("delete from workflows where id in " + in, idArgs);
+        return ids.size();
+    }
+
+    private void addCount(Count count) {
+        if (jdbc.update("""
+                update workflow_archive_counts set workflow_count = workflow_count + ?
+                where status = ? and department = ? and created_month = ?
+                """, count.workflows(), count.status(), count.department(), count.month()) == 0) {
+            // A node inserting the same key concurrently makes this chunk fail and roll back
+            jdbc.update("""
+                    insert into workflow_archive_counts (status, department, created_month, workflow_count)
+                    values (?, ?, ?, ?)
+                    """, count.status(), count.department(), count.month(), count.workflows());
+        }
+    }
+}
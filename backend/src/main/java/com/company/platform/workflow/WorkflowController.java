@@ -1,36 +1,85 @@
 package com.company.platform.workflow;
 
-import org.springframework.security.core.Authentication;
+import com.company.platform.cache.ChangeVersions;
+import com.company.platform.cache.ConditionalGet;
+import com.company.platform.common.PageResponse;
+import com.company.platform.security.AuthenticatedUser;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/workflows")
 public class WorkflowController {
 
     private final WorkflowService service;
+    private final ChangeVersions changeVersions;
+    private final WorkflowEventStream eventStream;
 
-    public WorkflowController(WorkflowService service) {
+    public WorkflowController(WorkflowService service, ChangeVersions changeVersions,
+            WorkflowEventStream eventStream) {
         this.service = service;
+        this.changeVersions = changeVersions;
+        this.eventStream = eventStream;
     }
 
+    /**
+     * {@code fields=id,title,status} returns only those fields, selected at the SQL level.
+     * {@code shape=normalized} sends each creator once under {@code included.users} and
+     * references it by id. Without either the full {@link WorkflowDTO} list is returned.
+     * A matching {@code If-None-Match} gets a 304 before anything is read.
+     */
     @GetMapping
-    public List<WorkflowDTO> getWorkflows(Authentication authentication) {
-        // In real app, authentication principal would be UserDetails.
-        // For now, assuming username is the principal or name.
-        return service.getWorkflows(authentication.getName());
+    public Object getWorkflows(@AuthenticationPrincipal AuthenticatedUser principal,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String shape,
+            WebRequest request) {
+        String etag = changeVersions.workflowsTag(principal.canSeeAllWorkflows() ? null : principal.userId());
+        if (ConditionalGet.notModified(request, etag)) {
+            return null;
+        }
+        if (fields == null && shape == null) {
+            return service.getWorkflows(principal);
+        }
+        return service.getWorkflows(principal, fields, shape);
+    }
+
+    /**
+     * Created and status-changed events for the workflows {@link #getWorkflows} would list.
+     * Reconnect with {@code Last-Event-ID} to resume; a {@code reset} event means re-fetch the list.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal AuthenticatedUser principal,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return eventStream.subscribe(principal.canSeeAllWorkflows() ? null : principal.userId(), lastEventId);
+    }
+
+    /** Terminal workflows moved out of the live table by {@link WorkflowArchiver}. */
+    @GetMapping("/archive")
+    public PageResponse<WorkflowDTO> getArchivedWorkflows(@RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "25") int size,
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        return service.getArchivedWorkflows(principal, page, size);
+    }
+
+    @GetMapping("/archive/{id}")
+    public WorkflowDTO getArchivedWorkflow(@PathVariable Long id,
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        return service.getArchivedWorkflow(id, principal);
     }
 
     @PostMapping
-    public WorkflowDTO createWorkflow(@RequestBody CreateWorkflowRequest request, Authentication authentication) {
-        return service.createWorkflow(request, authentication.getName());
+    public WorkflowDTO createWorkflow(@RequestBody CreateWorkflowRequest request,
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        return service.createWorkflow(request, principal);
     }
 
     @PatchMapping("/{id}/status")
     public WorkflowDTO updateStatus(@PathVariable Long id, @RequestBody java.util.Map<String, String> body,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser principal) {
         String status = body.get("status");
-        return service.updateStatus(id, status, authentication.getName());
+        return service.updateStatus(id, status, principal);
     }
 }
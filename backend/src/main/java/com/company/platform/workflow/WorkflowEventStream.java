@@ -0,0 +1,245 @@
+package com.company.platform.workflow;
+
+import com.company.platform.cache.CacheNames;
+import com.company.platform.cache.InvalidationBus;
+import com.company.platform.events.DomainEvent;
+import com.company.platform.events.DomainEventBus;
+import com.company.platform.events.WorkflowCreated;
+import com.company.platform.events.WorkflowStatusChanged;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Server-sent change feed behind {@code /api/workflows/stream}.
+ *
+ * Fed from the {@link DomainEventBus}, so events arrive after the writing transaction
+ * commits. Each is serialized once and kept in a bounded replay buffer, so a client
+ * reconnecting with {@code Last-Event-ID} gets what it missed. A client whose id has
+ * left the buffer, or comes from another node's feed, gets a {@code reset} event and
+ * re-fetches the list instead. A subscriber's queue holds a full replay plus
+ * {@code queueSize} further events; a client that falls further behind is
+ * disconnected and resumes from its last id. Each subscriber is drained by
+ * its own virtual thread, which parks while the connection is idle, so thousands of
+ * open streams cost no platform threads and a slow client only delays itself.
+ * Writes on other nodes arrive as {@code workflows.changed} hints via the
+ * {@link InvalidationBus}.
+ */
+@Component
+public class WorkflowEventStream {
+
+    public static final String CREATED = "workflow.created";
+    public static final String STATUS_CHANGED = "workflow.status-changed";
+    public static final String CHANGED_ELSEWHERE = "workflows.changed";
+    public static final String RESET = "reset";
+
+    /** Payload of {@link #CREATED} and {@link #STATUS_CHANGED} events. */
+    public record WorkflowEvent(String type, WorkflowDTO workflow, String previousStatus) {
+    }
+
+    // Serialized once per event, not once per subscriber
+    private record Event(String id, String type, Long creatorId, String json) {
+    }
+
+    private final JsonMapper jsonMapper;
+    private final String node;
+    private final Event[] replay;
+    private final Duration heartbeat;
+    private final Duration timeout;
+    private final int queueSize;
+
+    // Guards the replay buffer and the subscriber set, so a subscriber never misses or repeats an event.
+    // Not synchronized: the bus delivers on a virtual thread, which would pin its carrier inside a monitor.
+    private final ReentrantLock lock = new ReentrantLock();
+    private long sequence;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public WorkflowEventStream(JsonMapper jsonMapper, InvalidationBus bus, DomainEventBus events, MeterRegistry meters,
+            @Value("${app.workflow.stream.replay-size:1000}") int replaySize,
+            @Value("${app.workflow.stream.heartbeat:25s}") Duration heartbeat,
+            @Value("${app.workflow.stream.timeout:30m}") Duration timeout,
+            @Value("${app.workflow.stream.queue-size:256}") int queueSize) {
+        this.jsonMapper = jsonMapper;
+        this.node = bus.nodeId().substring(0, 8);
+        this.replay = new Event[replaySize];
+        this.heartbeat = heartbeat;
+        this.timeout = timeout;
+        this.queueSize = queueSize;
+        bus.subscribe(CacheNames.WORKFLOWS, key -> changedElsewhere(key == null ? null : Long.valueOf(key)));
+        events.subscribe("workflow-stream", this::append);
+        Gauge.builder("workflow.stream.subscribers", subscribers, Set::size)
+                .description("Open workflow change streams")
+                .register(meters);
+    }
+
+    /** Streams events for workflows created by {@code creatorId}, or all workflows when it is null. */
+    public SseEmitter subscribe(Long creatorId, String lastEventId) {
+        return subscribe(creatorId, lastEventId, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(Long creatorId, String lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter, creatorId, new LinkedBlockingQueue<>(replay.length + queueSize));
+        lock.lock();
+        try {
+            if (lastEventId != null) {
+                replayInto(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscriber.close());
+        subscriber.thread = Thread.ofVirtual().name("workflow-stream").start(subscriber);
+        return emitter;
+    }
+
+    void append(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event instanceof WorkflowCreated created) {
+                append(CREATED, created.workflow(), created.creatorId(), null);
+            } else if (event instanceof WorkflowStatusChanged changed) {
+                append(STATUS_CHANGED, changed.workflow(), changed.creatorId(), changed.previousStatus());
+            }
+        }
+    }
+
+    private void append(String type, WorkflowDTO workflow, Long creatorId, String previousStatus) {
+        String json = jsonMapper.writeValueAsString(new WorkflowEvent(type, workflow, previousStatus));
+        List<Subscriber> behind = new ArrayList<>();
+        lock.lock();
+        try {
+            long next = ++sequence;
+            Event event = new Event(node + "-" + next, type, creatorId, json);
+            replay[(int) (next % replay.length)] = event;
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.offer(event)) {
+                    behind.add(subscriber);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Completing calls back into the container, so never with the lock held
+        behind.forEach(Subscriber::disconnect);
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(s -> s.emitter.complete());
+    }
+
+    private void changedElsewhere(Long creatorId) {
+        String json = creatorId == null ? "{}" : "{\"creatorId\":\"" + creatorId + "\"}";
+        Event hint = new Event(null, CHANGED_ELSEWHERE, creatorId, json);
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.offer(hint)) {
+                subscriber.disconnect();
+            }
+        }
+    }
+
+    private void replayInto(Subscriber subscriber, String lastEventId) {
+        int dash = lastEventId.lastIndexOf('-');
+        long last;
+        try {
+            last = dash > 0 && lastEventId.substring(0, dash).equals(node)
+                    ? Long.parseLong(lastEventId.substring(dash + 1))
+                    : -1;
+        } catch (NumberFormatException e) {
+            last = -1;
+        }
+        long oldest = Math.max(1, sequence - replay.length + 1);
+        if (last < 0 || last > sequence || last + 1 < oldest) {
+            subscriber.offer(new Event(null, RESET, null, "{}"));
+            return;
+        }
+        for (long s = last + 1; s <= sequence; s++) {
+            subscriber.offer(replay[(int) (s % replay.length)]);
+        }
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private final Long creatorId;
+        private final BlockingQueue<Event> queue;
+        private volatile boolean closed;
+        private volatile Thread thread;
+
+        Subscriber(SseEmitter emitter, Long creatorId, BlockingQueue<Event> queue) {
+            this.emitter = emitter;
+            this.creatorId = creatorId;
+            this.queue = queue;
+        }
+
+        /**
+         * Queues the event if the subscriber may see it: everything, or only its own, like the
+         * workflow list. False when the queue is full and the subscriber must be disconnected.
+         */
+        boolean offer(Event event) {
+            if (creatorId != null && event.creatorId() != null && !creatorId.equals(event.creatorId())) {
+                return true;
+            }
+            return queue.offer(event);
+        }
+
+        // Too far behind to keep up; the client reconnects and replays from Last-Event-ID
+        void disconnect() {
+            emitter.complete();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!closed) {
+                    Event event = queue.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        emitter.send(SseEmitter.event().comment("keep-alive"));
+                        continue;
+                    }
+                    SseEmitter.SseEventBuilder builder = SseEmitter.event().name(event.type()).data(event.json());
+                    if (event.id() != null) {
+                        builder.id(event.id());
+                    }
+                    emitter.send(builder);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the emitter already completed; the container cleans up
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                subscribers.remove(this);
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            Thread running = thread;
+            if (running != null) {
+                running.interrupt();
+            }
+        }
+    }
+}
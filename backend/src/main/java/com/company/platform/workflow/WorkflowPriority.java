@@ -0,0 +1,34 @@
+package com.company.platform.workflow;
+
+import com.company.platform.common.BusinessException;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Declared from least to most urgent: the ordinal is the rank stored in
+ * {@code review_queue.priority_rank}, so new values go in by rank, not at the end.
+ */
+public enum WorkflowPriority {
+    LOW,
+    MEDIUM,
+    HIGH,
+    URGENT;
+
+    /** Case-insensitive, so clients sending {@code "high"} keep working; missing means MEDIUM. */
+    public static WorkflowPriority parse(String priority) {
+        if (priority == null || priority.isBlank()) {
+            return MEDIUM;
+        }
+        try {
+            return valueOf(priority.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Invalid priority: " + priority + ". Valid priorities are: "
+                    + Arrays.toString(values()));
+        }
+    }
+
+    public int rank() {
+        return ordinal();
+    }
+}
@@ -0,0 +1,196 @@
+package com.company.platform.workflow;
+
+import com.company.platform.auth.UserDTO;
+import com.company.platform.common.BusinessException;
+import com.company.platform.users.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sparse fieldsets ({@code fields=id,title,status}) and the normalized list shape
+ * ({@code shape=normalized}) for workflow lists.
+ *
+ * Only the requested columns are selected, and the creator is read as its foreign
+ * key without joining users. Creators are then loaded once per distinct id. In the
+ * normalized shape rows carry the creator id and each creator appears once under
+ * {@code included.users}; otherwise rows embed the creator as {@link WorkflowDTO} does.
+ */
+@Component
+public class WorkflowProjection {
+
+    // Keeps the IN lists used to load creators at a sane size
+    private static final int CREATOR_BATCH = 1000;
+
+    /** Fields {@code fields=} can name, in response order. */
+    public enum Field {
+        ID("id"),
+        TITLE("title"),
+        DESCRIPTION("description"),
+        STATUS("status"),
+        PRIORITY("priority"),
+        CATEGORY("category"),
+        CREATED_BY("createdBy"),
+        CREATED_AT("createdAt"),
+        UPDATED_AT("updatedAt");
+
+        private final String fieldName;
+
+        Field(String fieldName) {
+            this.fieldName = fieldName;
+        }
+
+        public String fieldName() {
+            return fieldName;
+        }
+    }
+
+    public record Normalized(List<Map<String, Object>> data, Map<String, Map<String, UserDTO>> included) {
+    }
+
+    private final EntityManager entityManager;
+
+    public WorkflowProjection(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /** Comma-separated field names; null or blank selects every field. */
+    public static List<Field> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return List.of(Field.values());
+        }
+        Set<Field> selected = EnumSet.noneOf(Field.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(Arrays.stream(Field.values())
+                    .filter(f -> f.fieldName.equalsIgnoreCase(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new BusinessException("Unknown field '" + trimmed + "'. Valid fields are: "
+                            + Arrays.stream(Field.values()).map(Field::fieldName).toList())));
+        }
+        return List.copyOf(selected);
+    }
+
+    /** {@code shape=normalized} or {@code shape=embedded} (the default). */
+    public static boolean isNormalized(String shape) {
+        if (shape == null || shape.isBlank() || shape.equalsIgnoreCase("embedded")) {
+            return false;
+        }
+        if (shape.equalsIgnoreCase("normalized")) {
+            return true;
+        }
+        throw new BusinessException("Unknown shape '" + shape + "'. Valid shapes are: [embedded, normalized]");
+    }
+
+    /**
+     * Workflows ordered by id with only {@code fields} selected, limited to one creator
+     * unless {@code creatorId} is null. Returns a {@link Normalized} or a list of rows.
+     */
+    public Object select(List<Field> fields, Long creatorId, boolean normalized) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Workflow> root = query.from(Workflow.class);
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (Field field : fields) {
+            selections.add(path(root, field));
+        }
+        query.select(cb.tuple(selections));
+        if (creatorId != null) {
+            query.where(cb.equal(root.get("createdBy").get("id"), creatorId));
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        List<Object[]> rows = entityManager.createQuery(query).getResultList().stream()
+                .map(Tuple::toArray)
+                .toList();
+
+        int creatorColumn = fields.indexOf(Field.CREATED_BY);
+        Map<Long, UserDTO> creators = creatorColumn < 0 ? Map.of() : loadCreators(rows, creatorColumn);
+        return assemble(fields, rows, creators, normalized);
+    }
+
+    /** Builds the response from selected values; separate so it can be benchmarked without a database. */
+    static Object assemble(List<Field> fields, List<Object[]> rows, Map<Long, UserDTO> creators, boolean normalized) {
+        List<Map<String, Object>> data = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Map<String, Object> out = new LinkedHashMap<>(fields.size() * 2);
+            for (int i = 0; i < fields.size(); i++) {
+                Field field = fields.get(i);
+                Object value = row[i];
+                if (field == Field.CREATED_BY && value != null) {
+                    out.put(field.fieldName, normalized ? value.toString() : creators.get((Long) value));
+                } else {
+                    out.put(field.fieldName, json(value));
+                }
+            }
+            data.add(out);
+        }
+        if (!normalized) {
+            return data;
+        }
+        Map<String, UserDTO> users = new LinkedHashMap<>(creators.size() * 2);
+        creators.forEach((id, user) -> users.put(id.toString(), user));
+        return new Normalized(data, Map.of("users", users));
+    }
+
+    private static Path<?> path(Root<Workflow> root, Field field) {
+        return field == Field.CREATED_BY ? root.get("createdBy").get("id") : root.get(field.fieldName);
+    }
+
+    // Same representations as WorkflowDTO: ids and timestamps as strings, enums by name
+    private static Object json(Object value) {
+        if (value instanceof Long || value instanceof LocalDateTime) {
+            return value.toString();
+        }
+        if (value instanceof Enum<?> e) {
+            return e.name();
+        }
+        return value;
+    }
+
+    private Map<Long, UserDTO> loadCreators(List<Object[]> rows, int column) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Object[] row : rows) {
+            if (row[column] != null) {
+                ids.add((Long) row[column]);
+            }
+        }
+        List<Long> pending = new ArrayList<>(ids);
+        Map<Long, UserDTO> creators = new HashMap<>(ids.size() * 2);
+        for (int from = 0; from < pending.size(); from += CREATOR_BATCH) {
+            List<Long> batch = pending.subList(from, Math.min(from + CREATOR_BATCH, pending.size()));
+            entityManager.createQuery("select u from User u where u.id in :ids", User.class)
+                    .setParameter("ids", batch)
+                    .getResultList()
+                    .forEach(u -> creators.put(u.getId(), WorkflowService.mapToDTO(u)));
+        }
+        // First-seen order, so the included map follows the rows
+        Map<Long, UserDTO> ordered = new LinkedHashMap<>(creators.size() * 2);
+        for (Long id : ids) {
+            UserDTO user = creators.get(id);
+            if (user != null) {
+                ordered.put(id, user);
+            }
+        }
+        return ordered;
+    }
+}
@@ -1,5 +1,10 @@
 package com.company.platform.workflow;
 
+import com.company.platform.cache.CacheNames;
+import com.company.platform.cache.ChangeVersions;
+import com.company.platform.cache.InvalidationBus;
+import com.company.platform.events.DomainEventBus;
+import com.company.platform.events.WorkflowStatusChanged;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -11,9 +16,18 @@ import java.util.List;
 public class WorkflowSchedulerService {
 
     private final WorkflowRepository workflowRepository;
+    private final ChangeVersions changeVersions;
+    private final InvalidationBus invalidationBus;
+    private final DomainEventBus events;
+    private final WorkflowService workflowService;
 
-    public WorkflowSchedulerService(WorkflowRepository workflowRepository) {
+    public WorkflowSchedulerService(WorkflowRepository workflowRepository, ChangeVersions changeVersions,
+            InvalidationBus invalidationBus, DomainEventBus events, WorkflowService workflowService) {
         this.workflowRepository = workflowRepository;
+        this.changeVersions = changeVersions;
+        this.invalidationBus = invalidationBus;
+        this.events = events;
+        this.workflowService = workflowService;
     }
 
     /**
@@ -37,6 +51,12 @@ public class WorkflowSchedulerService {
             });
 
             workflowRepository.saveAll(approvedWorkflows);
+            changeVersions.workflowsChanged(null);
+            invalidationBus.publish(CacheNames.WORKFLOWS, null);
+            // Subscribers (the event stream among them) see these like a status change made through the API
+            approvedWorkflows.forEach(workflow -> events.publish(new WorkflowStatusChanged(
+                    workflowService.mapToDTO(workflow), workflow.getCreatedBy().getId(),
+                    WorkflowStatus.APPROVED.name())));
             System.out.println("Auto-completed " + approvedWorkflows.size() + " workflows");
         }
     }
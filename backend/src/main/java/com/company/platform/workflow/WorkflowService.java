@@ -1,114 +1,231 @@
 package com.company.platform.workflow;
 
 import com.company.platform.auth.UserDTO;
+import com.company.platform.cache.CacheNames;
+import com.company.platform.cache.ChangeVersions;
+import com.company.platform.cache.InvalidationBus;
 import com.company.platform.common.BusinessException;
-import com.company.platform.users.Role;
+import com.company.platform.common.PageResponse;
+import com.company.platform.events.DomainEventBus;
+import com.company.platform.events.WorkflowCreated;
+import com.company.platform.events.WorkflowStatusChanged;
+import com.company.platform.rules.RuleContext;
+import com.company.platform.rules.RuleEngine;
+import com.company.platform.security.AuthenticatedUser;
 import com.company.platform.users.User;
 import com.company.platform.users.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 public class WorkflowService {
 
+    private static final int MAX_ARCHIVE_PAGE_SIZE = 200;
+
     private final WorkflowRepository workflowRepository;
+    private final ArchivedWorkflowRepository archivedWorkflowRepository;
     private final UserRepository userRepository;
-
-    public WorkflowService(WorkflowRepository workflowRepository, UserRepository userRepository) {
+    private final RuleEngine ruleEngine;
+    private final WorkflowProjection projection;
+    private final ChangeVersions changeVersions;
+    private final InvalidationBus invalidationBus;
+    private final DomainEventBus events;
+    private final ReviewQueue reviewQueue;
+
+    public WorkflowService(WorkflowRepository workflowRepository,
+            ArchivedWorkflowRepository archivedWorkflowRepository, UserRepository userRepository,
+            RuleEngine ruleEngine, WorkflowProjection projection, ChangeVersions changeVersions,
+            InvalidationBus invalidationBus, DomainEventBus events, ReviewQueue reviewQueue) {
         this.workflowRepository = workflowRepository;
+        this.archivedWorkflowRepository = archivedWorkflowRepository;
         this.userRepository = userRepository;
+        this.ruleEngine = ruleEngine;
+        this.projection = projection;
+        this.changeVersions = changeVersions;
+        this.invalidationBus = invalidationBus;
+        this.events = events;
+        this.reviewQueue = reviewQueue;
     }
 
     @Transactional
-    public WorkflowDTO createWorkflow(CreateWorkflowRequest request, String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new BusinessException("User not found: " + username));
+    @Timed(value = "workflow.service", histogram = true)
+    public WorkflowDTO createWorkflow(CreateWorkflowRequest request, AuthenticatedUser principal) {
+        // The response and the workflow.created event show the creator's name and email, which the
+        // principal does not carry; the users region of the second-level cache normally serves the row
+        User user = userRepository.findById(principal.userId())
+                .orElseThrow(() -> new BusinessException("User not found"));
 
         Workflow workflow = new Workflow();
         workflow.setTitle(request.title());
         workflow.setDescription(request.description());
-        workflow.setPriority(request.priority());
+        workflow.setPriority(WorkflowPriority.parse(request.priority()));
         workflow.setCategory(request.category());
         workflow.setStatus(WorkflowStatus.DRAFT);
         workflow.setCreatedBy(user);
 
+        ruleEngine.enforce(RuleContext.forCreate(workflow, principal));
+
         Workflow saved = workflowRepository.save(workflow);
-        return mapToDTO(saved);
+        changed(principal.userId());
+        WorkflowDTO dto = mapToDTO(saved);
+        events.publish(new WorkflowCreated(dto, principal.userId()));
+        return dto;
     }
 
     @Transactional(readOnly = true)
-    public List<WorkflowDTO> getWorkflows(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new BusinessException("User not found"));
-
+    @Timed(value = "workflow.service", histogram = true)
+    public List<WorkflowDTO> getWorkflows(AuthenticatedUser principal) {
         List<Workflow> workflows;
-        if (user.getRole() == Role.ADMIN || user.getRole() == Role.MANAGER || user.getRole() == Role.REVIEWER) {
+        if (principal.canSeeAllWorkflows()) {
             workflows = workflowRepository.findAll();
         } else {
-            workflows = workflowRepository.findByCreatedBy_Id(user.getId());
+            workflows = workflowRepository.findByCreatedBy_Id(principal.userId());
         }
 
         return workflows.stream().map(this::mapToDTO).collect(Collectors.toList());
     }
 
+    /** The same list with only {@code fields} selected, see {@link WorkflowProjection}. */
+    @Transactional(readOnly = true)
+    @Timed(value = "workflow.service", histogram = true)
+    public Object getWorkflows(AuthenticatedUser principal, String fields, String shape) {
+        return projection.select(WorkflowProjection.parseFields(fields),
+                principal.canSeeAllWorkflows() ? null : principal.userId(),
+                WorkflowProjection.isNormalized(shape));
+    }
+
+    @Transactional(readOnly = true)
+    @Timed(value = "workflow.service", histogram = true)
+    public WorkflowDTO getWorkflow(Long id, AuthenticatedUser principal) {
+        Workflow workflow = workflowRepository.findById(id)
+                .filter(w -> principal.canSeeAllWorkflows() || principal.userId().equals(w.getCreatedBy().getId()))
+                .orElseThrow(() -> new BusinessException("Workflow not found"));
+        return mapToDTO(workflow);
+    }
+
+    /**
+     * Claims the next queued workflow for review and returns it with the lease. Read-write, so the
+     * workflow is read on the primary that took the claim, and a failed read rolls the claim back
+     * instead of leaving it leased.
+     */
     @Transactional
-    public WorkflowDTO updateStatus(Long id, String status, String username) {
-        // First, check if the user exists and has permission (e.g., is an admin,
-        // manager, or the creator)
-        User currentUser = userRepository.findByUsername(username)
-                .orElseThrow(() -> new BusinessException("User not found"));
+    @Timed(value = "workflow.service", histogram = true)
+    public Optional<ReviewClaimDTO> claimForReview(AuthenticatedUser principal) {
+        return reviewQueue.claim(principal.userId())
+                .map(claim -> new ReviewClaimDTO(getWorkflow(claim.workflowId(), principal),
+                        claim.leaseExpiresAt().toInstant(ZoneOffset.UTC).toString()));
+    }
+
+    /** Archived (terminal) workflows, newest first; only the caller's own unless they can see all. */
+    @Transactional(readOnly = true)
+    @Timed(value = "workflow.service", histogram = true)
+    public PageResponse<WorkflowDTO> getArchivedWorkflows(AuthenticatedUser principal, int page, int size) {
+        PageRequest pageable = PageRequest.of(Math.max(0, page), Math.min(Math.max(1, size), MAX_ARCHIVE_PAGE_SIZE),
+                Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+        Page<ArchivedWorkflow> archived = principal.canSeeAllWorkflows()
+                ? archivedWorkflowRepository.findAll(pageable)
+                : archivedWorkflowRepository.findByCreatedBy_Id(principal.userId(), pageable);
+        return PageResponse.of(archived.map(this::mapToDTO));
+    }
+
+    @Transactional(readOnly = true)
+    @Timed(value = "workflow.service", histogram = true)
+    public WorkflowDTO getArchivedWorkflow(Long id, AuthenticatedUser principal) {
+        ArchivedWorkflow workflow = archivedWorkflowRepository.findById(id)
+                .filter(w -> principal.canSeeAllWorkflows() || principal.userId().equals(w.getCreatedBy().getId()))
+                .orElseThrow(() -> new BusinessException("Archived workflow not found"));
+        return mapToDTO(workflow);
+    }
 
+    @Transactional
+    @Timed(value = "workflow.service", histogram = true)
+    public WorkflowDTO updateStatus(Long id, String status, AuthenticatedUser principal) {
         Workflow workflow = workflowRepository.findById(id)
                 .orElseThrow(() -> new BusinessException("Workflow not found"));
 
         // Basic permission check: only creator, admin, manager, or reviewer can update
         // status
-        boolean hasPermission = currentUser.getId().equals(workflow.getCreatedBy().getId()) ||
-                currentUser.getRole() == Role.ADMIN ||
-                currentUser.getRole() == Role.MANAGER ||
-                currentUser.getRole() == Role.REVIEWER;
+        boolean hasPermission = principal.userId().equals(workflow.getCreatedBy().getId()) ||
+                principal.canSeeAllWorkflows();
 
         if (!hasPermission) {
             throw new BusinessException("User does not have permission to update this workflow's status.");
         }
 
+        WorkflowStatus newStatus;
         try {
-            WorkflowStatus newStatus = WorkflowStatus.valueOf(status.toUpperCase()); // Ensure status is uppercase for
-                                                                                     // enum matching
-            workflow.setStatus(newStatus);
-            Workflow saved = workflowRepository.save(workflow);
-            return mapToDTO(saved);
+            newStatus = WorkflowStatus.valueOf(status.toUpperCase()); // Ensure status is uppercase for
+                                                                      // enum matching
         } catch (IllegalArgumentException e) {
             throw new BusinessException("Invalid status: " + status + ". Valid statuses are: "
                     + java.util.Arrays.toString(WorkflowStatus.values()));
         }
+
+        String previousStatus = workflow.getStatus().name();
+        workflow.setStatus(newStatus);
+        ruleEngine.enforce(RuleContext.forTransition(workflow, previousStatus,
+                workflow.getCreatedBy().getDepartment(), principal));
+
+        Workflow saved = workflowRepository.save(workflow);
+        reviewQueue.statusChanged(saved.getId(), newStatus, saved.getPriority(), saved.getCreatedAt());
+        Long creatorId = saved.getCreatedBy().getId();
+        changed(creatorId);
+        WorkflowDTO dto = mapToDTO(saved);
+        events.publish(new WorkflowStatusChanged(dto, creatorId, previousStatus));
+        return dto;
     }
 
-    private WorkflowDTO mapToDTO(Workflow w) {
-        User u = w.getCreatedBy();
-        UserDTO userDto = new UserDTO(
-                u.getId().toString(),
-                u.getEmail(),
-                u.getFirstName(),
-                u.getLastName(),
-                u.getRole(),
-                null,
-                null,
-                u.getCreatedAt().toString(),
-                u.getUpdatedAt().toString());
+    // Moves the list ETags here after commit and on the other nodes via the bus
+    private void changed(Long creatorId) {
+        changeVersions.workflowsChanged(creatorId);
+        invalidationBus.publish(CacheNames.WORKFLOWS, creatorId);
+    }
 
+    WorkflowDTO mapToDTO(Workflow w) {
         return new WorkflowDTO(
                 w.getId().toString(),
                 w.getTitle(),
                 w.getDescription(),
                 w.getStatus().name(),
-                w.getPriority(),
+                w.getPriority().name(),
                 w.getCategory(),
-                userDto,
+                mapToDTO(w.getCreatedBy()),
                 w.getCreatedAt().toString(),
                 w.getUpdatedAt().toString());
     }
+
+    WorkflowDTO mapToDTO(ArchivedWorkflow w) {
+        return new WorkflowDTO(
+                w.getId().toString(),
+                w.getTitle(),
+                w.getDescription(),
+                w.getStatus().name(),
+                w.getPriority().name(),
+                w.getCategory(),
+                mapToDTO(w.getCreatedBy()),
+                w.getCreatedAt().toString(),
+                w.getUpdatedAt() != null ? w.getUpdatedAt().toString() : null);
+    }
+
+    static UserDTO mapToDTO(User u) {
+        return new UserDTO(
+                u.getId().toString(),
+                u.getEmail(),
+                u.getFirstName(),
+                u.getLastName(),
+                u.getRole(),
+                null,
+                null,
+                u.getCreatedAt().toString(),
+                u.getUpdatedAt().toString());
+    }
 }
@@ -1,5 +1,6 @@
 package com.company.platform.workflows;
 
+import com.company.platform.common.IdBlocks;
 
 
 import jakarta.persistence.*;
@@ -8,7 +9,10 @@ import java.time.LocalDateTime;
 @Entity
 public class WorkflowHistory {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "workflow_history_ids")
+    @TableGenerator(name = "workflow_history_ids", table = IdBlocks.TABLE, pkColumnName = IdBlocks.NAME_COLUMN,
+            valueColumnName = IdBlocks.VALUE_COLUMN, pkColumnValue = "workflow_history", allocationSize = IdBlocks.BLOCK_SIZE)
     private Long id;
 
     private String fromStatus;
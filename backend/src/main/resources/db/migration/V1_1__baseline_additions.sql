@@ -0,0 +1,33 @@
+-- Tables and constraints the entities gained before migrations existed but that
+-- the version 1 databases do not have.
+
+-- Rule text now holds expressions, plus the message shown when a rule rejects a change
+alter table business_rule modify rule_value varchar(2000);
+alter table business_rule add column message varchar(255);
+alter table business_rule add column active bit not null default 1;
+alter table business_rule add constraint uk_business_rule_key unique (rule_key);
+
+alter table users add constraint uk_users_username unique (username);
+
+create table revoked_tokens (
+    id bigint not null,
+    token_id varchar(64),
+    username varchar(255) not null,
+    revoked_at datetime(6) not null,
+    expires_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table cache_invalidation (
+    id bigint not null auto_increment,
+    cache_name varchar(64) not null,
+    cache_key varchar(255),
+    origin varchar(64) not null,
+    created_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+-- Ids now come from id_blocks (V2); the per-table generator tables are unused
+drop table if exists audit_log_seq;
+drop table if exists business_rule_seq;
+drop table if exists workflow_history_seq;
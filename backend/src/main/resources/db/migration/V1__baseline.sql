@@ -0,0 +1,79 @@
+-- Schema as created by ddl-auto: update before migrations existed, as Hibernate
+-- generates it for MySQL. Databases that already have these tables are baselined
+-- at this version (spring.flyway.baseline-on-migrate) and only run the migrations
+-- after it, so this file must not change: later schema changes go in new versions.
+
+create table audit_log_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into audit_log_seq ( next_val ) values ( 1 );
+
+create table audit_log (
+    id bigint not null,
+    action varchar(255),
+    at datetime(6),
+    entity varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table business_rule_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into business_rule_seq ( next_val ) values ( 1 );
+
+create table business_rule (
+    id bigint not null,
+    rule_key varchar(255),
+    rule_value varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    id bigint not null auto_increment,
+    active bit not null,
+    created_at datetime(6) not null,
+    deleted bit not null,
+    department varchar(255),
+    email varchar(255),
+    first_name varchar(255),
+    last_name varchar(255),
+    password varchar(255),
+    role enum ('ADMIN','MANAGER','REVIEWER','USER','VIEWER'),
+    updated_at datetime(6),
+    username varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table workflow_history_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into workflow_history_seq ( next_val ) values ( 1 );
+
+create table workflow_history (
+    id bigint not null,
+    changed_at datetime(6),
+    from_status varchar(255),
+    to_status varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table workflows (
+    id bigint not null auto_increment,
+    category varchar(255),
+    created_at datetime(6) not null,
+    description varchar(1000),
+    priority varchar(255),
+    status enum ('APPROVED','CANCELLED','COMPLETED','DRAFT','IN_REVIEW','REJECTED','REOPENED','SUBMITTED'),
+    title varchar(255),
+    updated_at datetime(6),
+    created_by_user_id bigint,
+    primary key (id)
+) engine=InnoDB;
+
+alter table workflows 
+   add constraint FK74h6iqsrq31g0lxja1ownn9x 
+   foreign key (created_by_user_id) 
+   references users (id);
@@ -0,0 +1,35 @@
+-- Both tables may already exist: id_blocks was created by ddl-auto once entities
+-- moved to table-generated ids, app_seed_version by DataSeeder itself.
+-- Counters start after the rows already present; IdBlocks re-checks this at startup.
+
+create table if not exists id_blocks (
+    sequence_name varchar(255) not null,
+    next_val bigint,
+    primary key (sequence_name)
+) engine=InnoDB;
+
+insert into id_blocks (sequence_name, next_val)
+select 'users', coalesce(max(id), 0) from users
+where not exists (select 1 from id_blocks where sequence_name = 'users');
+insert into id_blocks (sequence_name, next_val)
+select 'workflows', coalesce(max(id), 0) from workflows
+where not exists (select 1 from id_blocks where sequence_name = 'workflows');
+insert into id_blocks (sequence_name, next_val)
+select 'workflow_history', coalesce(max(id), 0) from workflow_history
+where not exists (select 1 from id_blocks where sequence_name = 'workflow_history');
+insert into id_blocks (sequence_name, next_val)
+select 'audit_log', coalesce(max(id), 0) from audit_log
+where not exists (select 1 from id_blocks where sequence_name = 'audit_log');
+insert into id_blocks (sequence_name, next_val)
+select 'business_rule', coalesce(max(id), 0) from business_rule
+where not exists (select 1 from id_blocks where sequence_name = 'business_rule');
+insert into id_blocks (sequence_name, next_val)
+select 'revoked_tokens', coalesce(max(id), 0) from revoked_tokens
+where not exists (select 1 from id_blocks where sequence_name = 'revoked_tokens');
+
+create table if not exists app_seed_version (
+    id int not null,
+    version int not null,
+    applied_at timestamp not null,
+    primary key (id)
+) engine=InnoDB;
@@ -0,0 +1,19 @@
+-- Indexes for the lookup and listing paths (see SchemaIndexTest)
+
+-- Login and JWT resolution (findByEmail), bulk de-duplication (findExistingIdentities).
+-- findByEmail returns a single row, so duplicates were already an error.
+create unique index ux_users_email on users (email);
+
+-- "My workflows" (findByCreatedBy_Id), newest first; also serves the foreign key
+create index idx_workflows_created_by_created_at on workflows (created_by_user_id, created_at);
+-- Status queues and dashboard counts
+create index idx_workflows_status on workflows (status);
+-- Recently changed workflows
+create index idx_workflows_updated_at on workflows (updated_at);
+create index idx_workflows_category on workflows (category);
+
+-- Revocation list load (findByExpiresAtAfter) and deleteExpired
+create index idx_revoked_tokens_expires_at on revoked_tokens (expires_at);
+
+-- Retention delete in InvalidationBus
+create index idx_cache_invalidation_created_at on cache_invalidation (created_at);
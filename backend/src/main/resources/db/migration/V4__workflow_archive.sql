@@ -0,0 +1,30 @@
+-- Cold tier for terminal workflows, filled in chunks by WorkflowArchiver.
+-- Same shape as workflows, including the creator foreign key.
+
+create table workflows_archive (
+    id bigint not null,
+    title varchar(255),
+    description varchar(1000),
+    status enum ('APPROVED','CANCELLED','COMPLETED','DRAFT','IN_REVIEW','REJECTED','REOPENED','SUBMITTED'),
+    priority varchar(255),
+    category varchar(255),
+    created_by_user_id bigint,
+    created_at datetime(6) not null,
+    updated_at datetime(6),
+    archived_at datetime(6) not null,
+    primary key (id),
+    constraint fk_workflows_archive_created_by foreign key (created_by_user_id) references users (id)
+) engine=InnoDB;
+
+create index idx_workflows_archive_created_by_created_at on workflows_archive (created_by_user_id, created_at);
+create index idx_workflows_archive_created_at on workflows_archive (created_at);
+
+-- What the dashboard needs from archived rows, updated in the same transaction as each move.
+-- department is '' for creators without one; created_month is 1-12.
+create table workflow_archive_counts (
+    status varchar(32) not null,
+    department varchar(255) not null,
+    created_month int not null,
+    workflow_count bigint not null,
+    primary key (status, department, created_month)
+) engine=InnoDB;
@@ -0,0 +1,15 @@
+-- Transactional outbox for DomainEventBus. Each event is inserted in the transaction that
+-- caused it and marked published once every subscriber has handled it; rows still
+-- unpublished after a crash are redelivered. origin is the node delivering the row.
+
+create table domain_event_outbox (
+    id bigint not null auto_increment,
+    event_type varchar(100) not null,
+    payload text not null,
+    origin varchar(64) not null,
+    created_at datetime(6) not null,
+    published_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_domain_event_outbox_pending on domain_event_outbox (published_at, created_at);
@@ -0,0 +1,22 @@
+-- Files attached to workflows. Only metadata lives here: content is stored by
+-- AttachmentStore on disk under its SHA-256, so identical uploads share one file.
+-- No foreign key to workflows, since the workflow may move to workflows_archive.
+
+create table workflow_attachments (
+    id bigint not null,
+    workflow_id bigint not null,
+    file_name varchar(255) not null,
+    content_type varchar(255) not null,
+    size_bytes bigint not null,
+    sha256 char(64) not null,
+    uploaded_by_user_id bigint,
+    created_at datetime(6) not null,
+    primary key (id),
+    constraint fk_workflow_attachments_uploaded_by foreign key (uploaded_by_user_id) references users (id)
+) engine=InnoDB;
+
+create index idx_workflow_attachments_workflow_id on workflow_attachments (workflow_id);
+
+insert into id_blocks (sequence_name, next_val)
+select 'workflow_attachments', coalesce(max(id), 0) from workflow_attachments
+where not exists (select 1 from id_blocks where sequence_name = 'workflow_attachments');
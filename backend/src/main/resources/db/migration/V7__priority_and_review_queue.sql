@@ -0,0 +1,34 @@
+-- priority becomes WorkflowPriority. Free-form values are normalized; anything
+-- unrecognised, or missing, becomes MEDIUM.
+
+update workflows set priority = upper(trim(priority)) where priority is not null;
+update workflows set priority = 'MEDIUM' where priority is null or priority not in ('LOW', 'MEDIUM', 'HIGH', 'URGENT');
+alter table workflows modify priority enum ('LOW','MEDIUM','HIGH','URGENT') not null default 'MEDIUM';
+
+update workflows_archive set priority = upper(trim(priority)) where priority is not null;
+update workflows_archive set priority = 'MEDIUM'
+where priority is null or priority not in ('LOW', 'MEDIUM', 'HIGH', 'URGENT');
+alter table workflows_archive modify priority enum ('LOW','MEDIUM','HIGH','URGENT') not null default 'MEDIUM';
+
+-- Reviewer work queue (ReviewQueue): one row per SUBMITTED / IN_REVIEW workflow, in
+-- claim order on idx_review_queue_order. A claim sets the lease columns with a
+-- conditional update, so two nodes can never hand out the same workflow.
+
+create table review_queue (
+    workflow_id bigint not null,
+    priority_rank tinyint not null,
+    created_at datetime(6) not null,
+    claimed_by_user_id bigint,
+    lease_expires_at datetime(6),
+    primary key (workflow_id),
+    constraint fk_review_queue_workflow foreign key (workflow_id) references workflows (id) on delete cascade
+) engine=InnoDB;
+
+create index idx_review_queue_order on review_queue (priority_rank desc, created_at, workflow_id);
+
+insert into review_queue (workflow_id, priority_rank, created_at)
+select id,
+       case priority when 'URGENT' then 3 when 'HIGH' then 2 when 'MEDIUM' then 1 else 0 end,
+       created_at
+from workflows
+where status in ('SUBMITTED', 'IN_REVIEW');
@@ -0,0 +1,11 @@
+-- Lower-case copies of the columns the user directory searches, so a case-insensitive
+-- prefix search (UserRepository.findSummaries) is a range scan on an index instead of
+-- lower() over every row. Virtual: computed on read, only the indexes take space.
+
+alter table users add column email_search varchar(255) generated always as (lower(email));
+alter table users add column first_name_search varchar(255) generated always as (lower(first_name));
+alter table users add column last_name_search varchar(255) generated always as (lower(last_name));
+
+create index idx_users_email_search on users (email_search);
+create index idx_users_first_name_search on users (first_name_search);
+create index idx_users_last_name_search on users (last_name_search);
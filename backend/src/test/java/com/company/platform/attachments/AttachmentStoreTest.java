@@ -0,0 +1,61 @@
+package com.company.platform.attachments;
+
+import com.company.platform.common.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AttachmentStoreTest {
+
+	@TempDir
+	Path root;
+
+	@Test
+	void storesUnderTheContentHashAndDeduplicates() throws Exception {
+		AttachmentStore store = new AttachmentStore(root);
+		// Several chunks, so hashing has to carry across buffer refills
+		byte[] content = new byte[300_000];
+		new Random(42).nextBytes(content);
+		String expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+
+		AttachmentStore.Blob first = store.store(new ByteArrayInputStream(content), 1_000_000);
+		AttachmentStore.Blob second = store.store(new ByteArrayInputStream(content), 1_000_000);
+
+		assertEquals(expected, first.sha256());
+		assertEquals(content.length, first.size());
+		assertFalse(first.deduplicated());
+		assertTrue(second.deduplicated());
+		assertArrayEquals(content, Files.readAllBytes(store.path(expected)));
+		assertEquals(0, incomingFiles());
+	}
+
+	@Test
+	void refusesOversizedUploadsAndLeavesNothingBehind() throws IOException {
+		AttachmentStore store = new AttachmentStore(root);
+		byte[] content = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+		assertThrows(BusinessException.class, () -> store.store(new ByteArrayInputStream(content), 9));
+		assertEquals(0, incomingFiles());
+		assertThrows(IllegalArgumentException.class, () -> store.path("../../etc/passwd"));
+	}
+
+	private long incomingFiles() throws IOException {
+		try (var files = Files.list(root.resolve("incoming"))) {
+			return files.count();
+		}
+	}
+}
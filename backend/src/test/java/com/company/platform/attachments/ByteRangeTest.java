@@ -0,0 +1,37 @@
+package com.company.platform.attachments;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ByteRangeTest {
+
+	@Test
+	void parsesBoundedOpenAndSuffixRanges() {
+		assertEquals(new ByteRange(0, 99), ByteRange.parse("bytes=0-99", 1000));
+		assertEquals(new ByteRange(500, 999), ByteRange.parse("bytes=500-", 1000));
+		assertEquals(new ByteRange(900, 999), ByteRange.parse("bytes=-100", 1000));
+		// Clamped to the file
+		assertEquals(new ByteRange(990, 999), ByteRange.parse("bytes=990-5000", 1000));
+		assertEquals(new ByteRange(0, 9), ByteRange.parse("bytes=-5000", 10));
+		assertEquals(100, ByteRange.parse("bytes=0-99", 1000).length());
+	}
+
+	@Test
+	void sendsTheWholeFileForMissingMalformedOrMultipleRanges() {
+		assertNull(ByteRange.parse(null, 1000));
+		assertNull(ByteRange.parse("items=0-1", 1000));
+		assertNull(ByteRange.parse("bytes=abc", 1000));
+		assertNull(ByteRange.parse("bytes=5-1", 1000));
+		assertNull(ByteRange.parse("bytes=0-1,5-9", 1000));
+	}
+
+	@Test
+	void rejectsRangesPastTheEnd() {
+		assertThrows(ByteRange.Unsatisfiable.class, () -> ByteRange.parse("bytes=1000-", 1000));
+		assertThrows(ByteRange.Unsatisfiable.class, () -> ByteRange.parse("bytes=-0", 1000));
+		assertThrows(ByteRange.Unsatisfiable.class, () -> ByteRange.parse("bytes=0-", 0));
+	}
+}
@@ -0,0 +1,149 @@
+package com.company.platform.auth;
+
+import com.company.platform.cache.ChangeVersions;
+import com.company.platform.cache.InvalidationBus;
+import com.company.platform.datasource.ReplicaPool;
+import com.company.platform.datasource.ReplicaProperties;
+import com.company.platform.events.DomainEventBus;
+import com.company.platform.security.JwtUtil;
+import com.company.platform.security.PrincipalCache;
+import com.company.platform.users.Role;
+import com.company.platform.users.UserDirectoryIndex;
+import com.company.platform.users.UserPersistenceTestConfig;
+import com.company.platform.users.UserRepository;
+import com.company.platform.users.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class AuthServiceTest {
+
+	private static final long LIFETIME_MS = Duration.ofHours(1).toMillis();
+
+	@Configuration
+	@Import(UserPersistenceTestConfig.class)
+	static class Node {
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+		@Bean
+		InvalidationBus invalidationBus(JdbcTemplate jdbc, MeterRegistry meters) {
+			return new InvalidationBus(jdbc, meters, 10000, 500, Duration.ofHours(1));
+		}
+
+		@Bean
+		ChangeVersions changeVersions(InvalidationBus bus, MeterRegistry meters) {
+			ReplicaPool replicas = new ReplicaPool(new ReplicaProperties(null, null, null, 0, null, null),
+					new DataSourceProperties(), meters);
+			return new ChangeVersions(bus, replicas, new SimpleAsyncTaskScheduler());
+		}
+
+		@Bean
+		DomainEventBus domainEventBus(JdbcTemplate jdbc, MeterRegistry meters, InvalidationBus bus) {
+			return new DomainEventBus(jdbc, JsonMapper.builder().build(), meters, bus, 16, 8, Duration.ofSeconds(1),
+					Duration.ofMinutes(1), Duration.ofHours(1));
+		}
+
+		@Bean
+		PasswordEncoder passwordEncoder() {
+			return new BCryptPasswordEncoder(4);
+		}
+
+		@Bean
+		UserDirectoryIndex userDirectoryIndex(UserRepository repository) {
+			return new UserDirectoryIndex(repository);
+		}
+
+		// Revocation is not on the sign-up or password-change path
+		@Bean
+		UserService userService(UserRepository repository, PasswordEncoder encoder, UserDirectoryIndex directory,
+				InvalidationBus bus, ChangeVersions versions, DomainEventBus events) {
+			return new UserService(repository, encoder, new PrincipalCache(repository, 100, LIFETIME_MS), null,
+					directory, bus, versions, events);
+		}
+
+		@Bean
+		AuthService authService(UserRepository repository, PasswordEncoder encoder, UserService userService) {
+			return new AuthService(repository, new JwtUtil("THIS_IS_A_VERY_LONG_SECRET_KEY_12345678901234567890",
+					LIFETIME_MS), encoder, null, userService);
+		}
+	}
+
+	private AnnotationConfigApplicationContext context;
+	private JdbcTemplate jdbc;
+	private ChangeVersions versions;
+	private UserDirectoryIndex directory;
+	private AuthService auth;
+
+	@BeforeEach
+	void start() {
+		context = new AnnotationConfigApplicationContext(Node.class);
+		jdbc = context.getBean(JdbcTemplate.class);
+		versions = context.getBean(ChangeVersions.class);
+		directory = context.getBean(UserDirectoryIndex.class);
+		auth = context.getBean(AuthService.class);
+	}
+
+	@AfterEach
+	void stop() {
+		context.close();
+	}
+
+	private long published(String table, String column, String value) {
+		return jdbc.queryForObject("select count(*) from " + table + " where " + column + " = ?", Long.class, value);
+	}
+
+	@Test
+	void registrationChangesTheUsersETagAndReachesOtherNodesAndTheDirectory() {
+		String before = versions.usersTag();
+
+		LoginResponse response = auth.register(new RegisterRequest("new@example.com", "secret", null));
+
+		assertEquals(Role.USER, response.user().role());
+		assertNotEquals(before, versions.usersTag(), "a cached user list must not survive a sign-up");
+		assertEquals(1, directory.size());
+		assertEquals(1L, published("cache_invalidation", "cache_name", "users"));
+		assertEquals(1L, published("domain_event_outbox", "event_type", "UserChanged"));
+	}
+
+	@Test
+	void registeredUsersCanSignInWithTheirEmail() {
+		auth.register(new RegisterRequest("new@example.com", "secret", null));
+
+		LoginResponse response = auth.login(new LoginRequest("new@example.com", "secret"));
+
+		assertEquals("new@example.com", response.user().email());
+	}
+
+	@Test
+	void passwordChangeChangesTheUsersETag() {
+		auth.register(new RegisterRequest("new@example.com", "secret", null));
+		String before = versions.usersTag();
+
+		auth.changePassword("new@example.com", new ChangePasswordRequest("secret", "another"));
+
+		assertNotEquals(before, versions.usersTag());
+		assertEquals(2L, published("cache_invalidation", "cache_name", "users"));
+		assertEquals("new@example.com", auth.login(new LoginRequest("new@example.com", "another")).user().email());
+	}
+}
@@ -0,0 +1,132 @@
+package com.company.platform.cache;
+
+import com.company.platform.datasource.ReplicaPool;
+import com.company.platform.datasource.ReplicaProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ChangeVersionsTest {
+
+	private JdbcTemplate jdbc;
+	private TransactionTemplate transactions;
+
+	@BeforeEach
+	void migrate() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:versions-" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+				"sa", "");
+		Flyway.configure().dataSource(dataSource).load().migrate();
+		jdbc = new JdbcTemplate(dataSource);
+		transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+	}
+
+	private ChangeVersions versions(InvalidationBus bus) {
+		return versions(bus, new ReplicaProperties(null, null, null, 0, null, null));
+	}
+
+	private ChangeVersions versions(InvalidationBus bus, ReplicaProperties properties) {
+		SimpleMeterRegistry meters = new SimpleMeterRegistry();
+		ReplicaPool replicas = new ReplicaPool(properties, new DataSourceProperties(), meters);
+		return new ChangeVersions(bus, replicas, new SimpleAsyncTaskScheduler());
+	}
+
+	private InvalidationBus bus() {
+		return new InvalidationBus(jdbc, new SimpleMeterRegistry(), 10000, 500, Duration.ofHours(1));
+	}
+
+	@Test
+	void bumpsOnlyAfterCommit() {
+		ChangeVersions versions = versions(bus());
+		String before = versions.workflowsTag(null);
+
+		transactions.executeWithoutResult(status -> {
+			versions.workflowsChanged(1L);
+			assertEquals(before, versions.workflowsTag(null), "no new tag while the write is uncommitted");
+		});
+		String committed = versions.workflowsTag(null);
+		assertNotEquals(before, committed);
+
+		transactions.executeWithoutResult(status -> {
+			versions.workflowsChanged(1L);
+			status.setRollbackOnly();
+		});
+		assertEquals(committed, versions.workflowsTag(null), "a rolled back write keeps the tag");
+	}
+
+	@Test
+	void creatorScopesMoveIndependentlyUntilABulkChange() {
+		ChangeVersions versions = versions(bus());
+		String first = versions.workflowsTag(1L);
+		String second = versions.workflowsTag(2L);
+		String dashboard = versions.dashboardTag();
+		String users = versions.usersTag();
+
+		versions.workflowsChanged(1L);
+		assertNotEquals(first, versions.workflowsTag(1L));
+		assertEquals(second, versions.workflowsTag(2L));
+		assertNotEquals(dashboard, versions.dashboardTag());
+		assertEquals(users, versions.usersTag());
+
+		versions.workflowsChanged(null);
+		assertNotEquals(second, versions.workflowsTag(2L));
+
+		// Creators are embedded in workflow rows, so user changes move every workflow tag
+		String mine = versions.workflowsTag(1L);
+		versions.usersChanged();
+		assertNotEquals(mine, versions.workflowsTag(1L));
+		assertNotEquals(users, versions.usersTag());
+	}
+
+	@Test
+	void followsWritesOnOtherNodes() {
+		InvalidationBus localBus = bus();
+		ChangeVersions local = versions(localBus);
+		InvalidationBus remoteBus = bus();
+		ChangeVersions remote = versions(remoteBus);
+		localBus.poll();
+		String creator = local.workflowsTag(7L);
+		String users = local.usersTag();
+
+		remoteBus.publish(CacheNames.WORKFLOWS, 7L);
+		remoteBus.publish(CacheNames.USERS, 3L);
+		localBus.poll();
+
+		assertNotEquals(creator, local.workflowsTag(7L));
+		assertNotEquals(users, local.usersTag());
+		assertNotEquals(local.usersTag(), remote.usersTag(), "tags are scoped to the node that issued them");
+	}
+
+	@Test
+	void repeatsBumpsFromOtherNodesOnceTheReplicaLagHasPassed() throws InterruptedException {
+		InvalidationBus localBus = bus();
+		// The embedded database doubles as the replica; only the lag window matters here
+		ChangeVersions local = versions(localBus, new ReplicaProperties(
+				List.of("jdbc:h2:mem:versions-replica;DB_CLOSE_DELAY=-1"), "sa", "", 1, null, Duration.ofMillis(50)));
+		InvalidationBus remoteBus = bus();
+		localBus.poll();
+
+		remoteBus.publish(CacheNames.USERS, 3L);
+		localBus.poll();
+		String afterPoll = local.usersTag();
+
+		long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		while (afterPoll.equals(local.usersTag()) && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertNotEquals(afterPoll, local.usersTag(), "a tag issued during the lag window must be replaced");
+	}
+}
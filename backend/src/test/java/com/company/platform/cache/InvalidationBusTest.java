@@ -0,0 +1,157 @@
+package com.company.platform.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Two application contexts standing in for two nodes, sharing one embedded database. */
+class InvalidationBusTest {
+
+	private static final String URL = "jdbc:h2:mem:invalidation;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+	@Configuration
+	static class Node {
+
+		@Bean
+		DataSource dataSource() {
+			return new DriverManagerDataSource(URL);
+		}
+
+		@Bean
+		JdbcTemplate jdbcTemplate(DataSource dataSource) {
+			return new JdbcTemplate(dataSource);
+		}
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+		@Bean
+		InvalidationBus invalidationBus(JdbcTemplate jdbc, MeterRegistry meters) {
+			return new InvalidationBus(jdbc, meters, 200, 2, Duration.ofHours(1));
+		}
+	}
+
+	private AnnotationConfigApplicationContext first;
+	private AnnotationConfigApplicationContext second;
+	private JdbcTemplate jdbc;
+
+	@BeforeEach
+	void startNodes() {
+		first = new AnnotationConfigApplicationContext(Node.class);
+		second = new AnnotationConfigApplicationContext(Node.class);
+		jdbc = first.getBean(JdbcTemplate.class);
+		jdbc.execute("drop table if exists cache_invalidation");
+		jdbc.execute("create table cache_invalidation (id bigint auto_increment primary key, "
+				+ "cache_name varchar(64) not null, cache_key varchar(255), origin varchar(64) not null, "
+				+ "created_at timestamp not null)");
+	}
+
+	@AfterEach
+	void stopNodes() {
+		first.close();
+		second.close();
+	}
+
+	@Test
+	void deliversOtherNodesEntriesOnly() {
+		InvalidationBus a = first.getBean(InvalidationBus.class);
+		InvalidationBus b = second.getBean(InvalidationBus.class);
+		List<String> seenByA = new ArrayList<>();
+		List<String> seenByB = new ArrayList<>();
+		a.subscribe(CacheNames.USERS, seenByA::add);
+		b.subscribe(CacheNames.USERS, seenByB::add);
+		a.poll();
+		b.poll();
+
+		// More entries than one batch, so the keyset scan has to page
+		a.publish(CacheNames.USERS, 1L);
+		a.publish(CacheNames.USERS, 2L);
+		a.publish(CacheNames.USERS, null);
+		b.publish(CacheNames.BUSINESS_RULES, null);
+		a.poll();
+		b.poll();
+
+		assertEquals(Arrays.asList("1", "2", null), seenByB);
+		assertTrue(seenByA.isEmpty());
+
+		b.poll();
+		assertEquals(3, seenByB.size());
+		assertEquals(3.0, second.getBean(MeterRegistry.class).get("cache.invalidation.received")
+				.tag("cache", CacheNames.USERS).counter().count());
+	}
+
+	@Test
+	void picksUpIdsCommittedOutOfOrder() {
+		InvalidationBus a = first.getBean(InvalidationBus.class);
+		InvalidationBus b = second.getBean(InvalidationBus.class);
+		List<String> seenByB = new ArrayList<>();
+		b.subscribe(CacheNames.USERS, seenByB::add);
+		b.poll();
+
+		// Id 2 becomes visible before id 1, as with a slow concurrent transaction
+		jdbc.update("insert into cache_invalidation (id, cache_name, cache_key, origin, created_at) "
+				+ "values (2, 'users', '20', 'other', current_timestamp)");
+		b.poll();
+		jdbc.update("insert into cache_invalidation (id, cache_name, cache_key, origin, created_at) "
+				+ "values (1, 'users', '10', 'other', current_timestamp)");
+		b.poll();
+
+		assertEquals(List.of("20", "10"), seenByB);
+		a.publish(CacheNames.USERS, 30L);
+		b.poll();
+		assertEquals(List.of("20", "10", "30"), seenByB);
+	}
+
+	@Test
+	void flushesWhenTheLogStaysUnreadable() throws InterruptedException {
+		InvalidationBus b = second.getBean(InvalidationBus.class);
+		List<String> seenByB = new ArrayList<>();
+		b.subscribe(CacheNames.BUSINESS_RULES, seenByB::add);
+		b.poll();
+
+		jdbc.execute("drop table cache_invalidation");
+		b.poll();
+		assertTrue(seenByB.isEmpty());
+
+		Thread.sleep(250);
+		b.poll();
+		b.poll();
+		assertEquals(Arrays.asList((String) null), seenByB);
+	}
+
+	@Test
+	void failsTheCallersTransactionWhenTheEntryCannotBeWritten() {
+		InvalidationBus a = first.getBean(InvalidationBus.class);
+		TransactionTemplate transactions = new TransactionTemplate(
+				new DataSourceTransactionManager(first.getBean(DataSource.class)));
+		jdbc.execute("drop table cache_invalidation");
+
+		assertThrows(DataAccessException.class,
+				() -> transactions.executeWithoutResult(status -> a.publish(CacheNames.USERS, 1L)));
+		// Without a transaction the change it describes has already committed
+		assertDoesNotThrow(() -> a.publish(CacheNames.USERS, 1L));
+	}
+}
@@ -0,0 +1,101 @@
+package com.company.platform.common;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IdBlocksTest {
+
+	private static final String URL = "jdbc:h2:mem:idblocks;DB_CLOSE_DELAY=-1";
+
+	private SessionFactory node1;
+	private SessionFactory node2;
+	private JdbcTemplate jdbc;
+	private IdBlocks idBlocks;
+
+	@Entity(name = "Item")
+	@Table(name = "items")
+	public static class Item {
+		@Id
+		@GeneratedValue(strategy = GenerationType.TABLE, generator = "items_ids")
+		@TableGenerator(name = "items_ids", table = IdBlocks.TABLE, pkColumnName = IdBlocks.NAME_COLUMN,
+				valueColumnName = IdBlocks.VALUE_COLUMN, pkColumnValue = "items", allocationSize = IdBlocks.BLOCK_SIZE)
+		Long id;
+
+		String name;
+	}
+
+	private static SessionFactory node(String ddl) {
+		return new Configuration()
+				.addAnnotatedClass(Item.class)
+				.setProperty("hibernate.connection.url", URL)
+				.setProperty("hibernate.connection.username", "sa")
+				.setProperty("hibernate.hbm2ddl.auto", ddl)
+				.setProperty("hibernate.id.optimizer.pooled.preferred", "pooled-lo")
+				.buildSessionFactory();
+	}
+
+	private static long persist(SessionFactory node) {
+		return node.fromTransaction(session -> {
+			Item item = new Item();
+			item.name = "x";
+			session.persist(item);
+			return item.id;
+		});
+	}
+
+	@BeforeEach
+	void start() {
+		node1 = node("create-drop");
+		node2 = node("none");
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(URL, "sa", "");
+		jdbc = new JdbcTemplate(dataSource);
+		idBlocks = new IdBlocks(jdbc, new DataSourceTransactionManager(dataSource));
+	}
+
+	@AfterEach
+	void stop() {
+		node2.close();
+		node1.close();
+	}
+
+	@Test
+	void continuesAfterLegacyRowsAndSharesTheCounterWithJdbcReservations() {
+		// Rows written before the switch, e.g. under AUTO_INCREMENT
+		for (long id = 1; id <= 10; id++) {
+			jdbc.update("insert into items (id, name) values (?, 'legacy')", id);
+		}
+		idBlocks.align("items");
+
+		assertEquals(11, persist(node1));
+		assertEquals(12, persist(node1));
+		// node1 holds 11..110 in memory; a bulk insert and a second node get the blocks after it
+		assertEquals(111, idBlocks.reserve("items", 5));
+		assertEquals(116, persist(node2));
+		assertEquals(13, persist(node1));
+		assertEquals(215, (long) jdbc.queryForObject(
+				"select next_val from id_blocks where sequence_name = 'items'", Long.class));
+	}
+
+	@Test
+	void alignmentNeverLowersTheCounter() {
+		idBlocks.align("items");
+		idBlocks.reserve("items", 50);
+		idBlocks.align("items");
+
+		assertEquals(51, idBlocks.reserve("items", 1));
+	}
+}
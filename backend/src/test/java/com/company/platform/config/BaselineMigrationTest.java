@@ -0,0 +1,42 @@
+package com.company.platform.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A database created by ddl-auto before migrations existed: adopted as version 1
+ * and brought up to date by the migrations after it.
+ */
+class BaselineMigrationTest {
+
+	@Test
+	void migratesADatabaseCreatedFromTheBaselineSchema() {
+		String url = "jdbc:h2:mem:baseline-" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(url, "sa", "");
+		new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline.sql")).execute(dataSource);
+
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.update("insert into users (id, username, email, active, deleted, created_at, role)"
+				+ " values (7, 'ann@example.com', 'ann@example.com', true, false, current_timestamp, 'ADMIN')");
+		jdbc.update("insert into workflows (id, title, status, priority, created_by_user_id, created_at)"
+				+ " values (3, 'Legacy', 'SUBMITTED', ' high ', 7, current_timestamp)");
+		jdbc.update("insert into business_rule (id, rule_key, rule_value) values (1, 'max-open', 'true')");
+
+		Flyway flyway = Flyway.configure().dataSource(dataSource).baselineOnMigrate(true).baselineVersion("1").load();
+		flyway.migrate();
+
+		assertEquals("1", flyway.info().applied()[0].getVersion().getVersion());
+		assertEquals(7L, jdbc.queryForObject("select next_val from id_blocks where sequence_name = 'users'", Long.class));
+		assertEquals("HIGH", jdbc.queryForObject("select priority from workflows where id = 3", String.class));
+		assertEquals(1, jdbc.queryForObject("select count(*) from review_queue where workflow_id = 3", Integer.class));
+		assertTrue(jdbc.queryForObject("select active from business_rule where id = 1", Boolean.class));
+		SchemaIndexTest.assertMatchesEntities(url);
+	}
+}
@@ -0,0 +1,112 @@
+package com.company.platform.config;
+
+import com.company.platform.audit.AuditLog;
+import com.company.platform.cache.CacheInvalidation;
+import com.company.platform.common.IdBlocks;
+import com.company.platform.rules.BusinessRule;
+import com.company.platform.security.RevokedToken;
+import com.company.platform.users.User;
+import com.company.platform.workflow.ArchivedWorkflow;
+import com.company.platform.workflow.Workflow;
+import com.company.platform.workflows.WorkflowHistory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.PhysicalNamingStrategySnakeCaseImpl;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the migrations on H2 in MySQL mode, loads a scaled-down perf dataset and
+ * checks with EXPLAIN that the hot lookups are served by the V3 indexes.
+ */
+class SchemaIndexTest {
+
+	private static final String URL =
+			"jdbc:h2:mem:schema-index;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1";
+
+	private static JdbcTemplate jdbc;
+
+	@BeforeAll
+	static void migrateAndLoad() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(URL, "sa", "");
+		Flyway.configure().dataSource(dataSource).load().migrate();
+
+		jdbc = new JdbcTemplate(dataSource);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		new SyntheticDataGenerator(jdbc, new TransactionTemplate(transactionManager), new BCryptPasswordEncoder(4),
+				new IdBlocks(jdbc, transactionManager), 500, 50_000, 42, 5_000).run(null);
+		jdbc.execute("analyze");
+	}
+
+	private static void assertUses(String index, String sql) {
+		assertUsesAnyOf(new String[] { index }, sql);
+	}
+
+	private static void assertUsesAnyOf(String[] indexes, String sql) {
+		String plan = jdbc.queryForObject("explain " + sql, String.class);
+		assertTrue(Arrays.stream(indexes).anyMatch(plan::contains),
+				() -> "expected one of " + Arrays.toString(indexes) + " in\n" + plan);
+	}
+
+	@Test
+	void userLookupsUseIndexes() {
+		assertUses("ux_users_email", "select * from users where email = 'perf.user7@example.com'");
+		assertUses("uk_users_username", "select * from users where username = 'perf.user7@example.com'");
+		assertUses("ux_users_email",
+				"select email, username from users where email in ('perf.user1@example.com', 'perf.user2@example.com')");
+	}
+
+	@Test
+	void workflowQueriesUseIndexes() {
+		// MySQL drops the foreign key's own index once the composite one can enforce it; H2 keeps both
+		assertUsesAnyOf(new String[] { "idx_workflows_created_by_created_at", "fk74h6iqsrq31g0lxja1ownn9x" },
+				"select * from workflows where created_by_user_id = 42 order by created_at desc");
+		assertUses("idx_workflows_status", "select id from workflows where status = 'IN_REVIEW'");
+		assertUses("idx_workflows_updated_at",
+				"select * from workflows where updated_at > timestamp '2999-01-01 00:00:00' order by updated_at");
+		assertUses("idx_workflows_category", "select id from workflows where category = 'Incident'");
+	}
+
+	@Test
+	void retentionDeletesUseIndexes() {
+		assertUses("idx_revoked_tokens_expires_at",
+				"select * from revoked_tokens where expires_at > timestamp '2000-01-01 00:00:00'");
+		assertUses("idx_cache_invalidation_created_at",
+				"delete from cache_invalidation where created_at < timestamp '2000-01-01 00:00:00'");
+	}
+
+	@Test
+	void migrationsMatchTheEntities() {
+		assertMatchesEntities(URL);
+	}
+
+	/** Fails if a mapped table or column is missing or has the wrong type. */
+	static void assertMatchesEntities(String url) {
+		try (SessionFactory sessionFactory = new Configuration()
+				.addAnnotatedClass(User.class)
+				.addAnnotatedClass(Workflow.class)
+				.addAnnotatedClass(ArchivedWorkflow.class)
+				.addAnnotatedClass(WorkflowHistory.class)
+				.addAnnotatedClass(AuditLog.class)
+				.addAnnotatedClass(BusinessRule.class)
+				.addAnnotatedClass(RevokedToken.class)
+				.addAnnotatedClass(CacheInvalidation.class)
+				.setProperty("hibernate.connection.url", url)
+				.setProperty("hibernate.connection.username", "sa")
+				.setProperty("hibernate.physical_naming_strategy", PhysicalNamingStrategySnakeCaseImpl.class.getName())
+				.setProperty("hibernate.hbm2ddl.auto", "validate")
+				.buildSessionFactory()) {
+			assertTrue(sessionFactory.isOpen());
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package com.company.platform.config;
+
+import com.company.platform.common.IdBlocks;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SyntheticDataGeneratorTest {
+
+	private JdbcTemplate jdbc;
+	private SyntheticDataGenerator generator;
+
+	@BeforeEach
+	void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:synthetic-" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+				"sa", "");
+		Flyway.configure().dataSource(dataSource).load().migrate();
+		jdbc = new JdbcTemplate(dataSource);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		generator = new SyntheticDataGenerator(jdbc, new TransactionTemplate(transactionManager),
+				new BCryptPasswordEncoder(4), new IdBlocks(jdbc, transactionManager), 25, 1_000, 42, 100);
+		generator.run(null);
+	}
+
+	@Test
+	void refillsChunksMissingFromTheMiddle() {
+		List<String> before = titles();
+		// Chunks commit in parallel: an interrupted run can lose one that is not the last
+		jdbc.update("delete from review_queue where workflow_id in (select id from workflows where title like '% request #3__')");
+		jdbc.update("delete from workflows where title like '% request #3__'");
+
+		generator.run(null);
+
+		assertEquals(before, titles());
+		assertEquals(jdbc.queryForObject("select count(*) from workflows where status in ('SUBMITTED', 'IN_REVIEW')",
+				Integer.class), jdbc.queryForObject("select count(*) from review_queue", Integer.class));
+	}
+
+	@Test
+	void topsUpAPartialUserSet() {
+		jdbc.update("update workflows set created_by_user_id = null");
+		jdbc.update("delete from users where username in (?, ?)", "perf.user3@example.com", "perf.user17@example.com");
+		jdbc.update("delete from workflows where title like '% request #99_'");
+
+		generator.run(null);
+
+		assertEquals(25, jdbc.queryForObject("select count(*) from users where username like 'perf.user%'",
+				Integer.class));
+		assertEquals(1, jdbc.queryForObject("select count(*) from users where username = 'perf.user17@example.com'",
+				Integer.class));
+	}
+
+	private List<String> titles() {
+		return jdbc.queryForList("select title from workflows order by title", String.class);
+	}
+}
@@ -0,0 +1,104 @@
+package com.company.platform.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadWriteRoutingDataSourceTest {
+
+	private static final String PRIMARY = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+	private static final String REPLICA = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+	// Never exists, so every connection attempt fails
+	private static final String DEAD = "jdbc:h2:file:./target/no-such-dir/replica;IFEXISTS=TRUE";
+
+	private ReadWriteRoutingDataSource dataSource;
+	private ReplicaPool replicas;
+
+	private JdbcTemplate jdbc;
+	private TransactionTemplate readOnly;
+	private TransactionTemplate readWrite;
+
+	private void start(List<String> replicaUrls, Duration readYourWrites) {
+		for (String url : List.of(PRIMARY, REPLICA)) {
+			JdbcTemplate node = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+			node.execute("create table if not exists node (name varchar(20))");
+			node.execute("delete from node");
+			node.update("insert into node values (?)", url.equals(PRIMARY) ? "primary" : "replica");
+		}
+		DataSourceProperties primaryProperties = new DataSourceProperties();
+		primaryProperties.setUsername("sa");
+		primaryProperties.setPassword("");
+		replicas = new ReplicaPool(new ReplicaProperties(replicaUrls, null, null, 2, Duration.ofMillis(250),
+				readYourWrites), primaryProperties, new SimpleMeterRegistry());
+		HikariDataSource primary = new HikariDataSource();
+		primary.setJdbcUrl(PRIMARY);
+		primary.setUsername("sa");
+		dataSource = new ReadWriteRoutingDataSource(primary, replicas);
+
+		DataSourceTransactionManager tm = new DataSourceTransactionManager(dataSource);
+		jdbc = new JdbcTemplate(dataSource);
+		readOnly = new TransactionTemplate(tm);
+		readOnly.setReadOnly(true);
+		readWrite = new TransactionTemplate(tm);
+	}
+
+	@AfterEach
+	void stop() {
+		SecurityContextHolder.clearContext();
+		replicas.close();
+		dataSource.close();
+	}
+
+	private String node(TransactionTemplate tx) {
+		return tx.execute(status -> jdbc.queryForObject("select name from node", String.class));
+	}
+
+	@Test
+	void routesReadOnlyTransactionsToTheReplica() {
+		start(List.of(REPLICA), Duration.ZERO);
+
+		assertEquals("replica", node(readOnly));
+		assertEquals("primary", node(readWrite));
+		assertEquals("primary", jdbc.queryForObject("select name from node", String.class));
+	}
+
+	@Test
+	void skipsDeadReplicasAndFallsBackToThePrimary() {
+		start(List.of(DEAD, REPLICA), Duration.ZERO);
+		for (int i = 0; i < 4; i++) {
+			assertEquals("replica", node(readOnly));
+		}
+
+		stop();
+		start(List.of(DEAD), Duration.ZERO);
+		assertEquals("primary", node(readOnly));
+	}
+
+	@Test
+	void keepsAWritersReadsOnThePrimaryForTheWindow() {
+		start(List.of(REPLICA), Duration.ofMinutes(1));
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+
+		assertEquals("replica", node(readOnly));
+		readWrite.executeWithoutResult(status -> jdbc.update("update node set name = name"));
+		assertEquals("primary", node(readOnly));
+
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken("bob", null, List.of()));
+		assertEquals("replica", node(readOnly));
+	}
+}
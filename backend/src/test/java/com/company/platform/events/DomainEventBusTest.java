@@ -0,0 +1,151 @@
+package com.company.platform.events;
+
+import com.company.platform.cache.InvalidationBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DomainEventBusTest {
+
+	private JdbcTemplate jdbc;
+	private TransactionTemplate transactions;
+	private DomainEventBus events;
+	private final List<DomainEvent> received = new CopyOnWriteArrayList<>();
+	private final List<Integer> batches = new CopyOnWriteArrayList<>();
+
+	@BeforeEach
+	void start() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:events-" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+				"sa", "");
+		Flyway.configure().dataSource(dataSource).load().migrate();
+		jdbc = new JdbcTemplate(dataSource);
+		transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		SimpleMeterRegistry meters = new SimpleMeterRegistry();
+		InvalidationBus bus = new InvalidationBus(jdbc, meters, 10000, 500, Duration.ofHours(1));
+		events = new DomainEventBus(jdbc, JsonMapper.builder().build(), meters, bus, 16, 8, Duration.ofSeconds(1),
+				Duration.ofMinutes(1), Duration.ofHours(1));
+		events.subscribe("test", batch -> {
+			batches.add(batch.size());
+			received.addAll(batch);
+		});
+	}
+
+	@AfterEach
+	void stop() {
+		events.shutdown();
+	}
+
+	@Test
+	void deliversOnlyCommittedEvents() throws InterruptedException {
+		transactions.executeWithoutResult(status -> {
+			events.publish(new UserChanged(1L));
+			assertEquals(1, outboxRows(), "written in the publishing transaction");
+		});
+		await(() -> received.size() == 1);
+
+		transactions.executeWithoutResult(status -> {
+			events.publish(new UserChanged(2L));
+			status.setRollbackOnly();
+		});
+		Thread.sleep(200);
+		assertEquals(List.of(new UserChanged(1L)), received);
+		assertEquals(1, outboxRows(), "the rolled back event is gone from the outbox too");
+	}
+
+	@Test
+	void deliversInOrderInBatchesAndMarksTheOutbox() {
+		// More events than ring slots: publishers wait for the subscriber instead of overwriting
+		for (long i = 0; i < 100; i++) {
+			events.publish(new UserChanged(i));
+		}
+		await(() -> received.size() == 100);
+		for (int i = 0; i < 100; i++) {
+			assertEquals(new UserChanged((long) i), received.get(i));
+		}
+		assertTrue(batches.stream().allMatch(size -> size <= 8));
+		await(() -> jdbc.queryForObject("select count(*) from domain_event_outbox where published_at is null",
+				Integer.class) == 0);
+	}
+
+	@Test
+	void sweepRedeliversEventsAStoppedNodeLeftBehind() {
+		LocalDateTime old = LocalDateTime.now(ZoneOffset.UTC).minusMinutes(10);
+		jdbc.update("insert into domain_event_outbox (event_type, payload, origin, created_at) values (?, ?, ?, ?)",
+				"UserChanged", "{\"userId\":42}", "stopped-node", Timestamp.valueOf(old));
+		jdbc.update("insert into domain_event_outbox (event_type, payload, origin, created_at) values (?, ?, ?, ?)",
+				"UserChanged", "{\"userId\":43}", "live-node", Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC)));
+
+		events.sweep();
+
+		await(() -> received.size() == 1);
+		assertEquals(new UserChanged(42L), received.get(0));
+		await(() -> jdbc.queryForObject("select count(*) from domain_event_outbox where published_at is null",
+				Integer.class) == 1);
+	}
+
+	@Test
+	void leavesBatchesASubscriberFailedOnToTheSweep() {
+		AtomicBoolean failing = new AtomicBoolean(true);
+		List<DomainEvent> handled = new CopyOnWriteArrayList<>();
+		events.subscribe("flaky", batch -> {
+			if (failing.getAndSet(false)) {
+				throw new IllegalStateException("downstream unavailable");
+			}
+			handled.addAll(batch);
+		});
+
+		events.publish(new UserChanged(1L));
+		await(() -> received.size() == 1);
+		events.publish(new UserChanged(2L));
+		// The outbox stage has passed both batches once the second is marked
+		await(() -> outboxRows("published_at is not null") == 1);
+		assertEquals(List.of(new UserChanged(2L)), handled);
+		assertEquals(1, outboxRows("published_at is null"), "the failed event stays unpublished");
+
+		// Once redeliver-after has passed the sweep hands it to every subscriber again
+		jdbc.update("update domain_event_outbox set created_at = ?",
+				Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC).minusMinutes(10)));
+		events.sweep();
+
+		await(() -> handled.contains(new UserChanged(1L)));
+		await(() -> outboxRows("published_at is null") == 0);
+	}
+
+	private int outboxRows(String condition) {
+		return jdbc.queryForObject("select count(*) from domain_event_outbox where " + condition, Integer.class);
+	}
+
+	private int outboxRows() {
+		return jdbc.queryForObject("select count(*) from domain_event_outbox", Integer.class);
+	}
+
+	private static void await(BooleanSupplier condition) {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > deadline) {
+				throw new AssertionError("condition not met within 5 s");
+			}
+			Thread.onSpinWait();
+		}
+	}
+}
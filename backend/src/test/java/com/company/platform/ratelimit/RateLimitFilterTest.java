@@ -0,0 +1,71 @@
+package com.company.platform.ratelimit;
+
+import com.company.platform.security.AuthenticatedUser;
+import com.company.platform.users.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimitFilterTest {
+
+	private final RateLimitProperties properties = new RateLimitProperties(true, "X-Real-IP", List.of("10.0.0.5/32"),
+			100, Duration.ofHours(1), List.of(
+					new RateLimitProperties.Rule("/api/auth/login", RateLimitProperties.KeyType.IP, 1, Duration.ofHours(1)),
+					new RateLimitProperties.Rule("/api/reports/**", RateLimitProperties.KeyType.USER, 1, Duration.ofHours(1))));
+	private final RateLimitFilter filter = new RateLimitFilter(new RateLimiter(properties), properties);
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	private int call(String path, String remoteAddr, String realIp) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+		request.setRemoteAddr(remoteAddr);
+		if (realIp != null) {
+			request.addHeader("X-Real-IP", realIp);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response.getStatus();
+	}
+
+	@Test
+	void ignoresTheClientIpHeaderFromUntrustedAddresses() throws Exception {
+		assertEquals(200, call("/api/auth/login", "203.0.113.7", "198.51.100.1"));
+		// A fresh header value does not buy a fresh bucket
+		assertEquals(429, call("/api/auth/login", "203.0.113.7", "198.51.100.2"));
+	}
+
+	@Test
+	void keysOnTheClientIpHeaderBehindTheProxy() throws Exception {
+		assertEquals(200, call("/api/auth/login", "10.0.0.5", "198.51.100.1"));
+		assertEquals(200, call("/api/auth/login", "10.0.0.5", "198.51.100.2"));
+		assertEquals(429, call("/api/auth/login", "10.0.0.5", "198.51.100.1"));
+	}
+
+	@Test
+	void keysUserRulesOnThePrincipalWhateverTheAddress() throws Exception {
+		signIn(7L, "alice");
+		assertEquals(200, call("/api/reports/csv", "203.0.113.7", null));
+		assertEquals(429, call("/api/reports/csv", "203.0.113.8", null));
+
+		signIn(8L, "bob");
+		assertEquals(200, call("/api/reports/csv", "203.0.113.7", null));
+	}
+
+	private static void signIn(Long userId, String username) {
+		AuthenticatedUser principal = new AuthenticatedUser(userId, username, Role.USER, null);
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+	}
+}
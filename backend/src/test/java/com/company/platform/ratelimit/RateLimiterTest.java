@@ -0,0 +1,57 @@
+package com.company.platform.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+	private static RateLimiter limiter(int maxBuckets, Duration idleTimeout, Duration refillPeriod) {
+		return new RateLimiter(new RateLimitProperties(true, null, null, maxBuckets, idleTimeout, List.of(
+				new RateLimitProperties.Rule("/api/auth/login", RateLimitProperties.KeyType.IP, 1, refillPeriod),
+				new RateLimitProperties.Rule("/api/reports/**", RateLimitProperties.KeyType.USER, 1, refillPeriod))));
+	}
+
+	@Test
+	void keepsSeparateBucketsPerRuleAndKey() {
+		RateLimiter limiter = limiter(100, Duration.ofHours(1), Duration.ofHours(1));
+
+		assertTrue(limiter.tryAcquire("/api/auth/login", "ip:a").allowed());
+		assertFalse(limiter.tryAcquire("/api/auth/login", "ip:a").allowed());
+		assertTrue(limiter.tryAcquire("/api/auth/login", "ip:b").allowed());
+		assertTrue(limiter.tryAcquire("/api/reports/csv", "ip:a").allowed(), "another rule, another budget");
+		assertTrue(limiter.tryAcquire("/api/workflows", "ip:a").allowed(), "unmatched paths are unlimited");
+		assertNull(limiter.match("/api/workflows"));
+		assertEquals(3, limiter.size());
+	}
+
+	@Test
+	void evictsBucketsOnceIdle() throws InterruptedException {
+		// Long enough that neither bucket can expire before the first check
+		RateLimiter limiter = limiter(100, Duration.ofMillis(200), Duration.ofMillis(1));
+		limiter.tryAcquire("/api/auth/login", "ip:a");
+		limiter.tryAcquire("/api/auth/login", "ip:b");
+		assertEquals(2, limiter.size());
+
+		Thread.sleep(400);
+		limiter.evictIdle();
+
+		assertEquals(0, limiter.size());
+	}
+
+	@Test
+	void newKeysGetTheirOwnBucketWhenFull() {
+		RateLimiter limiter = limiter(2, Duration.ofHours(1), Duration.ofHours(1));
+		for (int i = 0; i < 100; i++) {
+			assertTrue(limiter.tryAcquire("/api/auth/login", "ip:" + i).allowed(), "ip:" + i);
+		}
+
+		assertEquals(2, limiter.size());
+	}
+}
@@ -0,0 +1,37 @@
+package com.company.platform.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	void admitsBurstThenRejectsWithWait() {
+		TokenBucket bucket = new TokenBucket(3, SECOND, 0);
+
+		assertEquals(0, bucket.tryAcquire(0));
+		assertEquals(0, bucket.tryAcquire(0));
+		assertEquals(0, bucket.tryAcquire(0));
+
+		long wait = bucket.tryAcquire(0);
+		assertEquals(SECOND, wait);
+		assertEquals(0, bucket.available(0));
+	}
+
+	@Test
+	void refillsOverTime() {
+		TokenBucket bucket = new TokenBucket(2, SECOND, 0);
+		bucket.tryAcquire(0);
+		bucket.tryAcquire(0);
+
+		assertTrue(bucket.tryAcquire(SECOND / 2) > 0);
+		assertEquals(0, bucket.tryAcquire(SECOND));
+		assertEquals(2, bucket.available(10 * SECOND));
+	}
+}
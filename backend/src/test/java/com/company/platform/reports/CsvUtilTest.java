@@ -0,0 +1,40 @@
+package com.company.platform.reports;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvUtilTest {
+
+	@Test
+	void quotedFieldsKeepCommasQuotesAndLineBreaks() {
+		List<String[]> rows = CsvUtil.parse("email,department\n"
+				+ "\"a@example.com\",\"Sales, EMEA\"\n"
+				+ "b@example.com,\"The \"\"B\"\" team\"\n"
+				+ "c@example.com,\"two\nlines\"\n");
+
+		assertEquals(4, rows.size());
+		assertArrayEquals(new String[] { "email", "department" }, rows.get(0));
+		assertArrayEquals(new String[] { "a@example.com", "Sales, EMEA" }, rows.get(1));
+		assertArrayEquals(new String[] { "b@example.com", "The \"B\" team" }, rows.get(2));
+		assertArrayEquals(new String[] { "c@example.com", "two\nlines" }, rows.get(3));
+	}
+
+	@Test
+	void handlesCrLfBlankLinesAndEmptyCells() {
+		List<String[]> rows = CsvUtil.parse("email,role,department\r\n\r\na@example.com,,\r\n  \r\nb@example.com,ADMIN,IT");
+
+		assertEquals(3, rows.size());
+		assertArrayEquals(new String[] { "a@example.com", "", "" }, rows.get(1));
+		assertArrayEquals(new String[] { "b@example.com", "ADMIN", "IT" }, rows.get(2));
+	}
+
+	@Test
+	void emptyInputHasNoRows() {
+		assertEquals(0, CsvUtil.parse("").size());
+		assertEquals(0, CsvUtil.parse("\n\n").size());
+	}
+}
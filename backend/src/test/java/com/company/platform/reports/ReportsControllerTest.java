@@ -0,0 +1,87 @@
+package com.company.platform.reports;
+
+import com.company.platform.users.User;
+import com.company.platform.workflow.ArchivedWorkflow;
+import com.company.platform.workflow.ArchivedWorkflowRepository;
+import jakarta.persistence.EntityManager;
+import org.flywaydb.core.Flyway;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.PhysicalNamingStrategySnakeCaseImpl;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportsControllerTest {
+
+	private final List<String> statements = new CopyOnWriteArrayList<>();
+	private SessionFactory sessionFactory;
+
+	@AfterEach
+	void close() {
+		sessionFactory.close();
+	}
+
+	@Test
+	void archivedExportPagesByIdWithoutCounting() throws Exception {
+		String url = "jdbc:h2:mem:reports-" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(url, "sa", "");
+		Flyway.configure().dataSource(dataSource).load().migrate();
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.update("insert into users (id, username, email, active, deleted, created_at, role)"
+				+ " values (1, 'ann@example.com', 'ann@example.com', true, false, current_timestamp, 'USER')");
+		Timestamp at = Timestamp.valueOf(LocalDateTime.of(2024, 1, 2, 3, 4));
+		List<Object[]> rows = new ArrayList<>();
+		for (long id = 1; id <= 2_500; id++) {
+			rows.add(new Object[] { id * 2, "Archived \"" + id + "\"", id % 2 == 0 ? 1L : null, at, at });
+		}
+		jdbc.batchUpdate("insert into workflows_archive (id, description, status, priority, created_by_user_id,"
+				+ " created_at, archived_at) values (?, ?, 'COMPLETED', 'LOW', ?, ?, ?)", rows);
+
+		sessionFactory = new Configuration()
+				.addAnnotatedClass(User.class)
+				.addAnnotatedClass(ArchivedWorkflow.class)
+				.setProperty("hibernate.connection.url", url)
+				.setProperty("hibernate.connection.username", "sa")
+				.setProperty("hibernate.physical_naming_strategy", PhysicalNamingStrategySnakeCaseImpl.class.getName())
+				.setStatementInspector((StatementInspector) sql -> {
+					statements.add(sql);
+					return sql;
+				})
+				.buildSessionFactory();
+		EntityManager entityManager = sessionFactory.createEntityManager();
+		ArchivedWorkflowRepository archive = new JpaRepositoryFactory(entityManager)
+				.getRepository(ArchivedWorkflowRepository.class);
+		ReportsController controller = new ReportsController(null, null, archive);
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		controller.exportWorkflows(true, response);
+
+		List<String[]> csv = CsvUtil.parse(response.getContentAsString());
+		assertEquals(2_501, csv.size());
+		assertArrayEquals(new String[] { "2", "Archived \"1\"", "COMPLETED", "", "2024-01-02T03:04", "2024-01-02T03:04" },
+				csv.get(1));
+		assertEquals("ann@example.com", csv.get(2)[3]);
+		assertEquals("5000", csv.get(2_500)[0]);
+		assertEquals(3, statements.size());
+		assertTrue(statements.stream().noneMatch(sql -> sql.contains("count(") || sql.contains("offset")),
+				() -> String.join("\n", statements));
+		// Rows are read as DTOs, so nothing piles up in the persistence context across pages
+		assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+	}
+}
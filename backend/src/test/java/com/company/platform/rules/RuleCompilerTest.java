@@ -0,0 +1,53 @@
+package com.company.platform.rules;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RuleCompilerTest {
+
+	private static RuleContext transition(String from, String to, String priority, String department) {
+		return new RuleContext(RuleContext.Trigger.TRANSITION, to, from, priority, "Finance", department,
+				"MANAGER", "Quarterly budget", "Needs sign-off");
+	}
+
+	@Test
+	void evaluatesConjunctionsAndSets() {
+		Condition rule = RuleCompiler.compile(
+				"trigger == 'TRANSITION' && status == 'APPROVED' && priority in ('HIGH', 'URGENT')");
+
+		assertTrue(rule.test(transition("IN_REVIEW", "APPROVED", "URGENT", "IT")));
+		assertFalse(rule.test(transition("IN_REVIEW", "APPROVED", "LOW", "IT")));
+		assertFalse(rule.test(transition("IN_REVIEW", "REJECTED", "HIGH", "IT")));
+	}
+
+	@Test
+	void supportsNegationNullsAndNumbers() {
+		Condition rule = RuleCompiler.compile(
+				"not (department == null) and department != 'Legal' or titleLength > 100");
+
+		assertTrue(rule.test(transition("DRAFT", "SUBMITTED", "LOW", "IT")));
+		assertFalse(rule.test(transition("DRAFT", "SUBMITTED", "LOW", "Legal")));
+		assertFalse(rule.test(transition("DRAFT", "SUBMITTED", "LOW", null)));
+	}
+
+	@Test
+	void foldsConstantsAndFlattens() {
+		assertInstanceOf(Condition.Constant.class, RuleCompiler.compile("false && status == 'DRAFT'"));
+		Condition flat = RuleCompiler.compile("(status == 'A' && priority == 'B') && category == 'C'");
+		assertInstanceOf(Condition.And.class, flat);
+		assertTrue(((Condition.And) flat).operands().length == 3);
+	}
+
+	@Test
+	void rejectsInvalidExpressions() {
+		assertThrows(IllegalArgumentException.class, () -> RuleCompiler.compile("unknown == 'x'"));
+		assertThrows(IllegalArgumentException.class, () -> RuleCompiler.compile("titleLength == 'x'"));
+		assertThrows(IllegalArgumentException.class, () -> RuleCompiler.compile("status > 'x'"));
+		assertThrows(IllegalArgumentException.class, () -> RuleCompiler.compile("status == 'x' &&"));
+		assertThrows(IllegalArgumentException.class, () -> RuleCompiler.compile("status == 'x"));
+	}
+}
@@ -0,0 +1,85 @@
+package com.company.platform.rules;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RuleIndexTest {
+
+	private static final String[] STATUSES = { "DRAFT", "SUBMITTED", "IN_REVIEW", "APPROVED", "REJECTED" };
+	private static final String[] PRIORITIES = { "LOW", "MEDIUM", "HIGH", "URGENT" };
+	private static final String[] DEPARTMENTS = { "IT", "Legal", "Finance", "HR" };
+
+	private static CompiledRule rule(long id, String expression) {
+		return new CompiledRule(id, "rule-" + id, null, RuleCompiler.compile(expression));
+	}
+
+	private static RuleContext context(String status, String priority, String department, String title) {
+		return new RuleContext(RuleContext.Trigger.TRANSITION, status, "SUBMITTED", priority, "Capex", department,
+				"MANAGER", title, "");
+	}
+
+	private static List<CompiledRule> linear(List<CompiledRule> rules, RuleContext context) {
+		List<CompiledRule> matched = new ArrayList<>();
+		for (CompiledRule rule : rules) {
+			if (rule.condition().test(context)) {
+				matched.add(rule);
+			}
+		}
+		return matched;
+	}
+
+	@Test
+	void selectsOnlyRulesWhoseConstraintsFit() {
+		List<CompiledRule> rules = List.of(
+				rule(1, "status == 'APPROVED' && priority in ('HIGH', 'URGENT')"),
+				rule(2, "status == 'APPROVED' && department == 'Legal'"),
+				rule(3, "titleLength > 5"),
+				rule(4, "status == 'APPROVED' && status == 'REJECTED'"),
+				rule(5, "department == null"));
+		RuleIndex index = RuleIndex.of(rules);
+
+		List<CompiledRule> matched = index.match(context("APPROVED", "URGENT", "IT", "Replace servers"));
+		assertEquals(List.of(rules.get(0), rules.get(2)), matched);
+
+		assertEquals(List.of(rules.get(4)), index.match(context("DRAFT", "LOW", null, "Pens")));
+		assertTrue(RuleIndex.of(List.of()).match(context("DRAFT", "LOW", "IT", "x")).isEmpty());
+	}
+
+	@Test
+	void agreesWithLinearScan() {
+		Random random = new Random(42);
+		List<CompiledRule> rules = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			List<String> terms = new ArrayList<>();
+			if (random.nextInt(4) > 0) {
+				terms.add("status == '" + STATUSES[random.nextInt(STATUSES.length)] + "'");
+			}
+			if (random.nextBoolean()) {
+				terms.add("priority in ('" + PRIORITIES[random.nextInt(PRIORITIES.length)] + "', '"
+						+ PRIORITIES[random.nextInt(PRIORITIES.length)] + "')");
+			}
+			if (random.nextBoolean()) {
+				terms.add("department != '" + DEPARTMENTS[random.nextInt(DEPARTMENTS.length)] + "'");
+			} else if (random.nextBoolean()) {
+				terms.add("(department == '" + DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]
+						+ "' || titleLength > " + random.nextInt(10) + ")");
+			}
+			rules.add(rule(i, terms.isEmpty() ? "true" : String.join(" && ", terms)));
+		}
+		RuleIndex index = RuleIndex.of(rules);
+
+		for (int i = 0; i < 500; i++) {
+			RuleContext context = context(STATUSES[random.nextInt(STATUSES.length)],
+					PRIORITIES[random.nextInt(PRIORITIES.length)],
+					random.nextInt(10) == 0 ? null : DEPARTMENTS[random.nextInt(DEPARTMENTS.length)],
+					"t".repeat(random.nextInt(12)));
+			assertEquals(linear(rules, context), index.match(context));
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package com.company.platform.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+	@Test
+	void neverReportsFalseNegatives() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.add("t:" + i);
+		}
+		for (int i = 0; i < 10_000; i++) {
+			assertTrue(filter.mightContain("t:" + i));
+		}
+	}
+
+	@Test
+	void falsePositiveRateStaysNearTarget() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.add("t:" + i);
+		}
+		int hits = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filter.mightContain("other:" + i)) {
+				hits++;
+			}
+		}
+		assertTrue(hits < 2_000, "false positives: " + hits);
+	}
+}
@@ -0,0 +1,155 @@
+package com.company.platform.security;
+
+import com.company.platform.cache.InvalidationBus;
+import com.company.platform.users.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Two application contexts standing in for two nodes, sharing one embedded database. */
+class TokenRevocationServiceTest {
+
+	private static final long LIFETIME_MS = Duration.ofHours(1).toMillis();
+
+	private static String url;
+
+	@Configuration
+	@EnableTransactionManagement
+	@EnableJpaRepositories(basePackageClasses = RevokedTokenRepository.class, includeFilters = @ComponentScan.Filter(
+			type = FilterType.ASSIGNABLE_TYPE, classes = RevokedTokenRepository.class))
+	static class Node {
+
+		@Bean
+		DataSource dataSource() {
+			return new DriverManagerDataSource(url, "sa", "");
+		}
+
+		@Bean
+		LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+			LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+			factory.setDataSource(dataSource);
+			factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+			factory.setPackagesToScan(RevokedToken.class.getPackageName());
+			return factory;
+		}
+
+		@Bean
+		PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+			return new JpaTransactionManager(entityManagerFactory);
+		}
+
+		@Bean
+		JdbcTemplate jdbcTemplate(DataSource dataSource) {
+			return new JdbcTemplate(dataSource);
+		}
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+		@Bean
+		InvalidationBus invalidationBus(JdbcTemplate jdbc, MeterRegistry meters) {
+			return new InvalidationBus(jdbc, meters, 200, 500, Duration.ofHours(1));
+		}
+
+		@Bean
+		TokenRevocationService tokenRevocationService(RevokedTokenRepository repository, InvalidationBus bus,
+				PlatformTransactionManager transactionManager) {
+			return new TokenRevocationService(repository, bus, transactionManager, LIFETIME_MS);
+		}
+	}
+
+	private AnnotationConfigApplicationContext first;
+	private AnnotationConfigApplicationContext second;
+
+	@BeforeEach
+	void startNodes() {
+		url = "jdbc:h2:mem:revocation-" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+		Flyway.configure().dataSource(url, "sa", "").load().migrate();
+		first = new AnnotationConfigApplicationContext(Node.class);
+		second = new AnnotationConfigApplicationContext(Node.class);
+		// A node's first poll only finds where the log ends
+		second.getBean(InvalidationBus.class).poll();
+	}
+
+	@AfterEach
+	void stopNodes() {
+		first.close();
+		second.close();
+	}
+
+	private static Claims token(String id, String username) {
+		Date now = new Date();
+		return Jwts.claims().setId(id).setSubject(username).setIssuedAt(new Date(now.getTime() - 1000))
+				.setExpiration(new Date(now.getTime() + LIFETIME_MS));
+	}
+
+	@Test
+	void revocationOnOneNodeIsEnforcedByTheOtherAfterOnePoll() {
+		TokenRevocationService a = first.getBean(TokenRevocationService.class);
+		TokenRevocationService b = second.getBean(TokenRevocationService.class);
+		Claims logout = token("t-1", "ann@example.com");
+		Claims other = token("t-2", "bob@example.com");
+
+		a.revokeToken(logout);
+		assertTrue(a.isRevoked(logout));
+		assertFalse(b.isRevoked(logout));
+
+		second.getBean(InvalidationBus.class).poll();
+
+		assertTrue(b.isRevoked(logout));
+		assertFalse(b.isRevoked(other));
+	}
+
+	@Test
+	void rebuildFromTheBusPurgesExpiredRows() {
+		JdbcTemplate jdbc = first.getBean(JdbcTemplate.class);
+		LocalDateTime past = LocalDateTime.now(ZoneOffset.UTC).minusHours(2);
+		jdbc.update("insert into revoked_tokens (id, token_id, username, revoked_at, expires_at) values (?, ?, ?, ?, ?)",
+				1000, "old", "ann@example.com", Timestamp.valueOf(past), Timestamp.valueOf(past.plusHours(1)));
+
+		first.getBean(TokenRevocationService.class).revokeUser(userNamed("bob@example.com"));
+		second.getBean(InvalidationBus.class).poll();
+
+		// The bus callback runs outside any caller's transaction; the delete must still commit
+		assertEquals(0L, jdbc.queryForObject("select count(*) from revoked_tokens where token_id = 'old'", Long.class));
+		assertTrue(second.getBean(TokenRevocationService.class).isRevoked(token("t-3", "bob@example.com")));
+	}
+
+	private static User userNamed(String username) {
+		User user = new User();
+		user.setUsername(username);
+		return user;
+	}
+}
@@ -0,0 +1,70 @@
+package com.company.platform.slowquery;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SlowQueryLogTest {
+
+	@Test
+	void aggregatesStatementsByFingerprintThroughTheDataSource() throws SQLException {
+		SimpleMeterRegistry meters = new SimpleMeterRegistry();
+		SlowQueryLog log = new SlowQueryLog(meters, Duration.ZERO, 0, 100, 10, 100);
+		JdbcDataSource h2 = new JdbcDataSource();
+		h2.setURL("jdbc:h2:mem:slowquery;DB_CLOSE_DELAY=-1");
+		TimedDataSource dataSource = new TimedDataSource(h2, log);
+
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			assertEquals(connection, connection);
+			statement.execute("create table items (id int primary key, name varchar(20))");
+			for (int i = 0; i < 3; i++) {
+				statement.executeUpdate("insert into items values (" + i + ", 'item " + i + "')");
+			}
+			try (PreparedStatement select = connection.prepareStatement("select name from items where id = ?")) {
+				select.setInt(1, 1);
+				select.executeQuery().close();
+			}
+			assertThrows(SQLException.class, () -> statement.executeQuery("select * from missing"));
+		} finally {
+			log.shutdown();
+		}
+
+		List<StatementStats> top = log.top();
+		StatementStats inserts = find(top, "insert into items values (?...)");
+		assertEquals(3, inserts.calls());
+		assertEquals(3, inserts.slow());
+		assertEquals(1, find(top, "select name from items where id = ?").calls());
+		assertEquals(1, find(top, "select * from missing").errors());
+		assertEquals(6.0, meters.get("db.statements.slow").counter().count());
+	}
+
+	@Test
+	void foldsFingerprintsBeyondTheLimitIntoOther() {
+		SlowQueryLog log = new SlowQueryLog(new SimpleMeterRegistry(), Duration.ofHours(1), 0, 2, 10, 10);
+		log.record("select a from t", 1_000, false);
+		log.record("select b from t", 1_000, false);
+		log.record("select c from t", 1_000, false);
+		log.record("select d from t", 1_000, true);
+		log.shutdown();
+
+		assertEquals(3, log.fingerprintCount());
+		StatementStats other = find(log.top(), SlowQueryLog.OTHER);
+		assertEquals(2, other.calls());
+		assertEquals(1, other.errors());
+	}
+
+	private static StatementStats find(List<StatementStats> stats, String fingerprint) {
+		return stats.stream().filter(s -> s.fingerprint().equals(fingerprint)).findFirst()
+				.orElseThrow(() -> new AssertionError("no " + fingerprint + " in " + stats));
+	}
+}
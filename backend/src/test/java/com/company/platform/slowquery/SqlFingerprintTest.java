@@ -0,0 +1,36 @@
+package com.company.platform.slowquery;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SqlFingerprintTest {
+
+	@Test
+	void replacesLiteralsAndCollapsesWhitespace() {
+		assertEquals("select * from users where email = ? and id > ? and name = ?",
+				SqlFingerprint.of("SELECT *\n  FROM users WHERE email = 'a@b.c' AND id > 42 AND name = 'O''Brien'"));
+	}
+
+	@Test
+	void keepsDigitsInsideIdentifiersAndQuotedNames() {
+		assertEquals("select w1_0.id, \"Mixed\" from workflows w1_0 limit ?",
+				SqlFingerprint.of("select w1_0.id, \"Mixed\" from workflows w1_0 limit 10"));
+	}
+
+	@Test
+	void foldsParameterAndRowListsSoLengthsAggregate() {
+		String three = SqlFingerprint.of("select * from users where id in (?, ?, ?)");
+		String five = SqlFingerprint.of("select * from users where id in (?,?,?,?,?)");
+		assertEquals("select * from users where id in (?...)", three);
+		assertEquals(three, five);
+		assertEquals("insert into t (a, b) values (?...)...",
+				SqlFingerprint.of("insert into t (a, b) values (1, 'x'), (2, 'y')"));
+	}
+
+	@Test
+	void dropsComments() {
+		assertEquals("select ? from dual",
+				SqlFingerprint.of("/* load User */ select 1 -- probe\n from dual"));
+	}
+}
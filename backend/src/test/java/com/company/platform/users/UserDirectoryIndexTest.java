@@ -0,0 +1,63 @@
+package com.company.platform.users;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserDirectoryIndexTest {
+
+	private final UserDirectoryIndex index = new UserDirectoryIndex(null);
+
+	@Test
+	void findsUsersByAnyTokenPrefix() {
+		index.put(user(1L, "jane.doe@example.com", "Jane", "Doe", "Legal"));
+		index.put(user(2L, "john.smith@example.com", "John", "Smith", "Finance"));
+
+		assertEquals(List.of(1L), ids(index.suggest("ja", 10)));
+		assertEquals(List.of(1L), ids(index.suggest("doe", 10)));
+		assertEquals(List.of(2L), ids(index.suggest("fin", 10)));
+		assertEquals(2, index.suggest("j", 10).size());
+		assertEquals(List.of(2L), ids(index.suggest("j smi", 10)));
+	}
+
+	@Test
+	void followsUpdatesAndDeletes() {
+		index.put(user(1L, "jane@example.com", "Jane", "Doe", "Legal"));
+		index.put(user(1L, "jane@example.com", "Jane", "Roe", "Legal"));
+
+		assertTrue(index.suggest("doe", 10).isEmpty());
+		assertEquals(List.of(1L), ids(index.suggest("roe", 10)));
+
+		index.remove(1L);
+		assertTrue(index.suggest("jane", 10).isEmpty());
+		assertEquals(0, index.size());
+	}
+
+	@Test
+	void respectsLimitOnLargeDirectory() {
+		for (long i = 0; i < 100_000; i++) {
+			index.put(user(i, "user" + i + "@example.com", "First" + i, "Last" + i, "Dept" + (i % 50)));
+		}
+
+		assertEquals(10, index.suggest("user1", 10).size());
+		assertEquals(List.of(4242L), ids(index.suggest("user4242@", 10)));
+	}
+
+	private static User user(Long id, String email, String first, String last, String department) {
+		User user = new User();
+		user.setId(id);
+		user.setEmail(email);
+		user.setFirstName(first);
+		user.setLastName(last);
+		user.setDepartment(department);
+		user.setRole(Role.USER);
+		return user;
+	}
+
+	private static List<Long> ids(List<UserSuggestion> suggestions) {
+		return suggestions.stream().map(UserSuggestion::id).toList();
+	}
+}
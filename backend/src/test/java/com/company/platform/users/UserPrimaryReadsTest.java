@@ -0,0 +1,156 @@
+package com.company.platform.users;
+
+import com.company.platform.cache.ChangeVersions;
+import com.company.platform.cache.InvalidationBus;
+import com.company.platform.datasource.ReadWriteRoutingDataSource;
+import com.company.platform.datasource.ReplicaPool;
+import com.company.platform.datasource.ReplicaProperties;
+import com.company.platform.events.DomainEventBus;
+import com.company.platform.security.PrincipalCache;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** A replica that has not caught up: reads that feed a write or a cache must still see the primary. */
+class UserPrimaryReadsTest {
+
+	private static String replicaUrl;
+
+	@Configuration
+	@Import(UserPersistenceTestConfig.class)
+	static class Node {
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+		@Bean
+		ReplicaPool replicaPool(MeterRegistry meters) {
+			return new ReplicaPool(new ReplicaProperties(List.of(replicaUrl), "sa", "", 2, null, null),
+					new DataSourceProperties(), meters);
+		}
+
+		@Bean
+		@Primary
+		ReadWriteRoutingDataSource routingDataSource(@Qualifier("dataSource") DataSource migrated,
+				ReplicaPool replicas) {
+			HikariDataSource primary = new HikariDataSource();
+			primary.setJdbcUrl(((DriverManagerDataSource) migrated).getUrl());
+			primary.setUsername("sa");
+			return new ReadWriteRoutingDataSource(primary, replicas);
+		}
+
+		@Bean
+		InvalidationBus invalidationBus(@Qualifier("dataSource") DataSource migrated, MeterRegistry meters) {
+			return new InvalidationBus(new JdbcTemplate(migrated), meters, 10000, 500, Duration.ofHours(1));
+		}
+
+		@Bean
+		UserDirectoryIndex userDirectoryIndex(UserRepository repository) {
+			return new UserDirectoryIndex(repository);
+		}
+
+		@Bean
+		PrincipalCache principalCache(UserRepository repository) {
+			return new PrincipalCache(repository, 100, Duration.ofHours(1).toMillis());
+		}
+
+		@Bean
+		UserInvalidationListener userInvalidationListener(InvalidationBus bus, UserRepository repository,
+				PrincipalCache principalCache, UserDirectoryIndex directory, EntityManagerFactory entityManagerFactory,
+				PlatformTransactionManager transactionManager) {
+			return new UserInvalidationListener(bus, repository, principalCache, directory, entityManagerFactory,
+					transactionManager);
+		}
+
+		// Revocation is only reached by deactivating a user
+		@Bean
+		UserService userService(UserRepository repository, PrincipalCache principalCache,
+				UserDirectoryIndex directory, InvalidationBus bus, MeterRegistry meters, ReplicaPool replicas,
+				@Qualifier("dataSource") DataSource migrated) {
+			JdbcTemplate jdbc = new JdbcTemplate(migrated);
+			DomainEventBus events = new DomainEventBus(jdbc, JsonMapper.builder().build(), meters, bus, 16, 8,
+					Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ofHours(1));
+			return new UserService(repository, new BCryptPasswordEncoder(4), principalCache, null, directory, bus,
+					new ChangeVersions(bus, replicas, new SimpleAsyncTaskScheduler()), events);
+		}
+	}
+
+	private AnnotationConfigApplicationContext context;
+	private JdbcTemplate primary;
+
+	@BeforeEach
+	void start() {
+		replicaUrl = "jdbc:h2:mem:replica-" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+		DriverManagerDataSource replica = new DriverManagerDataSource(replicaUrl, "sa", "");
+		Flyway.configure().dataSource(replica).load().migrate();
+		context = new AnnotationConfigApplicationContext(Node.class);
+		primary = new JdbcTemplate((DataSource) context.getBean("dataSource"));
+
+		insertUser(primary, "Ann", "Finance");
+		insertUser(new JdbcTemplate(replica), "Ann", "Sales");
+		primary.update("update users set first_name = 'Anna' where id = 1000");
+	}
+
+	@AfterEach
+	void stop() {
+		context.close();
+	}
+
+	private static void insertUser(JdbcTemplate jdbc, String firstName, String department) {
+		jdbc.update("insert into users (id, username, email, first_name, department, role, active, deleted, created_at) "
+				+ "values (1000, 'ann@example.com', 'ann@example.com', ?, ?, 'USER', true, false, ?)",
+				firstName, department, Timestamp.valueOf(LocalDateTime.now()));
+	}
+
+	@Test
+	void readOnlyLookupsGoToTheReplica() {
+		assertEquals("Sales", context.getBean(UserRepository.class).findById(1000L).orElseThrow().getDepartment());
+	}
+
+	@Test
+	void invalidationsReloadTheUserFromThePrimary() {
+		context.getBean(UserInvalidationListener.class).onInvalidation("1000");
+
+		UserSuggestion ann = context.getBean(UserDirectoryIndex.class).suggest("ann", 10).get(0);
+		assertEquals("Finance", ann.department());
+		assertEquals("Anna", ann.firstName());
+	}
+
+	@Test
+	void updatesStartFromThePrimaryRow() {
+		context.getBean(UserService.class).update(1000L,
+				new UserUpdateRequest(null, null, null, null, null, "Legal", null));
+
+		// The replica's stale first name must not be written back over the primary's
+		assertEquals("Anna", primary.queryForObject("select first_name from users where id = 1000", String.class));
+		assertEquals("Legal", primary.queryForObject("select department from users where id = 1000", String.class));
+	}
+}
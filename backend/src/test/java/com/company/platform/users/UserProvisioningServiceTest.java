@@ -0,0 +1,171 @@
+package com.company.platform.users;
+
+import com.company.platform.cache.ChangeVersions;
+import com.company.platform.cache.InvalidationBus;
+import com.company.platform.common.BusinessException;
+import com.company.platform.common.IdBlocks;
+import com.company.platform.datasource.ReplicaPool;
+import com.company.platform.datasource.ReplicaProperties;
+import com.company.platform.events.DomainEventBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserProvisioningServiceTest {
+
+	private AnnotationConfigApplicationContext context;
+	private JdbcTemplate jdbc;
+	private PlatformTransactionManager transactionManager;
+	private UserRepository users;
+	private DomainEventBus events;
+	private InvalidationBus bus;
+	private final List<UserProvisioningService> services = new ArrayList<>();
+
+	@BeforeEach
+	void migrate() {
+		context = new AnnotationConfigApplicationContext(UserPersistenceTestConfig.class);
+		jdbc = context.getBean(JdbcTemplate.class);
+		transactionManager = context.getBean(PlatformTransactionManager.class);
+		users = context.getBean(UserRepository.class);
+		SimpleMeterRegistry meters = new SimpleMeterRegistry();
+		bus = new InvalidationBus(jdbc, meters, 10000, 500, Duration.ofHours(1));
+		events = new DomainEventBus(jdbc, JsonMapper.builder().build(), meters, bus, 16, 8, Duration.ofSeconds(1),
+				Duration.ofMinutes(1), Duration.ofHours(1));
+	}
+
+	@AfterEach
+	void stop() {
+		services.forEach(UserProvisioningService::shutdown);
+		context.close();
+	}
+
+	private UserProvisioningService service(int maxRows, int batchSize) {
+		ReplicaPool replicas = new ReplicaPool(new ReplicaProperties(null, null, null, 0, null, null),
+				new DataSourceProperties(), new SimpleMeterRegistry());
+		ChangeVersions versions = new ChangeVersions(bus, replicas, new SimpleAsyncTaskScheduler());
+		UserProvisioningService service = new UserProvisioningService(users, new BCryptPasswordEncoder(4), jdbc,
+				new TransactionTemplate(transactionManager), new UserDirectoryIndex(users),
+				context.getBean(EntityManagerFactory.class), bus, new IdBlocks(jdbc, transactionManager), versions,
+				events, maxRows, batchSize);
+		services.add(service);
+		return service;
+	}
+
+	private void insertUser(long id, String email) {
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		jdbc.update("insert into users (id, username, email, role, active, deleted, created_at) "
+				+ "values (?, ?, ?, 'USER', true, false, ?)", id, email, email, now);
+	}
+
+	private String roleOf(String email) {
+		return jdbc.queryForObject("select role from users where email = ?", String.class, email);
+	}
+
+	private static BulkUserRequest request(String email, String password) {
+		return new BulkUserRequest(null, email, password, "First", "Last", null, "IT");
+	}
+
+	@Test
+	void reportsEveryRowAndInsertsOnlyValidNewUsers() {
+		insertUser(1000, "taken@example.com");
+
+		BulkProvisionResult result = service(100, 2).provision(List.of(
+				request("new1@example.com", "secret"),
+				request("not-an-email", "secret"),
+				request("new2@example.com", " "),
+				request("NEW1@example.com", "secret"),
+				request("taken@example.com", "secret"),
+				request("new3@example.com", "secret"),
+				request("new4@example.com", "secret")));
+
+		assertEquals(7, result.total());
+		assertEquals(3, result.created());
+		assertEquals(2, result.skipped());
+		assertEquals(2, result.failed());
+		assertEquals(List.of(BulkProvisionResult.Status.CREATED, BulkProvisionResult.Status.INVALID,
+				BulkProvisionResult.Status.INVALID, BulkProvisionResult.Status.DUPLICATE,
+				BulkProvisionResult.Status.DUPLICATE, BulkProvisionResult.Status.CREATED,
+				BulkProvisionResult.Status.CREATED),
+				result.rows().stream().map(BulkProvisionResult.Row::status).toList());
+		assertEquals(1, result.rows().get(0).row());
+		assertEquals(7, result.rows().get(6).row());
+
+		// Created rows carry the id the database holds, across both insert chunks
+		for (int i : new int[] { 0, 5, 6 }) {
+			BulkProvisionResult.Row row = result.rows().get(i);
+			assertNotNull(row.id());
+			assertEquals(row.email(), jdbc.queryForObject("select email from users where id = ?", String.class,
+					row.id()));
+		}
+		assertEquals(4L, jdbc.queryForObject("select count(*) from users", Long.class));
+		assertEquals("USER", roleOf("new1@example.com"));
+		// Each chunk commits its rows together with an invalidation and an event
+		assertEquals(2L, jdbc.queryForObject("select count(*) from cache_invalidation where cache_name = 'users'",
+				Long.class));
+		assertEquals(2L, jdbc.queryForObject(
+				"select count(*) from domain_event_outbox where event_type = 'UserChanged'", Long.class));
+	}
+
+	@Test
+	void unknownCsvRoleIsReportedOnItsRowWithoutAbortingTheUpload() {
+		BulkProvisionResult result = service(100, 500).provisionCsv("""
+				Password,Role,EMAIL,FirstName
+				secret,reviewer,a@example.com,Ann
+				secret,wizard,b@example.com,Bob
+				secret,,c@example.com,Cat
+				""");
+
+		assertEquals(3, result.total());
+		assertEquals(2, result.created());
+		assertEquals(1, result.failed());
+		BulkProvisionResult.Row rejected = result.rows().get(1);
+		assertEquals(BulkProvisionResult.Status.INVALID, rejected.status());
+		assertEquals("b@example.com", rejected.email());
+		assertTrue(rejected.message().contains("wizard"), rejected.message());
+		assertEquals("REVIEWER", roleOf("a@example.com"));
+		assertEquals("USER", roleOf("c@example.com"));
+		assertEquals("Ann", jdbc.queryForObject("select first_name from users where email = 'a@example.com'",
+				String.class));
+	}
+
+	@Test
+	void csvNeedsAnEmailColumnInTheHeader() {
+		UserProvisioningService service = service(100, 500);
+
+		assertThrows(BusinessException.class, () -> service.provisionCsv("username,password\nann,secret\n"));
+		assertThrows(BusinessException.class, () -> service.provisionCsv("\n"));
+	}
+
+	@Test
+	void rejectsUploadsOverTheRowLimitBeforeWritingAnything() {
+		UserProvisioningService service = service(2, 500);
+
+		assertThrows(BusinessException.class, () -> service.provisionCsv(
+				"email,password\na@example.com,x\nb@example.com,x\nc@example.com,x\n"));
+		assertEquals(0L, jdbc.queryForObject("select count(*) from users", Long.class));
+
+		// The header does not count towards the limit
+		assertEquals(2, service.provisionCsv("email,password\na@example.com,x\nb@example.com,x\n").created());
+	}
+}
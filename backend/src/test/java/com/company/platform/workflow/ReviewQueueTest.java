@@ -0,0 +1,189 @@
+package com.company.platform.workflow;
+
+import com.company.platform.cache.InvalidationBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReviewQueueTest {
+
+	private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+	private DriverManagerDataSource dataSource;
+	private JdbcTemplate jdbc;
+	private long nextId = 100;
+
+	@BeforeEach
+	void migrate() {
+		dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:review-" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+				"sa", "");
+		jdbc = new JdbcTemplate(dataSource);
+	}
+
+	private void migrateTo(String version) {
+		Flyway.configure().dataSource(dataSource).target(version).load().migrate();
+		if (jdbc.queryForObject("select count(*) from users", Integer.class) == 0) {
+			jdbc.update("insert into users (id, username, email, role, active, deleted, created_at) "
+					+ "values (1, 'u1', 'u1@example.com', 'USER', true, false, ?)", Timestamp.valueOf(DAY));
+		}
+	}
+
+	private ReviewQueue queue(Duration lease) {
+		SimpleMeterRegistry meters = new SimpleMeterRegistry();
+		InvalidationBus bus = new InvalidationBus(jdbc, meters, 10000, 500, Duration.ofHours(1));
+		return new ReviewQueue(jdbc, bus, meters, lease, 10000, Duration.ofMinutes(1));
+	}
+
+	private long insertWorkflow(WorkflowStatus status, String priority, LocalDateTime createdAt) {
+		long id = nextId++;
+		jdbc.update("insert into workflows (id, title, description, status, priority, created_by_user_id, created_at, "
+				+ "updated_at) values (?, 'w', 'd', ?, ?, 1, ?, ?)", id, status.name(), priority,
+				Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt));
+		return id;
+	}
+
+	// The row as WorkflowService leaves it after a status change
+	private long queued(ReviewQueue queue, WorkflowPriority priority, LocalDateTime createdAt) {
+		long id = insertWorkflow(WorkflowStatus.SUBMITTED, priority.name(), createdAt);
+		queue.statusChanged(id, WorkflowStatus.SUBMITTED, priority, createdAt);
+		return id;
+	}
+
+	@Test
+	void migrationNormalizesPrioritiesAndQueuesOpenWorkflows() {
+		migrateTo("6");
+		long high = insertWorkflow(WorkflowStatus.SUBMITTED, " high ", DAY);
+		long unknown = insertWorkflow(WorkflowStatus.IN_REVIEW, "Critical", DAY);
+		long missing = insertWorkflow(WorkflowStatus.APPROVED, null, DAY);
+
+		migrateTo("latest");
+
+		assertEquals(List.of("HIGH", "MEDIUM", "MEDIUM"),
+				jdbc.queryForList("select priority from workflows where id in (?, ?, ?) order by id", String.class,
+						high, unknown, missing));
+		assertEquals(List.of(high, unknown), jdbc.queryForList(
+				"select workflow_id from review_queue order by priority_rank desc, workflow_id", Long.class));
+	}
+
+	@Test
+	void claimsByPriorityThenAgeAndFollowsStatusChanges() {
+		migrateTo("latest");
+		ReviewQueue queue = queue(Duration.ofMinutes(15));
+		long lowOld = queued(queue, WorkflowPriority.LOW, DAY.minusDays(30));
+		long urgentNew = queued(queue, WorkflowPriority.URGENT, DAY);
+		long highNew = queued(queue, WorkflowPriority.HIGH, DAY);
+		long highOld = queued(queue, WorkflowPriority.HIGH, DAY.minusDays(1));
+		long approved = queued(queue, WorkflowPriority.URGENT, DAY.minusDays(2));
+		queue.statusChanged(approved, WorkflowStatus.APPROVED, WorkflowPriority.URGENT, DAY.minusDays(2));
+
+		List<Long> order = new ArrayList<>();
+		Optional<ReviewQueue.Claim> claim;
+		while ((claim = queue.claim(7L)).isPresent()) {
+			order.add(claim.get().workflowId());
+		}
+
+		assertEquals(List.of(urgentNew, highOld, highNew, lowOld), order);
+		assertEquals(4, jdbc.queryForObject("select count(*) from review_queue where claimed_by_user_id = 7",
+				Integer.class));
+	}
+
+	@Test
+	void twoNodesNeverHandOutTheSameWorkflow() throws Exception {
+		migrateTo("latest");
+		ReviewQueue first = queue(Duration.ofMinutes(15));
+		ReviewQueue second = queue(Duration.ofMinutes(15));
+		for (int i = 0; i < 200; i++) {
+			queued(first, WorkflowPriority.values()[i % 4], DAY.minusMinutes(i));
+		}
+
+		List<Callable<List<Long>>> reviewers = new ArrayList<>();
+		for (int r = 0; r < 8; r++) {
+			ReviewQueue node = r % 2 == 0 ? first : second;
+			long reviewer = r;
+			reviewers.add(() -> {
+				List<Long> claimed = new ArrayList<>();
+				Optional<ReviewQueue.Claim> claim;
+				while ((claim = node.claim(reviewer)).isPresent()) {
+					claimed.add(claim.get().workflowId());
+				}
+				return claimed;
+			});
+		}
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		Set<Long> handedOut = new HashSet<>();
+		int total = 0;
+		try {
+			for (Future<List<Long>> result : pool.invokeAll(reviewers)) {
+				handedOut.addAll(result.get());
+				total += result.get().size();
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		assertEquals(200, total);
+		assertEquals(200, handedOut.size());
+	}
+
+	@Test
+	void expiredAndReleasedLeasesAreHandedOutAgain() throws InterruptedException {
+		migrateTo("latest");
+		ReviewQueue queue = queue(Duration.ofMillis(200));
+		long first = queued(queue, WorkflowPriority.HIGH, DAY.minusDays(1));
+		long second = queued(queue, WorkflowPriority.LOW, DAY);
+
+		assertEquals(first, queue.claim(1L).orElseThrow().workflowId());
+		assertFalse(queue.release(first, 2L), "only the holder can release");
+		assertTrue(queue.release(first, 1L));
+		assertEquals(first, queue.claim(2L).orElseThrow().workflowId());
+		assertEquals(second, queue.claim(2L).orElseThrow().workflowId());
+		assertTrue(queue.claim(3L).isEmpty());
+
+		Thread.sleep(300);
+		queue.releaseExpired();
+		assertEquals(first, queue.claim(3L).orElseThrow().workflowId());
+		assertEquals(second, queue.claim(3L).orElseThrow().workflowId());
+	}
+
+	@Test
+	void claimRolledBackWithTheCallersTransactionIsHandedOutAgain() {
+		migrateTo("latest");
+		ReviewQueue queue = queue(Duration.ofMinutes(15));
+		long id = queued(queue, WorkflowPriority.HIGH, DAY);
+		TransactionTemplate transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+		// e.g. the workflow could not be read for the response
+		assertThrows(IllegalStateException.class, () -> transactions.executeWithoutResult(status -> {
+			assertEquals(id, queue.claim(1L).orElseThrow().workflowId());
+			throw new IllegalStateException("read failed");
+		}));
+
+		assertEquals(0, jdbc.queryForObject("select count(*) from review_queue where claimed_by_user_id is not null",
+				Integer.class));
+		assertEquals(id, queue.claim(2L).orElseThrow().workflowId());
+	}
+}
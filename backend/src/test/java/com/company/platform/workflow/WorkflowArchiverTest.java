@@ -0,0 +1,117 @@
+package com.company.platform.workflow;
+
+import com.company.platform.cache.ChangeVersions;
+import com.company.platform.cache.InvalidationBus;
+import com.company.platform.datasource.ReplicaPool;
+import com.company.platform.datasource.ReplicaProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WorkflowArchiverTest {
+
+	private static final LocalDateTime OLD = LocalDateTime.of(2024, 3, 15, 10, 0);
+
+	private JdbcTemplate jdbc;
+	private DataSourceTransactionManager transactionManager;
+	private long nextId;
+
+	@BeforeEach
+	void migrate() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:archiver-" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+				"sa", "");
+		Flyway.configure().dataSource(dataSource).load().migrate();
+		jdbc = new JdbcTemplate(dataSource);
+		transactionManager = new DataSourceTransactionManager(dataSource);
+
+		insertUser(1, "Finance");
+		insertUser(2, null);
+		nextId = 100;
+	}
+
+	private WorkflowArchiver archiver(int batchSize, int maxBatches) {
+		SimpleMeterRegistry meters = new SimpleMeterRegistry();
+		InvalidationBus bus = new InvalidationBus(jdbc, meters, 10000, 500, Duration.ofHours(1));
+		ReplicaPool replicas = new ReplicaPool(new ReplicaProperties(null, null, null, 0, null, null),
+				new DataSourceProperties(), meters);
+		ChangeVersions versions = new ChangeVersions(bus, replicas, new SimpleAsyncTaskScheduler());
+		return new WorkflowArchiver(jdbc, transactionManager, meters, versions, bus, true, Duration.ofDays(90),
+				batchSize, maxBatches);
+	}
+
+	private void insertUser(long id, String department) {
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		jdbc.update("insert into users (id, username, email, role, active, deleted, department, created_at) "
+				+ "values (?, ?, ?, 'USER', true, false, ?, ?)", id, "u" + id, "u" + id + "@example.com", department, now);
+	}
+
+	private long insertWorkflow(WorkflowStatus status, long creator, LocalDateTime updatedAt) {
+		long id = nextId++;
+		jdbc.update("insert into workflows (id, title, description, status, created_by_user_id, created_at, updated_at) "
+				+ "values (?, 'w', 'd', ?, ?, ?, ?)", id, status.name(), creator, Timestamp.valueOf(updatedAt.minusDays(1)),
+				Timestamp.valueOf(updatedAt));
+		return id;
+	}
+
+	private long count(String table) {
+		return jdbc.queryForObject("select count(*) from " + table, Long.class);
+	}
+
+	@Test
+	void movesOnlyOldTerminalWorkflowsAndCountsThem() {
+		long completed = insertWorkflow(WorkflowStatus.COMPLETED, 1, OLD);
+		insertWorkflow(WorkflowStatus.COMPLETED, 1, OLD);
+		insertWorkflow(WorkflowStatus.CANCELLED, 2, OLD);
+		insertWorkflow(WorkflowStatus.APPROVED, 1, OLD);                            // not terminal
+		insertWorkflow(WorkflowStatus.COMPLETED, 1, LocalDateTime.now().minusDays(5)); // too recent
+
+		assertEquals(3, archiver(2, 10).archive());
+
+		assertEquals(2, count("workflows"));
+		assertEquals(3, count("workflows_archive"));
+		assertEquals("COMPLETED", jdbc.queryForObject(
+				"select status from workflows_archive where id = ?", String.class, completed));
+		assertEquals(List.of(
+						new WorkflowArchiver.Count("CANCELLED", "", 3, 1),
+						new WorkflowArchiver.Count("COMPLETED", "Finance", 3, 2)),
+				archiver(2, 10).counts().stream()
+						.sorted((a, b) -> a.status().compareTo(b.status())).toList());
+	}
+
+	@Test
+	void laterRunsAddToExistingCounts() {
+		insertWorkflow(WorkflowStatus.COMPLETED, 1, OLD);
+		archiver(10, 10).archive();
+		insertWorkflow(WorkflowStatus.COMPLETED, 1, OLD);
+		insertWorkflow(WorkflowStatus.COMPLETED, 1, OLD);
+		archiver(10, 10).archive();
+
+		assertEquals(List.of(new WorkflowArchiver.Count("COMPLETED", "Finance", 3, 3)), archiver(10, 10).counts());
+	}
+
+	@Test
+	void stopsAtTheBatchLimitAndResumesNextRun() {
+		for (int i = 0; i < 5; i++) {
+			insertWorkflow(WorkflowStatus.CANCELLED, 1, OLD);
+		}
+
+		assertEquals(4, archiver(2, 2).archive());
+		assertEquals(1, count("workflows"));
+		assertEquals(1, archiver(2, 2).archive());
+		assertEquals(0, count("workflows"));
+	}
+}
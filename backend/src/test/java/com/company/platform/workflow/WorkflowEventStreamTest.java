@@ -0,0 +1,231 @@
+package com.company.platform.workflow;
+
+import com.company.platform.cache.InvalidationBus;
+import com.company.platform.events.DomainEventBus;
+import com.company.platform.events.WorkflowCreated;
+import com.company.platform.events.WorkflowStatusChanged;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkflowEventStreamTest {
+
+	private static final int REPLAY_SIZE = 4;
+	private static final int QUEUE_SIZE = 2;
+	private static final Pattern FIELD = Pattern.compile("^(id|event):(.*)$", Pattern.MULTILINE);
+
+	private WorkflowEventStream stream;
+	private String node;
+
+	/** What an emitter was asked to send, without a servlet response behind it. */
+	private static class RecordingEmitter extends SseEmitter {
+
+		record Sent(String type, String id) {
+		}
+
+		final List<Sent> sent = new CopyOnWriteArrayList<>();
+		final CountDownLatch sending = new CountDownLatch(1);
+		final CountDownLatch gate;
+		volatile boolean completed;
+
+		RecordingEmitter(CountDownLatch gate) {
+			this.gate = gate;
+		}
+
+		RecordingEmitter() {
+			this(new CountDownLatch(0));
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) {
+			sending.countDown();
+			try {
+				gate.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			String text = builder.build().stream().map(d -> String.valueOf(d.getData()))
+					.collect(Collectors.joining());
+			String type = null;
+			String id = null;
+			Matcher field = FIELD.matcher(text);
+			while (field.find()) {
+				if (field.group(1).equals("event")) {
+					type = field.group(2);
+				} else {
+					id = field.group(2);
+				}
+			}
+			sent.add(new Sent(type, id));
+		}
+
+		@Override
+		public void complete() {
+			completed = true;
+		}
+
+		List<String> ids() {
+			return sent.stream().map(Sent::id).toList();
+		}
+
+		List<String> types() {
+			return sent.stream().map(Sent::type).toList();
+		}
+	}
+
+	@BeforeEach
+	void start() {
+		// Neither bus touches the database while the stream is only fed directly
+		JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:stream-" + System.nanoTime()));
+		SimpleMeterRegistry meters = new SimpleMeterRegistry();
+		InvalidationBus bus = new InvalidationBus(jdbc, meters, 10000, 500, Duration.ofHours(1));
+		DomainEventBus events = new DomainEventBus(jdbc, JsonMapper.builder().build(), meters, bus, 16, 8,
+				Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ofHours(1));
+		stream = new WorkflowEventStream(JsonMapper.builder().build(), bus, events, meters, REPLAY_SIZE,
+				Duration.ofHours(1), Duration.ofMinutes(5), QUEUE_SIZE);
+		node = bus.nodeId().substring(0, 8);
+	}
+
+	@AfterEach
+	void stop() {
+		stream.shutdown();
+	}
+
+	private void created(long creatorId) {
+		stream.append(List.of(new WorkflowCreated(null, creatorId)));
+	}
+
+	private RecordingEmitter subscribe(Long creatorId, String lastEventId) {
+		RecordingEmitter emitter = new RecordingEmitter();
+		stream.subscribe(creatorId, lastEventId, emitter);
+		return emitter;
+	}
+
+	@Test
+	void subscribersOnlySeeWorkflowsTheyMayList() {
+		RecordingEmitter own = subscribe(1L, null);
+		RecordingEmitter everything = subscribe(null, null);
+
+		created(1);
+		created(2);
+		stream.append(List.of(new WorkflowStatusChanged(null, 1L, "DRAFT")));
+
+		await(() -> everything.sent.size() == 3);
+		assertEquals(List.of(node + "-1", node + "-2", node + "-3"), everything.ids());
+		await(() -> own.sent.size() == 2);
+		assertEquals(List.of(node + "-1", node + "-3"), own.ids());
+		assertEquals(List.of(WorkflowEventStream.CREATED, WorkflowEventStream.STATUS_CHANGED), own.types());
+	}
+
+	@Test
+	void replaysWhatWasMissedSinceLastEventIdThenContinuesLive() {
+		created(1);
+		created(2);
+		created(1);
+
+		RecordingEmitter resumed = subscribe(null, node + "-1");
+		created(2);
+
+		await(() -> resumed.sent.size() == 3);
+		assertEquals(List.of(node + "-2", node + "-3", node + "-4"), resumed.ids());
+	}
+
+	@Test
+	void resetsWhenLastEventIdIsNoLongerOrNeverWasInTheBuffer() {
+		for (int i = 0; i < 6; i++) {
+			created(1);
+		}
+
+		// Buffer holds 3..6: an id of 2 still resumes, 1 has been overwritten
+		RecordingEmitter oldestKept = subscribe(null, node + "-2");
+		await(() -> oldestKept.sent.size() == 4);
+		assertEquals(List.of(node + "-3", node + "-4", node + "-5", node + "-6"), oldestKept.ids());
+
+		for (String lastEventId : List.of(node + "-1", "0123abcd-5", node + "-99", "garbage")) {
+			RecordingEmitter reset = subscribe(null, lastEventId);
+			await(() -> reset.sent.size() == 1);
+			assertEquals(List.of(WorkflowEventStream.RESET), reset.types(), lastEventId);
+		}
+	}
+
+	@Test
+	void disconnectsAClientThatFallsMoreThanAReplayAndAQueueBehind() {
+		CountDownLatch gate = new CountDownLatch(1);
+		RecordingEmitter slow = new RecordingEmitter(gate);
+		stream.subscribe(null, null, slow);
+
+		// The first event is taken off the queue and stuck in send
+		created(1);
+		await(() -> slow.sending.getCount() == 0);
+
+		for (int i = 0; i < REPLAY_SIZE + QUEUE_SIZE; i++) {
+			created(1);
+		}
+		assertFalse(slow.completed, "a full queue is still within bounds");
+
+		created(1);
+		assertTrue(slow.completed);
+		gate.countDown();
+	}
+
+	@Test
+	void disconnectsOutsideTheLockSoContainerCallbacksCanReenterTheStream() throws InterruptedException {
+		CountDownLatch gate = new CountDownLatch(1);
+		AtomicBoolean reentered = new AtomicBoolean();
+		RecordingEmitter slow = new RecordingEmitter(gate) {
+			@Override
+			public void complete() {
+				super.complete();
+				// Another request thread opening a stream while this one completes
+				Thread other = Thread.ofVirtual().start(() -> stream.subscribe(null, null, new RecordingEmitter()));
+				try {
+					other.join(Duration.ofSeconds(1));
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				reentered.set(!other.isAlive());
+			}
+		};
+		stream.subscribe(null, null, slow);
+		created(1);
+		await(() -> slow.sending.getCount() == 0);
+
+		for (int i = 0; i <= REPLAY_SIZE + QUEUE_SIZE; i++) {
+			created(1);
+		}
+
+		assertTrue(slow.completed);
+		assertTrue(reentered.get(), "completing must not hold up other subscribers");
+		gate.countDown();
+	}
+
+	private static void await(BooleanSupplier condition) {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > deadline) {
+				throw new AssertionError("condition not met within 5 s");
+			}
+			Thread.onSpinWait();
+		}
+	}
+}
@@ -0,0 +1,146 @@
+package com.company.platform.workflow;
+
+import com.company.platform.auth.UserDTO;
+import com.company.platform.common.BusinessException;
+import com.company.platform.users.Role;
+import com.company.platform.users.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.PhysicalNamingStrategySnakeCaseImpl;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkflowProjectionTest {
+
+	private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+	private static SessionFactory sessionFactory;
+	private static long alice;
+	private static long bob;
+
+	private EntityManager entityManager;
+	private WorkflowProjection projection;
+
+	@BeforeAll
+	static void start() {
+		sessionFactory = new Configuration()
+				.addAnnotatedClass(User.class)
+				.addAnnotatedClass(Workflow.class)
+				.setProperty("hibernate.connection.url", "jdbc:h2:mem:projection;DB_CLOSE_DELAY=-1")
+				.setProperty("hibernate.connection.username", "sa")
+				.setProperty("hibernate.physical_naming_strategy", PhysicalNamingStrategySnakeCaseImpl.class.getName())
+				.setProperty("hibernate.hbm2ddl.auto", "create-drop")
+				.setStatementInspector((StatementInspector) sql -> {
+					statements.add(sql);
+					return sql;
+				})
+				.buildSessionFactory();
+
+		sessionFactory.inTransaction(session -> {
+			User a = user("alice", "Finance");
+			User b = user("bob", "Legal");
+			session.persist(a);
+			session.persist(b);
+			session.persist(workflow("first", a));
+			session.persist(workflow("second", b));
+			session.persist(workflow("third", a));
+			alice = a.getId();
+			bob = b.getId();
+		});
+	}
+
+	@AfterAll
+	static void stop() {
+		sessionFactory.close();
+	}
+
+	@BeforeEach
+	void open() {
+		entityManager = sessionFactory.createEntityManager();
+		projection = new WorkflowProjection(entityManager);
+		statements.clear();
+	}
+
+	private static User user(String name, String department) {
+		User user = new User();
+		user.setUsername(name);
+		user.setEmail(name + "@example.com");
+		user.setPassword("x");
+		user.setRole(Role.USER);
+		user.setDepartment(department);
+		return user;
+	}
+
+	private static Workflow workflow(String title, User creator) {
+		Workflow workflow = new Workflow();
+		workflow.setTitle(title);
+		workflow.setDescription("A long description that sparse requests should never read");
+		workflow.setStatus(WorkflowStatus.DRAFT);
+		workflow.setCreatedBy(creator);
+		return workflow;
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void selectsOnlyRequestedColumns() {
+		List<Map<String, Object>> rows = (List<Map<String, Object>>) projection.select(
+				WorkflowProjection.parseFields("status,title"), null, false);
+
+		assertEquals(3, rows.size());
+		// Response order follows the field list, not the request
+		assertEquals(List.of("title", "status"), List.copyOf(rows.get(0).keySet()));
+		assertEquals(Map.of("title", "first", "status", "DRAFT"), rows.get(0));
+
+		assertEquals(1, statements.size());
+		String sql = statements.get(0).toLowerCase();
+		assertFalse(sql.contains("description"), sql);
+		assertFalse(sql.contains("join"), sql);
+	}
+
+	@Test
+	void normalizedShapeSendsEachCreatorOnce() {
+		WorkflowProjection.Normalized result = assertInstanceOf(WorkflowProjection.Normalized.class,
+				projection.select(WorkflowProjection.parseFields("id,createdBy"), null, true));
+
+		assertEquals(List.of(String.valueOf(alice), String.valueOf(bob), String.valueOf(alice)),
+				result.data().stream().map(row -> row.get("createdBy")).toList());
+		Map<String, UserDTO> users = result.included().get("users");
+		assertEquals(List.of(String.valueOf(alice), String.valueOf(bob)), List.copyOf(users.keySet()));
+		assertEquals("alice@example.com", users.get(String.valueOf(alice)).email());
+		// One query for the rows, one for the two distinct creators
+		assertEquals(2, statements.size());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void embeddedShapeReusesCreatorsAndFiltersByCreator() {
+		List<Map<String, Object>> rows = (List<Map<String, Object>>) projection.select(
+				WorkflowProjection.parseFields("title,createdBy"), alice, false);
+
+		assertEquals(List.of("first", "third"), rows.stream().map(row -> row.get("title")).toList());
+		assertSame(rows.get(0).get("createdBy"), rows.get(1).get("createdBy"));
+	}
+
+	@Test
+	void blankFieldsSelectEverythingAndUnknownFieldsAreRejected() {
+		assertEquals(List.of(WorkflowProjection.Field.values()), WorkflowProjection.parseFields(null));
+		BusinessException e = assertThrows(BusinessException.class, () -> WorkflowProjection.parseFields("id,owner"));
+		assertTrue(e.getMessage().contains("owner"));
+		assertThrows(BusinessException.class, () -> WorkflowProjection.isNormalized("flat"));
+	}
+}
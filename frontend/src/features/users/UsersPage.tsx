@@ -44,6 +44,7 @@ export const UsersPage = () => {
     const isAdmin = currentUser?.role === UserRole.ADMIN;
 
     const [users, setUsers] = useState<User[]>([]);
+    const [totalUsers, setTotalUsers] = useState(0);
     const [page, setPage] = useState(0);
     const [rowsPerPage, setRowsPerPage] = useState(10);
     const [search, setSearch] = useState('');
@@ -62,8 +63,9 @@ export const UsersPage = () => {
 
     const fetchUsers = async () => {
         try {
-            const data = await userService.getAll();
-            setUsers(data);
+            const data = await userService.getPage(page, rowsPerPage, search.trim());
+            setUsers(data.content);
+            setTotalUsers(data.totalElements);
         } catch (error) {
             console.error('Failed to fetch users:', error);
         }
@@ -71,7 +73,8 @@ export const UsersPage = () => {
 
     useEffect(() => {
         fetchUsers();
-    }, []);
+        // eslint-disable-next-line react-hooks/exhaustive-deps
+    }, [page, rowsPerPage, search]);
 
     const handleOpenDialog = (user?: User) => {
         if (user) {
@@ -131,13 +134,8 @@ export const UsersPage = () => {
         }
     };
 
-    const filteredUsers = users.filter(u =>
-        (u.firstName?.toLowerCase() || '').includes(search.toLowerCase()) ||
-        (u.lastName?.toLowerCase() || '').includes(search.toLowerCase()) ||
-        (u.email?.toLowerCase() || '').includes(search.toLowerCase())
-    );
-
-    const paginatedUsers = filteredUsers.slice(page * rowsPerPage, page * rowsPerPage + rowsPerPage);
+    // Filtering and paging happen server-side
+    const paginatedUsers = users;
 
     const getRoleColor = (role: UserRole) => {
         switch (role) {
@@ -192,7 +190,7 @@ export const UsersPage = () => {
                         fullWidth
                         placeholder="Search users by name, email..."
                         value={search}
-                        onChange={(e) => setSearch(e.target.value)}
+                        onChange={(e) => { setSearch(e.target.value); setPage(0); }}
                         InputProps={{
                             startAdornment: (
                                 <InputAdornment position="start">
@@ -275,7 +273,7 @@ export const UsersPage = () => {
                 <TablePagination
                     rowsPerPageOptions={[5, 10, 25]}
                     component="div"
-                    count={filteredUsers.length}
+                    count={totalUsers}
                     rowsPerPage={rowsPerPage}
                     page={page}
                     onPageChange={(_, newPage) => setPage(newPage)}
@@ -143,8 +143,8 @@ export const WorkflowList = ({ onCreateNew, onViewDetails }: WorkflowListProps)
               fontWeight: 700,
               borderRadius: 1.5,
               fontSize: '0.65rem',
-              borderColor: row.priority === 'urgent' ? 'error.main' : 'inherit',
-              color: row.priority === 'urgent' ? 'error.main' : 'inherit',
+              borderColor: row.priority.toUpperCase() === 'URGENT' ? 'error.main' : 'inherit',
+              color: row.priority.toUpperCase() === 'URGENT' ? 'error.main' : 'inherit',
             }}
           />
         ),
@@ -12,9 +12,31 @@ export interface User {
     password?: string; // Only for creation/update
 }
 
+export interface UserPage {
+    content: User[];
+    page: number;
+    size: number;
+    totalElements: number;
+    totalPages: number;
+}
+
+export interface UserSuggestion {
+    id: number;
+    email: string;
+    firstName: string;
+    lastName: string;
+    department?: string;
+    role: UserRole;
+}
+
 export const userService = {
-    getAll: async () => {
-        const response = await api.get<User[]>('/users');
+    getPage: async (page: number, size: number, q?: string) => {
+        const response = await api.get<UserPage>('/users', { params: { page, size, q: q || undefined } });
+        return response.data;
+    },
+
+    suggest: async (q: string, limit = 10) => {
+        const response = await api.get<UserSuggestion[]>('/users/suggest', { params: { q, limit } });
         return response.data;
     },
 
@@ -29,7 +29,7 @@ export interface WorkflowItem {
   title: string;
   description: string;
   status: WorkflowStatus;
-  priority: string;   // Keeping generic string as backend sends string
+  priority: string;   // LOW, MEDIUM, HIGH or URGENT; requests may use any case
   category: string;
   createdBy: {
     id: string;